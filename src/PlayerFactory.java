@@ -3,6 +3,7 @@ import player.IPlayer;
 import player.PlayerColor;
 import player.PlayerImpl;
 import strategies.CornerStrategy;
+import strategies.EndgameStrategy;
 import strategies.FlipTheMostStrategy;
 
 import java.util.ArrayList;
@@ -26,6 +27,9 @@ public class PlayerFactory {
         return new AIPlayerImpl(new FlipTheMostStrategy(), color, new ArrayList<>());
       case "strategy2":
         return new AIPlayerImpl(new CornerStrategy(), color, new ArrayList<>());
+      case "strategy3":
+        return new AIPlayerImpl(new EndgameStrategy(new FlipTheMostStrategy(), 8), color,
+            new ArrayList<>());
       default:
         throw new IllegalArgumentException("Invalid player type: " + type);
     }
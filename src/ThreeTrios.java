@@ -28,7 +28,8 @@ public class ThreeTrios {
     GameConsole gameConsole = new GameConsole();
 
     if (args.length != 2) {
-      throw new IllegalArgumentException("Player options: 'human', 'strategy1', 'strategy2'");
+      throw new IllegalArgumentException(
+          "Player options: 'human', 'strategy1', 'strategy2', 'strategy3'");
     }
 
     IPlayer redPlayer = playerFactory.createPlayer(args[0], PlayerColor.RED);
@@ -1,6 +1,8 @@
 package adapter;
 
+import card.CellTypeContents;
 import card.ICard;
+import model.BoardTopology;
 import model.IModel;
 import player.PlayerColor;
 import provider.src.threetrios.model.Card;
@@ -34,7 +36,7 @@ public class ModelToReadOnlyThreeTriosModelAdapter implements ReadonlyThreeTrios
   @Override
   public List<Card> getRedHand() {
     List<Card> returnHand = new ArrayList<>();
-    List<ICard> handToAdapt = modelDelegate.getRedPlayer().getHand();
+    List<ICard> handToAdapt = modelDelegate.getHandView(PlayerColor.RED);
 
     for (ICard card : handToAdapt) {
       returnHand.add(new CardToICardAdapter(card));
@@ -51,7 +53,7 @@ public class ModelToReadOnlyThreeTriosModelAdapter implements ReadonlyThreeTrios
   @Override
   public List<Card> getBlueHand() {
     List<Card> returnHand = new ArrayList<>();
-    List<ICard> handToAdapt = modelDelegate.getBluePlayer().getHand();
+    List<ICard> handToAdapt = modelDelegate.getHandView(PlayerColor.BLUE);
 
     for (ICard card : handToAdapt) {
       returnHand.add(new CardToICardAdapter(card));
@@ -101,16 +103,20 @@ public class ModelToReadOnlyThreeTriosModelAdapter implements ReadonlyThreeTrios
   }
 
   /**
-   * Gets the card at a specified row and column.
+   * Gets what is at a specified row and column: the card, or the type of the cell if it holds
+   * no card.
    *
-   * @param row the row of the card
-   * @param col the column of the card
-   * @return the card at the specified position
+   * @param row the row of the cell
+   * @param col the column of the cell
+   * @return the card, or the provider's cell type of an empty cell or a hole
+   * @throws IllegalArgumentException if the position is off the board
    */
   @Override
   public Object getCardAt(int row, int col) {
-    ICard cardToAdapt = modelDelegate.getCardAt(row, col);
-    return new CardToICardAdapter(cardToAdapt);
+    if (!modelDelegate.isValidPosition(row, col)) {
+      throw new IllegalArgumentException("Position is off the board.");
+    }
+    return adaptCell(row, col);
   }
 
   /**
@@ -118,13 +124,15 @@ public class ModelToReadOnlyThreeTriosModelAdapter implements ReadonlyThreeTrios
    *
    * @param row the row of the card
    * @param col the column of the card
-   * @return the team color of the card owner
+   * @return the team color of the card owner, or {@code null} if there is no card there
    */
   @Override
   public TeamColor whoOwnsCardAt(int row, int col) {
-    ICard cardToAdapt = modelDelegate.getCardAt(row, col);
-    Card adaptedCard = new CardToICardAdapter(cardToAdapt);
-    return adaptedCard.getColor();
+    PlayerColor owner = modelDelegate.getOwnerAt(row, col);
+    if (owner == null) {
+      return null;
+    }
+    return owner == PlayerColor.BLUE ? TeamColor.BLUE : TeamColor.RED;
   }
 
   /**
@@ -150,22 +158,30 @@ public class ModelToReadOnlyThreeTriosModelAdapter implements ReadonlyThreeTrios
    */
   @Override
   public Object[][] getBoardArray() {
-    int rows = modelDelegate.getBoard().length;
-    int cols = modelDelegate.getBoard()[0].length;
-
-    Object[][] boardArray = new Object[rows][cols];
-    for (int row = 0; row < rows; row++) {
-      for (int col = 0; col < cols; col++) {
-        if (modelDelegate.getBoard()[row][col] != null) {
-          boardArray[row][col] = new CardToICardAdapter(modelDelegate.getCardAt(row, col));
-        } else {
-          boardArray[row][col] =
-                  new CellTypeToProviderCellTypeAdapter(
-                          modelDelegate.getBoardAvailability()[row][col])
-                          .convert();
-        }
+    BoardTopology topology = modelDelegate.getTopology();
+    Object[][] boardArray = new Object[topology.getRows()][topology.getColumns()];
+    for (int row = 0; row < boardArray.length; row++) {
+      for (int col = 0; col < boardArray[row].length; col++) {
+        boardArray[row][col] = adaptCell(row, col);
       }
     }
     return boardArray;
   }
+
+  /**
+   * Adapts what is on a cell of the board.
+   *
+   * @param row the row of the cell
+   * @param col the column of the cell
+   * @return the adapted card, or the provider's cell type if the cell holds no card
+   */
+  private Object adaptCell(int row, int col) {
+    ICard card = modelDelegate.findCardAt(row, col);
+    if (card != null) {
+      return new CardToICardAdapter(card);
+    }
+    CellTypeContents cellType = modelDelegate.isCellEmpty(row, col)
+        ? CellTypeContents.EMPTY : CellTypeContents.HOLE;
+    return new CellTypeToProviderCellTypeAdapter(cellType).convert();
+  }
 }
@@ -0,0 +1,91 @@
+package benchmark;
+
+import card.CardTable;
+import card.ICard;
+import gameconfig.ConfigGame;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Random;
+
+/**
+ * Compares loading a large card database through {@link ConfigGame#getDeck()} with loading it
+ * through the memory-mapped {@link ConfigGame#getCardTable()}.
+ *
+ * <p>Usage: {@code java benchmark.CardDatabaseBenchmark [cards] [iterations]}. A database with
+ * the given number of random cards is generated in a temporary file, both loaders are warmed up,
+ * and the average time of each is printed.
+ */
+public class CardDatabaseBenchmark {
+
+  private static final String VALUES = "123456789A";
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args optionally the number of cards and the number of timed iterations
+   * @throws IOException if the temporary database cannot be written
+   */
+  public static void main(String[] args) throws IOException {
+    int cards = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+    int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+    File database = File.createTempFile("benchmark", ".database");
+    database.deleteOnExit();
+    writeDatabase(database, cards);
+    ConfigGame config = new ConfigGame(database, database);
+
+    // Make sure both paths agree before timing them.
+    ArrayList<ICard> deck = config.getDeck();
+    CardTable table = config.getCardTable();
+    if (!deck.equals(table.toDeck())) {
+      throw new IllegalStateException("The loaders produced different cards.");
+    }
+
+    for (int i = 0; i < iterations; i++) {
+      config.getDeck();
+      config.getCardTable();
+    }
+
+    long start = System.nanoTime();
+    for (int i = 0; i < iterations; i++) {
+      config.getDeck();
+    }
+    long readerNanos = (System.nanoTime() - start) / iterations;
+
+    start = System.nanoTime();
+    for (int i = 0; i < iterations; i++) {
+      config.getCardTable();
+    }
+    long mappedNanos = (System.nanoTime() - start) / iterations;
+
+    System.out.printf("cards: %d, iterations: %d%n", cards, iterations);
+    System.out.printf("BufferedReader deck:  %8.2f ms%n", readerNanos / 1e6);
+    System.out.printf("Memory-mapped table:  %8.2f ms%n", mappedNanos / 1e6);
+    System.out.printf("speedup:              %8.2fx%n", (double) readerNanos / mappedNanos);
+  }
+
+  /**
+   * Writes a card database of random cards with unique names.
+   *
+   * @param file  the file to write
+   * @param cards the number of cards
+   * @throws IOException if the file cannot be written
+   */
+  private static void writeDatabase(File file, int cards) throws IOException {
+    Random random = new Random(42);
+    try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
+      for (int card = 0; card < cards; card++) {
+        writer.write("Card" + card);
+        for (int side = 0; side < 4; side++) {
+          writer.write(' ');
+          writer.write(VALUES.charAt(random.nextInt(VALUES.length())));
+        }
+        writer.newLine();
+      }
+    }
+  }
+}
@@ -0,0 +1,217 @@
+package benchmark;
+
+import controller.Features;
+import controller.HeadlessController;
+import gameconfig.ConfigGame;
+import gameconfig.GameSetup;
+import model.BoardTopology;
+import model.IModel;
+import model.ModelVarientImpl;
+import player.IPlayer;
+import player.PlayerColor;
+import player.PlayerImpl;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Plays many games through the controller the way people do: every move is a click on a card
+ * of the hand, {@link Features#handleCardClick}, then a click on a board cell,
+ * {@link Features#handleCellClick}. Each player of each game has its own
+ * {@link HeadlessController}, and the time of the two clicks is one move's latency. No AWT or
+ * Swing class is loaded.
+ *
+ * <p>Games are spread over a number of threads, each playing games one after another with
+ * random legal moves. The result holds a latency histogram, the throughput and, when the JVM
+ * can count them, the bytes the playing threads allocated.</p>
+ *
+ * <p>Usage: {@code java benchmark.ControllerLoadTest [threads] [games] [--csv file]
+ * [--json file]}. A tenth as many games are played first to warm up and not measured; the CSV
+ * file is appended to and the JSON file replaced.</p>
+ */
+public class ControllerLoadTest {
+
+  private final GameSetup setup;
+  private final int threads;
+  private final int games;
+  private final long seed;
+
+  /**
+   * Constructs a {@code ControllerLoadTest}.
+   *
+   * @param setup   the board and cards of every game
+   * @param threads the number of threads playing games
+   * @param games   the number of games to play in total
+   * @param seed    the seed of the random moves
+   * @throws IllegalArgumentException if the setup is null or a count is not positive
+   */
+  public ControllerLoadTest(GameSetup setup, int threads, int games, long seed) {
+    if (setup == null) {
+      throw new IllegalArgumentException("Setup cannot be null.");
+    }
+    if (threads < 1 || games < 1) {
+      throw new IllegalArgumentException("Threads and games must be positive.");
+    }
+    this.setup = setup;
+    this.threads = threads;
+    this.games = games;
+    this.seed = seed;
+  }
+
+  /**
+   * Plays the games and waits for them to finish.
+   *
+   * @return the measurements of the run
+   * @throws InterruptedException if the calling thread is interrupted while waiting
+   */
+  public LoadTestResult run() throws InterruptedException {
+    AtomicInteger nextGame = new AtomicInteger();
+    List<Worker> workers = new ArrayList<>();
+    for (int i = 0; i < threads; i++) {
+      workers.add(new Worker(nextGame, new Random(seed + i)));
+    }
+    List<Thread> running = new ArrayList<>();
+    long start = System.nanoTime();
+    for (int i = 0; i < threads; i++) {
+      Thread thread = new Thread(workers.get(i), "load-test-" + i);
+      running.add(thread);
+      thread.start();
+    }
+    for (Thread thread : running) {
+      thread.join();
+    }
+    long elapsed = System.nanoTime() - start;
+
+    LatencyHistogram latencies = new LatencyHistogram();
+    long errors = 0;
+    long allocated = 0;
+    for (Worker worker : workers) {
+      if (worker.failure != null) {
+        throw new IllegalStateException("A game failed.", worker.failure);
+      }
+      latencies.add(worker.latencies);
+      errors += worker.errors;
+      allocated = allocated < 0 || worker.allocated < 0 ? -1 : allocated + worker.allocated;
+    }
+    return new LoadTestResult("HeadlessController", threads, games, errors, elapsed, allocated,
+        latencies);
+  }
+
+  /**
+   * Plays games on one thread until all have been claimed.
+   */
+  private final class Worker implements Runnable {
+    private final AtomicInteger nextGame;
+    private final Random random;
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    private long errors;
+    private long allocated;
+    private RuntimeException failure;
+
+    private Worker(AtomicInteger nextGame, Random random) {
+      this.nextGame = nextGame;
+      this.random = random;
+    }
+
+    @Override
+    public void run() {
+      long before = allocatedBytes();
+      try {
+        while (nextGame.getAndIncrement() < games) {
+          playGame();
+        }
+      } catch (RuntimeException e) {
+        failure = e;
+      }
+      long after = allocatedBytes();
+      allocated = before < 0 || after < 0 ? -1 : after - before;
+    }
+
+    private void playGame() {
+      IPlayer red = new PlayerImpl(PlayerColor.RED, new ArrayList<>());
+      IPlayer blue = new PlayerImpl(PlayerColor.BLUE, new ArrayList<>());
+      IModel model = new ModelVarientImpl(setup.newBoard(), setup.newDeck(),
+          new ArrayList<>(List.of(red, blue)));
+      HeadlessController redController = new HeadlessController(model, red);
+      HeadlessController blueController = new HeadlessController(model, blue);
+      redController.playGame();
+      blueController.playGame();
+
+      BoardTopology topology = model.getTopology();
+      while (!model.checkGameOver()) {
+        PlayerColor color = model.getCurrentPlayerColor();
+        IPlayer player = color == PlayerColor.RED ? red : blue;
+        Features features = color == PlayerColor.RED ? redController : blueController;
+        int cardIndex = random.nextInt(player.getHandView().size());
+        int cell = randomEmptyCell(model);
+        int row = topology.rowOf(cell);
+        int column = topology.columnOf(cell);
+
+        long start = System.nanoTime();
+        features.handleCardClick(cardIndex, color);
+        features.handleCellClick(row, column);
+        latencies.record(System.nanoTime() - start);
+      }
+      errors += redController.getErrorCount() + blueController.getErrorCount();
+    }
+
+    private int randomEmptyCell(IModel model) {
+      return model.emptyCell(random.nextInt(model.getEmptyCellCount()));
+    }
+  }
+
+  private static long allocatedBytes() {
+    if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean) {
+      com.sun.management.ThreadMXBean bean =
+          (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+      if (bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled()) {
+        return bean.getCurrentThreadAllocatedBytes();
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Runs the load test on the default board and card database.
+   *
+   * @param args the number of threads and games, then optionally {@code --csv file} and
+   *             {@code --json file}
+   * @throws IOException          if a result file cannot be written
+   * @throws InterruptedException if the main thread is interrupted
+   */
+  public static void main(String[] args) throws IOException, InterruptedException {
+    int threads = Runtime.getRuntime().availableProcessors();
+    int games = 10_000;
+    File csv = null;
+    File json = null;
+    int positional = 0;
+    for (int i = 0; i < args.length; i++) {
+      if (args[i].equals("--csv") && i + 1 < args.length) {
+        csv = new File(args[++i]);
+      } else if (args[i].equals("--json") && i + 1 < args.length) {
+        json = new File(args[++i]);
+      } else if (positional++ == 0) {
+        threads = Integer.parseInt(args[i]);
+      } else {
+        games = Integer.parseInt(args[i]);
+      }
+    }
+    ConfigGame config = new ConfigGame("board.config", "card.database");
+    GameSetup setup = new GameSetup(config.getBoard(), config.getCardTable());
+
+    new ControllerLoadTest(setup, threads, Math.max(1, games / 10), 0).run();
+    LoadTestResult result = new ControllerLoadTest(setup, threads, games, 1).run();
+    System.out.println(result);
+    if (csv != null) {
+      result.appendCsv(csv);
+    }
+    if (json != null) {
+      result.writeJson(json);
+    }
+  }
+}
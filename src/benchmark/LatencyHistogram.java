@@ -0,0 +1,125 @@
+package benchmark;
+
+/**
+ * Counts latencies in buckets that are exact below 128 nanoseconds and about 1.5% wide above,
+ * so percentiles from nanoseconds to hours are reported within that precision. Recording a
+ * value is a few arithmetic operations and an array increment, and allocates nothing, so it
+ * can sit on the path being measured.
+ *
+ * <p>A histogram is not thread-safe. Give each thread its own and {@link #add} them at the
+ * end.</p>
+ */
+public final class LatencyHistogram {
+
+  private static final int SUB_BUCKET_BITS = 6;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private static final int EXACT = SUB_BUCKETS * 2;
+  private static final int BUCKETS = EXACT + (63 - (SUB_BUCKET_BITS + 1)) * SUB_BUCKETS;
+
+  private final long[] counts = new long[BUCKETS];
+  private long count;
+  private long total;
+  private long max;
+
+  /**
+   * Records one latency.
+   *
+   * @param nanos the latency in nanoseconds; negative values are recorded as 0
+   */
+  public void record(long nanos) {
+    long value = Math.max(nanos, 0);
+    counts[bucket(value)]++;
+    count++;
+    total += value;
+    if (value > max) {
+      max = value;
+    }
+  }
+
+  /**
+   * Adds every latency recorded by another histogram to this one.
+   *
+   * @param other the histogram to add
+   */
+  public void add(LatencyHistogram other) {
+    for (int i = 0; i < BUCKETS; i++) {
+      counts[i] += other.counts[i];
+    }
+    count += other.count;
+    total += other.total;
+    max = Math.max(max, other.max);
+  }
+
+  /**
+   * Returns the number of latencies recorded.
+   *
+   * @return the count
+   */
+  public long getCount() {
+    return count;
+  }
+
+  /**
+   * Returns the mean latency.
+   *
+   * @return the mean in nanoseconds, or 0 if nothing was recorded
+   */
+  public long getMean() {
+    return count == 0 ? 0 : total / count;
+  }
+
+  /**
+   * Returns the largest latency recorded, exactly.
+   *
+   * @return the maximum in nanoseconds
+   */
+  public long getMax() {
+    return max;
+  }
+
+  /**
+   * Returns the latency at or below which a given fraction of the recorded latencies fall.
+   *
+   * @param percentile the percentile, from 0 to 100
+   * @return the upper edge of the bucket holding that percentile, in nanoseconds, never more
+   *         than the maximum; 0 if nothing was recorded
+   * @throws IllegalArgumentException if the percentile is outside 0 to 100
+   */
+  public long getPercentile(double percentile) {
+    if (percentile < 0 || percentile > 100) {
+      throw new IllegalArgumentException("Percentile must be between 0 and 100.");
+    }
+    if (count == 0) {
+      return 0;
+    }
+    long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+    long seen = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      seen += counts[i];
+      if (seen >= rank) {
+        return Math.min(upperEdge(i), max);
+      }
+    }
+    return max;
+  }
+
+  private static int bucket(long value) {
+    if (value < EXACT) {
+      return (int) value;
+    }
+    int exponent = 63 - Long.numberOfLeadingZeros(value);
+    int shift = exponent - SUB_BUCKET_BITS;
+    int mantissa = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+    return EXACT + (exponent - SUB_BUCKET_BITS - 1) * SUB_BUCKETS + mantissa;
+  }
+
+  private static long upperEdge(int bucket) {
+    if (bucket < EXACT) {
+      return bucket;
+    }
+    int exponent = (bucket - EXACT) / SUB_BUCKETS + SUB_BUCKET_BITS + 1;
+    int mantissa = (bucket - EXACT) % SUB_BUCKETS;
+    int shift = exponent - SUB_BUCKET_BITS;
+    return ((long) (SUB_BUCKETS + mantissa + 1) << shift) - 1;
+  }
+}
@@ -0,0 +1,207 @@
+package benchmark;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Locale;
+
+/**
+ * The measurements of one {@link ControllerLoadTest} run, with exports to CSV and JSON so runs
+ * can be compared from release to release. Latencies are exported in microseconds.
+ */
+public final class LoadTestResult {
+
+  private static final String CSV_HEADER = "controller,threads,games,moves,errors,seconds,"
+      + "moves_per_second,mean_us,p50_us,p99_us,p999_us,max_us,allocated_bytes_per_move,"
+      + "allocated_mb_per_second";
+
+  private final String controller;
+  private final int threads;
+  private final int games;
+  private final long errors;
+  private final long elapsedNanos;
+  private final long allocatedBytes;
+  private final LatencyHistogram latencies;
+
+  /**
+   * Constructs a {@code LoadTestResult}.
+   *
+   * @param controller     the name of the controller driven
+   * @param threads        the number of threads that played games
+   * @param games          the number of games played
+   * @param errors         the number of moves the controller refused
+   * @param elapsedNanos   the wall-clock time of the run
+   * @param allocatedBytes the bytes allocated by the playing threads, or -1 if the JVM cannot
+   *                       tell
+   * @param latencies      the latency of every move
+   */
+  public LoadTestResult(String controller, int threads, int games, long errors,
+                        long elapsedNanos, long allocatedBytes, LatencyHistogram latencies) {
+    this.controller = controller;
+    this.threads = threads;
+    this.games = games;
+    this.errors = errors;
+    this.elapsedNanos = elapsedNanos;
+    this.allocatedBytes = allocatedBytes;
+    this.latencies = latencies;
+  }
+
+  /**
+   * Returns the latency of every move made.
+   *
+   * @return the histogram of move latencies
+   */
+  public LatencyHistogram getLatencies() {
+    return latencies;
+  }
+
+  /**
+   * Returns the number of moves made.
+   *
+   * @return the move count
+   */
+  public long getMoves() {
+    return latencies.getCount();
+  }
+
+  /**
+   * Returns the number of moves the controller refused.
+   *
+   * @return the error count
+   */
+  public long getErrors() {
+    return errors;
+  }
+
+  /**
+   * Returns the number of games played.
+   *
+   * @return the game count
+   */
+  public int getGames() {
+    return games;
+  }
+
+  /**
+   * Returns the throughput of the run.
+   *
+   * @return the moves made per second of wall-clock time
+   */
+  public double getMovesPerSecond() {
+    return elapsedNanos == 0 ? 0 : getMoves() * 1e9 / elapsedNanos;
+  }
+
+  /**
+   * Returns the bytes allocated per move, counting the setup of each game.
+   *
+   * @return the allocation per move, or -1 if the JVM cannot measure allocation
+   */
+  public long getAllocatedBytesPerMove() {
+    if (allocatedBytes < 0) {
+      return -1;
+    }
+    return getMoves() == 0 ? 0 : allocatedBytes / getMoves();
+  }
+
+  /**
+   * Returns the allocation rate of the run.
+   *
+   * @return the megabytes allocated per second, or -1 if the JVM cannot measure allocation
+   */
+  public double getAllocatedMegabytesPerSecond() {
+    if (allocatedBytes < 0) {
+      return -1;
+    }
+    return elapsedNanos == 0 ? 0 : allocatedBytes / 1e6 / (elapsedNanos / 1e9);
+  }
+
+  /**
+   * Returns the header line of the CSV export.
+   *
+   * @return the column names, comma-separated
+   */
+  public static String csvHeader() {
+    return CSV_HEADER;
+  }
+
+  /**
+   * Returns this result as one line of CSV, in the columns of {@link #csvHeader()}.
+   *
+   * @return the values, comma-separated
+   */
+  public String toCsvRow() {
+    return String.format(Locale.ROOT, "%s,%d,%d,%d,%d,%.3f,%.1f,%.1f,%.1f,%.1f,%.1f,%.1f,%d,%.1f",
+        controller, threads, games, getMoves(), errors, elapsedNanos / 1e9,
+        getMovesPerSecond(), micros(latencies.getMean()), micros(latencies.getPercentile(50)),
+        micros(latencies.getPercentile(99)), micros(latencies.getPercentile(99.9)),
+        micros(latencies.getMax()), getAllocatedBytesPerMove(),
+        getAllocatedMegabytesPerSecond());
+  }
+
+  /**
+   * Returns this result as a JSON object with the fields of the CSV export.
+   *
+   * @return the JSON text
+   */
+  public String toJson() {
+    String[] names = CSV_HEADER.split(",");
+    String[] values = toCsvRow().split(",");
+    StringBuilder json = new StringBuilder("{");
+    for (int i = 0; i < names.length; i++) {
+      if (i > 0) {
+        json.append(", ");
+      }
+      json.append('"').append(names[i]).append("\": ");
+      if (i == 0) {
+        json.append('"').append(values[i].replace("\"", "\\\"")).append('"');
+      } else {
+        json.append(values[i]);
+      }
+    }
+    return json.append('}').toString();
+  }
+
+  /**
+   * Appends this result to a CSV file, writing the header first if the file is new or empty.
+   *
+   * @param file the file to append to
+   * @throws IOException if the file cannot be written
+   */
+  public void appendCsv(File file) throws IOException {
+    boolean header = !file.exists() || file.length() == 0;
+    try (Writer writer = new FileWriter(file, true)) {
+      if (header) {
+        writer.write(CSV_HEADER + System.lineSeparator());
+      }
+      writer.write(toCsvRow() + System.lineSeparator());
+    }
+  }
+
+  /**
+   * Writes this result to a JSON file, replacing its contents.
+   *
+   * @param file the file to write
+   * @throws IOException if the file cannot be written
+   */
+  public void writeJson(File file) throws IOException {
+    try (Writer writer = new FileWriter(file, false)) {
+      writer.write(toJson() + System.lineSeparator());
+    }
+  }
+
+  @Override
+  public String toString() {
+    return String.format(Locale.ROOT, "%s: %d games, %d moves (%d refused) in %.2f s, "
+            + "%.0f moves/s, latency p50 %.1f us p99 %.1f us p99.9 %.1f us max %.1f us, "
+            + "%d B/move, %.1f MB/s", controller, games, getMoves(), errors, elapsedNanos / 1e9,
+        getMovesPerSecond(), micros(latencies.getPercentile(50)),
+        micros(latencies.getPercentile(99)), micros(latencies.getPercentile(99.9)),
+        micros(latencies.getMax()), getAllocatedBytesPerMove(),
+        getAllocatedMegabytesPerSecond());
+  }
+
+  private static double micros(long nanos) {
+    return nanos / 1e3;
+  }
+}
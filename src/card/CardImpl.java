@@ -72,6 +72,17 @@ public class CardImpl implements ICard {
     return new HashMap<>(directionsAndValues);
   }
 
+  /**
+   * Returns the value of one side of this card.
+   *
+   * @param direction the side of the card
+   * @return the numeric value of that side
+   */
+  @Override
+  public int getValue(Direction direction) {
+    return directionsAndValues.get(direction).getValue();
+  }
+
   /**
    * Returns a string representation of the card, including its name and the values
    * of each cardinal direction.
@@ -0,0 +1,160 @@
+package card;
+
+import player.PlayerColor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An immutable, compact table of cards stored in primitive arrays. Each card is identified by
+ * its index in the table and has four side values kept in {@link Direction} ordinal order
+ * (north, east, south, west). Names are kept as raw bytes and only turned into strings when
+ * asked for, so a table with hundreds of thousands of cards costs a few bytes per card instead
+ * of a {@link CardImpl} with its own map.
+ *
+ * <p>As with the card database, cards at even indices are dealt to {@link PlayerColor#RED}
+ * and cards at odd indices to {@link PlayerColor#BLUE}.
+ */
+public final class CardTable {
+
+  private final int size;
+  private final byte[] sides;
+  private final byte[] nameBytes;
+  private final int[] nameOffsets;
+
+  /**
+   * Constructs a {@code CardTable} from raw arrays. Only the first {@code size} entries of each
+   * array are used, and they are copied so the table cannot be changed afterwards.
+   *
+   * @param size        the number of cards in the table
+   * @param sides       four side values per card, in {@link Direction} ordinal order
+   * @param nameBytes   the UTF-8 bytes of all card names, one after the other
+   * @param nameOffsets {@code size + 1} offsets into {@code nameBytes}; card {@code i}'s name
+   *                    spans {@code nameOffsets[i]} to {@code nameOffsets[i + 1]}
+   * @throws IllegalArgumentException if the arrays are too short or a side value is not
+   *                                  between 1 and 10
+   */
+  public CardTable(int size, byte[] sides, byte[] nameBytes, int[] nameOffsets) {
+    if (size < 0 || sides.length < size * 4 || nameOffsets.length < size + 1
+        || nameBytes.length < nameOffsets[size]) {
+      throw new IllegalArgumentException("Card table arrays do not match the table size.");
+    }
+    for (int i = 0; i < size * 4; i++) {
+      if (sides[i] < 1 || sides[i] > 10) {
+        throw new IllegalArgumentException("Invalid direction value: " + sides[i]);
+      }
+    }
+    this.size = size;
+    this.sides = Arrays.copyOf(sides, size * 4);
+    this.nameBytes = Arrays.copyOf(nameBytes, nameOffsets[size]);
+    this.nameOffsets = Arrays.copyOf(nameOffsets, size + 1);
+  }
+
+  /**
+   * Builds a table holding the same cards, in the same order, as the given deck.
+   *
+   * @param deck the deck to convert
+   * @return a new table for the deck
+   */
+  public static CardTable fromDeck(List<ICard> deck) {
+    byte[] sides = new byte[deck.size() * 4];
+    int[] offsets = new int[deck.size() + 1];
+    byte[][] names = new byte[deck.size()][];
+    for (int i = 0; i < deck.size(); i++) {
+      ICard card = deck.get(i);
+      for (Direction direction : Direction.values()) {
+        sides[i * 4 + direction.ordinal()] =
+            (byte) card.getDirectionsAndValues().get(direction).getValue();
+      }
+      names[i] = card.getName().getBytes(StandardCharsets.UTF_8);
+      offsets[i + 1] = offsets[i] + names[i].length;
+    }
+    byte[] nameBytes = new byte[offsets[deck.size()]];
+    for (int i = 0; i < names.length; i++) {
+      System.arraycopy(names[i], 0, nameBytes, offsets[i], names[i].length);
+    }
+    return new CardTable(deck.size(), sides, nameBytes, offsets);
+  }
+
+  /**
+   * Returns the number of cards in this table.
+   *
+   * @return the number of cards
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns the value of a card's side.
+   *
+   * @param card      the index of the card
+   * @param direction the side of the card
+   * @return the value, from 1 to 10
+   */
+  public int getValue(int card, Direction direction) {
+    return sides[card * 4 + direction.ordinal()];
+  }
+
+  /**
+   * Returns the value of a card's side, identifying the side by its {@link Direction} ordinal.
+   *
+   * @param card      the index of the card
+   * @param direction the ordinal of the side
+   * @return the value, from 1 to 10
+   */
+  public int getValue(int card, int direction) {
+    return sides[card * 4 + direction];
+  }
+
+  /**
+   * Returns the name of a card. A new string is created on every call.
+   *
+   * @param card the index of the card
+   * @return the card's name
+   */
+  public String getName(int card) {
+    return new String(nameBytes, nameOffsets[card], nameOffsets[card + 1] - nameOffsets[card],
+        StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Returns the color of the player a card is dealt to.
+   *
+   * @param card the index of the card
+   * @return {@link PlayerColor#RED} for even indices, {@link PlayerColor#BLUE} for odd ones
+   */
+  public PlayerColor getPlayerColor(int card) {
+    return (card % 2 == 0) ? PlayerColor.RED : PlayerColor.BLUE;
+  }
+
+  /**
+   * Creates a {@link CardImpl} for one card of this table.
+   *
+   * @param card the index of the card
+   * @return a new card with the table's values and the dealt player color
+   */
+  public ICard toCard(int card) {
+    DirectionValue[] values = DirectionValue.values();
+    return new CardImpl(getPlayerColor(card), getName(card),
+        values[getValue(card, Direction.NORTH) - 1],
+        values[getValue(card, Direction.EAST) - 1],
+        values[getValue(card, Direction.SOUTH) - 1],
+        values[getValue(card, Direction.WEST) - 1]);
+  }
+
+  /**
+   * Creates the deck of {@link ICard}s described by this table, in table order.
+   *
+   * @return a new deck
+   */
+  public ArrayList<ICard> toDeck() {
+    ArrayList<ICard> deck = new ArrayList<>(size);
+    for (int card = 0; card < size; card++) {
+      deck.add(toCard(card));
+    }
+    return deck;
+  }
+}
@@ -36,6 +36,14 @@ public interface ICard {
    */
   Map<Direction, DirectionValue> getDirectionsAndValues();
 
+  /**
+   * Returns the value of one side of the card, without copying the card's values.
+   *
+   * @param direction the side of the card
+   * @return the numeric value of that side, from 1 to 10
+   */
+  int getValue(Direction direction);
+
   /**
    * Returns a string representation of the card, displaying its name and values
    * in the order of north, east, south, and west directions.
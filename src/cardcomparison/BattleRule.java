@@ -0,0 +1,53 @@
+package cardcomparison;
+
+import flipcriteria.NeighborRule;
+
+/**
+ * The basic battle as a {@link NeighborRule}: an opponent's card is flipped when the placed
+ * card's facing value wins under a {@link CardComparisonStrategy}. Card values are always
+ * between 1 and 10, so every outcome is worked out once when the rule is created.
+ */
+public final class BattleRule implements NeighborRule {
+
+  private final boolean[] beats = new boolean[11 * 11];
+
+  /**
+   * Constructs a {@code BattleRule}.
+   *
+   * @param comparison the strategy that decides battles
+   * @throws IllegalArgumentException if the comparison strategy is null
+   */
+  public BattleRule(CardComparisonStrategy comparison) {
+    if (comparison == null) {
+      throw new IllegalArgumentException("Comparison strategy cannot be null.");
+    }
+    for (int placed = 1; placed <= 10; placed++) {
+      for (int adjacent = 1; adjacent <= 10; adjacent++) {
+        beats[placed * 11 + adjacent] = comparison.compareValues(placed, adjacent);
+      }
+    }
+  }
+
+  /**
+   * Checks whether a value wins a battle against the value facing it.
+   *
+   * @param placedValue   the value of the attacking card
+   * @param adjacentValue the value of the defending card facing it
+   * @return {@code true} if the defending card is flipped
+   */
+  public boolean beats(int placedValue, int adjacentValue) {
+    return beats[placedValue * 11 + adjacentValue];
+  }
+
+  @Override
+  public int flipDirections(int[] placedValues, int[] facingValues) {
+    int flipped = 0;
+    for (int direction = 0; direction < 4; direction++) {
+      if (facingValues[direction] != 0
+          && beats[placedValues[direction] * 11 + facingValues[direction]]) {
+        flipped |= 1 << direction;
+      }
+    }
+    return flipped;
+  }
+}
@@ -25,4 +25,15 @@ public interface CardComparisonStrategy {
       ICard adjacentCard,
       Direction placedDirection,
       Direction adjacentDirection);
+
+  /**
+   * Compares two facing values directly, without card objects. This is the same decision
+   * {@link #compare} makes once it has looked up the values, and lets searches that keep the
+   * board in primitive arrays apply any variant rule.
+   *
+   * @param placedValue the value of the placed card facing the adjacent card
+   * @param adjacentValue the value of the adjacent card facing the placed card
+   * @return {@code true} if the placed value wins; {@code false} otherwise
+   */
+  boolean compareValues(int placedValue, int adjacentValue);
 }
@@ -77,4 +77,23 @@ public class FallenAce implements CardComparisonStrategy {
       return baseStrategy.compare(placedCard, adjacentCard, placedDirection, adjacentDirection);
     }
   }
+
+  /**
+   * Compares two facing values based on the "Fallen Ace" rule, using the base strategy for
+   * every case other than an Ace against a 10.
+   *
+   * @param placedValue the value of the placed card facing the adjacent card
+   * @param adjacentValue the value of the adjacent card facing the placed card
+   * @return {@code true} if the placed value wins; {@code false} otherwise
+   */
+  @Override
+  public boolean compareValues(int placedValue, int adjacentValue) {
+    if (placedValue == 1 && adjacentValue == 10) {
+      return true;
+    } else if (placedValue == 10 && adjacentValue == 1) {
+      return false;
+    } else {
+      return baseStrategy.compareValues(placedValue, adjacentValue);
+    }
+  }
 }
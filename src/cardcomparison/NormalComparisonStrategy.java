@@ -41,4 +41,16 @@ public class NormalComparisonStrategy implements CardComparisonStrategy {
 
     return placedValue > adjacentValue;
   }
+
+  /**
+   * Checks if the placed value is greater than the adjacent value.
+   *
+   * @param placedValue the value of the placed card facing the adjacent card
+   * @param adjacentValue the value of the adjacent card facing the placed card
+   * @return {@code true} if the placed value is greater; {@code false} otherwise
+   */
+  @Override
+  public boolean compareValues(int placedValue, int adjacentValue) {
+    return placedValue > adjacentValue;
+  }
 }
@@ -60,4 +60,16 @@ public class Reverse implements CardComparisonStrategy {
     // Reverse comparison: Placed card wins if its value is less than the adjacent card's value.
     return placedValue < adjacentValue;
   }
+
+  /**
+   * Checks if the placed value is less than the adjacent value.
+   *
+   * @param placedValue the value of the placed card facing the adjacent card
+   * @param adjacentValue the value of the adjacent card facing the placed card
+   * @return {@code true} if the placed value is less; {@code false} otherwise
+   */
+  @Override
+  public boolean compareValues(int placedValue, int adjacentValue) {
+    return placedValue < adjacentValue;
+  }
 }
@@ -0,0 +1,216 @@
+package controller;
+
+import player.PlayerColor;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A decorator for the {@link ModelObserver} interface that delivers model events on a
+ * dedicated thread instead of the thread that changed the model. Each decorated observer
+ * owns its own bounded queue and single-threaded executor, so a slow observer (a repaint,
+ * a logger, a network broadcaster) no longer adds latency to {@code placeCard}, and an
+ * observer that reacts by placing a card no longer re-enters the model on the caller's stack.
+ *
+ * <p>Events are delivered to the delegate in the order they were accepted. How turn events are
+ * queued is decided by the {@link BackPressurePolicy} given at construction. Game-over events
+ * are always delivered, unless the observer is closed first, in which case notifying it throws
+ * instead.
+ *
+ * <p>Note that the model itself is not thread-safe. Observers that read or mutate the model
+ * from their callbacks must not run at the same time as another thread that does the same.
+ *
+ * <p>A delegate that places a card from its callback makes the model notify this decorator
+ * again on the dispatch thread. If such an event would have to wait for room in a full queue,
+ * it would wait for its own thread forever, so instead the events already queued and then the
+ * new one are delivered right away on the dispatch thread, nested inside the callback that
+ * caused them. They are still delivered in order.
+ */
+public class AsyncObserverDecorator implements ModelObserver, AutoCloseable {
+
+  /**
+   * The observer that receives the events on the dispatch thread.
+   */
+  private final ModelObserver delegate;
+
+  /**
+   * The policy applied to turn events when the queue is full.
+   */
+  private final BackPressurePolicy policy;
+
+  /**
+   * The single-threaded executor that drains this observer's queue.
+   */
+  private final ThreadPoolExecutor executor;
+
+  /**
+   * The latest turn event that has been accepted but not yet delivered, used when coalescing.
+   */
+  private final AtomicReference<PlayerColor> pendingTurn;
+
+  /**
+   * The number of turn events that were discarded because the queue was full.
+   */
+  private final AtomicLong droppedEvents;
+
+  /**
+   * The thread that delivers the events, set when the executor creates it.
+   */
+  private volatile Thread dispatchThread;
+
+  /**
+   * Constructs an {@code AsyncObserverDecorator} around the given observer.
+   *
+   * @param delegate      the observer to notify on the dispatch thread
+   * @param queueCapacity the maximum number of undelivered events
+   * @param policy        what to do with turn events when the queue is full
+   * @throws IllegalArgumentException if the delegate or policy is null, or the capacity is
+   *                                  not positive
+   */
+  public AsyncObserverDecorator(ModelObserver delegate, int queueCapacity,
+                                BackPressurePolicy policy) {
+    if (delegate == null || policy == null) {
+      throw new IllegalArgumentException("Arguments cannot be null");
+    }
+    if (queueCapacity < 1) {
+      throw new IllegalArgumentException("Queue capacity must be positive.");
+    }
+    this.delegate = delegate;
+    this.policy = policy;
+    this.pendingTurn = new AtomicReference<>();
+    this.droppedEvents = new AtomicLong();
+    this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+          Thread thread = new Thread(runnable, "observer-" + delegate.getClass().getSimpleName());
+          thread.setDaemon(true);
+          dispatchThread = thread;
+          return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+  }
+
+  /**
+   * Queues a turn change for the delegate, applying this observer's back-pressure policy.
+   *
+   * @param currentPlayer the color of the player whose turn it currently is
+   */
+  @Override
+  public void onTurnChanged(PlayerColor currentPlayer) {
+    switch (policy) {
+      case DROP:
+        try {
+          executor.execute(() -> delegate.onTurnChanged(currentPlayer));
+        } catch (RejectedExecutionException e) {
+          droppedEvents.incrementAndGet();
+        }
+        break;
+      case COALESCE:
+        // Only schedule a delivery if none is pending; otherwise just replace its value.
+        if (pendingTurn.getAndSet(currentPlayer) == null) {
+          enqueueBlocking(() -> delegate.onTurnChanged(pendingTurn.getAndSet(null)));
+        }
+        break;
+      case BLOCK:
+        enqueueBlocking(() -> delegate.onTurnChanged(currentPlayer));
+        break;
+      default:
+        throw new IllegalStateException("Unknown back-pressure policy: " + policy);
+    }
+  }
+
+  /**
+   * Queues the game-over event for the delegate. This event is never dropped.
+   *
+   * @param winningPlayer the color of the winning player, or null on a draw
+   */
+  @Override
+  public void onGameOver(PlayerColor winningPlayer) {
+    enqueueBlocking(() -> delegate.onGameOver(winningPlayer));
+  }
+
+  /**
+   * Returns how many turn events were discarded under {@link BackPressurePolicy#DROP}.
+   *
+   * @return the number of dropped events
+   */
+  public long getDroppedEventCount() {
+    return droppedEvents.get();
+  }
+
+  /**
+   * Waits until every event accepted so far has been delivered to the delegate.
+   *
+   * @param timeout the maximum time to wait
+   * @param unit    the unit of the timeout
+   * @return true if the queue drained in time, false otherwise
+   * @throws InterruptedException if the calling thread is interrupted while waiting
+   */
+  public boolean awaitIdle(long timeout, TimeUnit unit) throws InterruptedException {
+    // Events are delivered in order, so once this marker runs everything before it has too.
+    CountDownLatch drained = new CountDownLatch(1);
+    enqueueBlocking(drained::countDown);
+    return drained.await(timeout, unit);
+  }
+
+  /**
+   * Stops the dispatch thread after the events already queued have been delivered.
+   */
+  @Override
+  public void close() {
+    executor.shutdown();
+  }
+
+  /**
+   * Puts a delivery task on the queue, waiting for room if the queue is full. On the dispatch
+   * thread, which would wait for itself, the queue is delivered inline instead.
+   *
+   * @param task the delivery task
+   * @throws IllegalStateException if this observer has been closed, or the thread is
+   *                               interrupted while waiting
+   */
+  private void enqueueBlocking(Runnable task) {
+    if (executor.isShutdown()) {
+      throw new IllegalStateException("The observer has been closed.");
+    }
+    try {
+      executor.execute(task);
+    } catch (RejectedExecutionException e) {
+      if (Thread.currentThread() == dispatchThread) {
+        deliverInline(task);
+        return;
+      }
+      try {
+        // The worker thread is already running, so anything on the queue will be drained.
+        executor.getQueue().put(task);
+      } catch (InterruptedException interrupted) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("Interrupted while waiting to queue an event.",
+            interrupted);
+      }
+      // A close between the check above and the put may have let the worker finish, or never
+      // start it, leaving the task on a queue nobody drains. If the task is still there it is
+      // taken back; if it is gone the worker has it.
+      if (executor.isShutdown() && executor.getQueue().remove(task)) {
+        throw new IllegalStateException("The observer has been closed.");
+      }
+    }
+  }
+
+  /**
+   * Delivers the queued events and then a new one on the dispatch thread, in order.
+   *
+   * @param task the delivery task that found the queue full
+   */
+  private void deliverInline(Runnable task) {
+    Runnable queued = executor.getQueue().poll();
+    while (queued != null) {
+      queued.run();
+      queued = executor.getQueue().poll();
+    }
+    task.run();
+  }
+}
@@ -0,0 +1,20 @@
+package controller;
+
+/**
+ * Represents how an asynchronous observer queues turn events for a delegate that may not keep
+ * up with them.
+ * <ul>
+ *   <li>DROP - A new turn event that finds the queue full is discarded.</li>
+ *   <li>COALESCE - A new turn event replaces the one still waiting to be delivered, if any,
+ *       whether or not the queue is full, so only the latest one is delivered.</li>
+ *   <li>BLOCK - A new turn event that finds the queue full makes the model's thread wait
+ *       until the queue has room.</li>
+ * </ul>
+ *
+ * <p>Game-over events are never dropped or coalesced, regardless of the policy.
+ */
+public enum BackPressurePolicy {
+  DROP,     // Discards turn events that do not fit in the queue.
+  COALESCE, // Keeps only the most recent undelivered turn event.
+  BLOCK;    // Blocks the notifying thread until there is room in the queue.
+}
@@ -0,0 +1,90 @@
+package controller;
+
+import model.IModel;
+import player.IPlayer;
+
+/**
+ * A controller that plays without any view, for simulations, servers and load tests. It has
+ * the same turn logic as {@link ControllerGUIImpl}: a machine player moves as soon as its turn
+ * starts, and a human player is driven by calling {@link #handleCardClick} and
+ * {@link #handleCellClick} as its view would. What a view would show is kept instead, so a
+ * script can check it.
+ *
+ * <p>No AWT or Swing class is loaded by this controller, which keeps processes that only
+ * simulate games small and quick to start.</p>
+ */
+public class HeadlessController extends TurnController {
+
+  private String lastError;
+  private int errorCount;
+  private String gameOverMessage;
+
+  /**
+   * Constructs a {@code HeadlessController} and registers it as an observer of the model.
+   *
+   * @param model  the game model containing the game state and logic
+   * @param player the player using this controller
+   * @throws IllegalArgumentException if any of the arguments are {@code null}
+   */
+  public HeadlessController(IModel model, IPlayer player) {
+    super(model, player);
+  }
+
+  /**
+   * Lets a machine player that moves first make its move.
+   */
+  @Override
+  protected void firstTurnStarted() {
+    if (!model.checkGameOver()) {
+      choosePlayerMove();
+    }
+  }
+
+  @Override
+  protected void showError(String message) {
+    lastError = message;
+    errorCount++;
+  }
+
+  @Override
+  protected void gameEnded(String message) {
+    gameOverMessage = message;
+  }
+
+  /**
+   * Returns the reason the last refused action was refused.
+   *
+   * @return the message a view would have shown, or {@code null} if nothing was refused
+   */
+  public String getLastError() {
+    return lastError;
+  }
+
+  /**
+   * Returns the number of actions refused.
+   *
+   * @return the count of errors a view would have shown
+   */
+  public int getErrorCount() {
+    return errorCount;
+  }
+
+  /**
+   * Returns the outcome of the game for this controller's player.
+   *
+   * @return the message a view would have shown, or {@code null} if the game is not over
+   */
+  public String getGameOverMessage() {
+    return gameOverMessage;
+  }
+
+  /**
+   * Checks whether it is this controller's player's turn.
+   *
+   * @return {@code true} if the player may place a card
+   */
+  @Override
+  public boolean isMyTurn() {
+    return super.isMyTurn();
+  }
+}
@@ -0,0 +1,286 @@
+package controller;
+
+import cardcomparison.CardComparisonStrategy;
+import flipcriteria.ICriteria;
+import model.IModel;
+import player.IPlayer;
+import player.PlayerColor;
+import strategies.Placement;
+
+/**
+ * The turn logic shared by every controller of one player: whose turn it is, which card of the
+ * hand is selected, when a click places a card, and when a machine player is asked for its
+ * move. It knows nothing of how the game is shown; subclasses are told of each event through
+ * the protected hooks, which do nothing by default.
+ *
+ * <p>This class loads no AWT or Swing classes, so controllers built on it can run in
+ * processes that never open a window.</p>
+ */
+public abstract class TurnController implements IControllerGUI, Features, ModelObserver,
+        PlayerActions {
+
+  /**
+   * The game model, representing the state and logic of the game.
+   */
+  protected final IModel model;
+
+  /**
+   * The player associated with this controller.
+   */
+  protected final IPlayer player;
+
+  /**
+   * Indicates whether it is the player's turn.
+   */
+  private boolean isMyTurn = false;
+
+  /**
+   * Index of the card selected by the player, or -1 if no card is selected.
+   */
+  private int selectedCardIndex = -1;
+
+  /**
+   * Tracks whether hints are currently enabled.
+   */
+  private boolean hintsEnabled;
+
+  /**
+   * Constructs a {@code TurnController} and registers it as an observer of the model.
+   *
+   * @param model  the game model containing the game state and logic
+   * @param player the player using this controller
+   * @throws IllegalArgumentException if any of the arguments are {@code null}
+   */
+  protected TurnController(IModel model, IPlayer player) {
+    if (model == null || player == null) {
+      throw new IllegalArgumentException("Arguments cannot be null");
+    }
+    this.model = model;
+    this.player = player;
+    this.hintsEnabled = false;
+    this.model.addObserver(this);
+  }
+
+  /**
+   * Starts the game and determines if it is the player's turn.
+   */
+  @Override
+  public void playGame() {
+    this.model.startGame();
+    gameStarted();
+    if (this.model.getCurrentPlayerColor().equals(player.getPlayerColor())) {
+      this.isMyTurn = true;
+      firstTurnStarted();
+    }
+  }
+
+  /**
+   * Handles a click on a board cell. If it is the player's turn and a card is selected,
+   * attempts to place the card at the specified cell.
+   *
+   * @param row the row index of the clicked cell
+   * @param col the column index of the clicked cell
+   */
+  @Override
+  public void handleCellClick(int row, int col) {
+    if (!isMyTurn) {
+      showError("It's not your turn.");
+      return;
+    }
+    if (selectedCardIndex == -1) {
+      showError("Please select a card first.");
+      return;
+    }
+    try {
+      model.placeCard(row, col, selectedCardIndex, player);
+      selectedCardIndex = -1; // Reset selected card
+    } catch (IllegalArgumentException | IllegalStateException e) {
+      showError(e.getMessage());
+    }
+  }
+
+  /**
+   * Handles a click on a card in the player's hand and selects it.
+   *
+   * @param row   the row index of the card in the player's hand
+   * @param color the color of the player who clicked the card
+   */
+  @Override
+  public void handleCardClick(int row, PlayerColor color) {
+    if (!isMyTurn || color != player.getPlayerColor()) {
+      showError("It's not your turn or invalid card selection.");
+      return;
+    }
+    selectedCardIndex = row;
+    cardSelected(row, color);
+  }
+
+  /**
+   * Enables hint functionality.
+   */
+  @Override
+  public void enableHints() {
+    if (!hintsEnabled) {
+      hintsEnabled = true;
+      hintsChanged(true);
+    }
+  }
+
+  /**
+   * Disables hint functionality.
+   */
+  @Override
+  public void disableHints() {
+    if (hintsEnabled) {
+      hintsEnabled = false;
+      hintsChanged(false);
+    }
+  }
+
+  /**
+   * Sets the variant rule for card comparison in the model.
+   *
+   * @param variantRule the card comparison strategy to use
+   */
+  @Override
+  public void setVariantRule(CardComparisonStrategy variantRule) {
+    this.model.setVariantRule(variantRule);
+  }
+
+  @Override
+  public void setFlipCriteria(ICriteria flipCriteria) {
+    this.model.setFlipCriteria(flipCriteria);
+  }
+
+  /**
+   * Handles changes in the current player's turn. A machine player in turn is asked for its
+   * move right away.
+   *
+   * @param currentPlayer the color of the current player
+   */
+  @Override
+  public void onTurnChanged(PlayerColor currentPlayer) {
+    boardChanged();
+    isMyTurn = (currentPlayer == player.getPlayerColor());
+    if (isMyTurn) {
+      turnStarted();
+      choosePlayerMove();
+    } else {
+      turnEnded();
+    }
+  }
+
+  /**
+   * Handles the game-over event by working out the outcome for this player.
+   *
+   * @param winningPlayerColor the color of the winning player, or {@code null} if the game is a tie
+   */
+  @Override
+  public void onGameOver(PlayerColor winningPlayerColor) {
+    String message;
+    if (winningPlayerColor == null) {
+      message = "The game is a tie!";
+    } else if (winningPlayerColor == player.getPlayerColor()) {
+      message = "You win!";
+    } else {
+      message = "You lose.";
+    }
+    gameEnded(message);
+  }
+
+  /**
+   * Allows the player to choose a move. If a valid move is chosen, places the card
+   * at the selected cell.
+   */
+  @Override
+  public void choosePlayerMove() {
+    Placement playerPlacement = player.chooseMove(model);
+    if (playerPlacement != null) {
+      int row = playerPlacement.row;
+      int col = playerPlacement.column;
+      int index = playerPlacement.cardIndex;
+      model.placeCard(row, col, index, player);
+    }
+  }
+
+  /**
+   * Checks whether it is this controller's player's turn.
+   *
+   * @return {@code true} if the player may place a card
+   */
+  protected boolean isMyTurn() {
+    return isMyTurn;
+  }
+
+  /**
+   * Checks whether hints are enabled.
+   *
+   * @return {@code true} if hints are enabled
+   */
+  protected boolean areHintsEnabled() {
+    return hintsEnabled;
+  }
+
+  /**
+   * Called by {@link #playGame()} once the model is started.
+   */
+  protected void gameStarted() {
+  }
+
+  /**
+   * Called by {@link #playGame()} when the player moves first.
+   */
+  protected void firstTurnStarted() {
+  }
+
+  /**
+   * Called when an action of the player is refused.
+   *
+   * @param message the reason
+   */
+  protected void showError(String message) {
+  }
+
+  /**
+   * Called when the player selects a card of the hand.
+   *
+   * @param row   the index of the card in the hand
+   * @param color the color of the player
+   */
+  protected void cardSelected(int row, PlayerColor color) {
+  }
+
+  /**
+   * Called when hints are turned on or off.
+   *
+   * @param enabled whether hints are now enabled
+   */
+  protected void hintsChanged(boolean enabled) {
+  }
+
+  /**
+   * Called when a turn ends, before the next player is known to this controller.
+   */
+  protected void boardChanged() {
+  }
+
+  /**
+   * Called when the player's turn starts, before a machine player is asked for its move.
+   */
+  protected void turnStarted() {
+  }
+
+  /**
+   * Called when the other player's turn starts.
+   */
+  protected void turnEnded() {
+  }
+
+  /**
+   * Called when the game ends.
+   *
+   * @param message the outcome for this player
+   */
+  protected void gameEnded(String message) {
+  }
+}
@@ -0,0 +1,61 @@
+package flipcriteria;
+
+import card.Direction;
+import card.ICard;
+import model.BoardTopology;
+import model.IModel;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the values a flip rule needs from a model, and turns the directions the rule flips
+ * back into board positions. Used by the list-returning {@code applyFlipCriteria} of the rules;
+ * the model itself feeds {@link ICriteria#flipDirections(int[], int[])} directly.
+ */
+final class CriteriaNeighbors {
+
+  private static final Direction[] DIRECTIONS = Direction.values();
+
+  private CriteriaNeighbors() {
+  }
+
+  /**
+   * Applies a rule to a card placed on a model's board.
+   *
+   * @param rule       the rule to apply
+   * @param model      the model holding the board
+   * @param placedCard the card that was placed
+   * @param row        the row of the placed card
+   * @param col        the column of the placed card
+   * @return the positions of the cards the rule flips, in direction order
+   */
+  static List<int[]> apply(ICriteria rule, IModel model, ICard placedCard, int row, int col) {
+    BoardTopology topology = model.getTopology();
+    int cell = topology.cell(row, col);
+    int[] placedValues = new int[4];
+    int[] facingValues = new int[4];
+    for (int direction = 0; direction < 4; direction++) {
+      placedValues[direction] = placedCard.getValue(DIRECTIONS[direction]);
+      int adjacent = topology.neighbor(cell, direction);
+      if (adjacent == BoardTopology.NONE) {
+        continue;
+      }
+      ICard adjacentCard = model.findCardAt(topology.rowOf(adjacent), topology.columnOf(adjacent));
+      if (adjacentCard != null && adjacentCard.getPlayerColor() != placedCard.getPlayerColor()) {
+        facingValues[direction] =
+            adjacentCard.getValue(DIRECTIONS[BoardTopology.opposite(direction)]);
+      }
+    }
+
+    int flipped = rule.flipDirections(placedValues, facingValues);
+    List<int[]> positions = new ArrayList<>(Integer.bitCount(flipped));
+    for (int direction = 0; direction < 4; direction++) {
+      if ((flipped & 1 << direction) != 0) {
+        int adjacent = topology.neighbor(cell, direction);
+        positions.add(new int[]{topology.rowOf(adjacent), topology.columnOf(adjacent)});
+      }
+    }
+    return positions;
+  }
+}
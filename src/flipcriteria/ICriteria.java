@@ -13,8 +13,13 @@ import player.IPlayer;
  * flipping rules to the game board. Implementations of this interface define
  * specific rules (e.g., "Same", "Plus") for determining which cards are flipped
  * after a card is placed on the board.
+ *
+ * <p>Both rules in this game only look at the four sides of the placed card and the facing
+ * sides of the opponent's cards next to it, so each rule is defined once as a
+ * {@link NeighborRule}, which works on plain values and allocates nothing.
+ * {@link #applyFlipCriteria} is the same rule applied to a model.
  */
-public interface ICriteria {
+public interface ICriteria extends NeighborRule {
 
   /**
    * Applies the flipping criteria based on the specific rules defined by the implementation.
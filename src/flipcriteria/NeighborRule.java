@@ -0,0 +1,21 @@
+package flipcriteria;
+
+/**
+ * A rule that decides, from a placed card and the opponent's cards next to it, which of those
+ * cards are flipped. Basic battles and the {@link ICriteria} rules are all neighbor rules, so a
+ * placement is resolved by asking each rule once over the same neighborhood.
+ */
+public interface NeighborRule {
+
+  /**
+   * Decides which neighbors of a placed card the rule flips. Both arrays are indexed by the
+   * {@link card.Direction#ordinal() ordinal} of the direction from the placed card, and are
+   * only read, so callers can reuse them from one placement to the next.
+   *
+   * @param placedValues the value of each side of the placed card
+   * @param facingValues the value of the side facing the placed card of the opponent's card in
+   *                     each direction, or 0 where there is no opponent's card
+   * @return a mask with bit {@code 1 << ordinal} set for each direction whose card is flipped
+   */
+  int flipDirections(int[] placedValues, int[] facingValues);
+}
@@ -1,14 +1,8 @@
 package flipcriteria;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
 
 import card.ICard;
-import card.Direction;
 import model.IModel;
 import player.IPlayer;
 
@@ -23,43 +17,24 @@ public class PlusRule implements ICriteria {
   @Override
   public List<int[]> applyFlipCriteria(IModel model, ICard placedCard, int row, int col,
                                        IPlayer player) {
-    int[][] directions = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
-    Direction[] dirEnums = {Direction.NORTH, Direction.SOUTH, Direction.WEST, Direction.EAST};
-    Map<Integer, List<int[]>> sumMap = new HashMap<>();
-    Set<int[]> flippedPositionsSet = new HashSet<>();
-
-    // Iterate over adjacent positions
-    for (int directionIndex = 0; directionIndex < directions.length; directionIndex++) {
-      int adjRow = row + directions[directionIndex][0];
-      int adjCol = col + directions[directionIndex][1];
-
-      if (model.isValidPosition(adjRow, adjCol) && model.getCardAt(adjRow, adjCol) != null) {
-        ICard adjacentCard = model.getCardAt(adjRow, adjCol);
-
-        if (!adjacentCard.getPlayerColor().equals(placedCard.getPlayerColor())) {
-          Direction placedDir = dirEnums[directionIndex];
-          Direction adjOppositeDir = model.getOppositeDirection(placedDir);
-
-          int placedValue = placedCard.getDirectionsAndValues().get(placedDir).getValue();
-          int opposingValue = adjacentCard.getDirectionsAndValues().get(adjOppositeDir).getValue();
-          int sum = placedValue + opposingValue;
+    return CriteriaNeighbors.apply(this, model, placedCard, row, col);
+  }
 
-          sumMap.putIfAbsent(sum, new ArrayList<>());
-          sumMap.get(sum).add(new int[]{adjRow, adjCol});
-        }
+  @Override
+  public int flipDirections(int[] placedValues, int[] facingValues) {
+    int flipped = 0;
+    for (int direction = 0; direction < 4; direction++) {
+      if (facingValues[direction] == 0) {
+        continue;
       }
-    }
-
-    // Flip cards if there are at least two with the same sum
-    for (Map.Entry<Integer, List<int[]>> entry : sumMap.entrySet()) {
-      List<int[]> positionsWithSameSum = entry.getValue();
-      if (positionsWithSameSum.size() >= 2) {
-        flippedPositionsSet.addAll(positionsWithSameSum);
+      int sum = placedValues[direction] + facingValues[direction];
+      // Flip cards if there are at least two with the same sum
+      for (int other = direction + 1; other < 4; other++) {
+        if (facingValues[other] != 0 && placedValues[other] + facingValues[other] == sum) {
+          flipped |= 1 << direction | 1 << other;
+        }
       }
     }
-
-    return new ArrayList<>(flippedPositionsSet);
+    return flipped;
   }
-
-
 }
@@ -0,0 +1,239 @@
+package gameconfig;
+
+import card.CardTable;
+import card.CellTypeContents;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads and writes the binary versions of the board configuration and card database files.
+ * Each binary file is loaded with a single memory map and read at fixed offsets, with no
+ * text parsing at all.
+ *
+ * <p>Both formats start with a four byte magic number and a two byte version, and store
+ * numbers in big-endian order. The magic numbers start with the byte {@code 0x89}, which can
+ * begin neither an ASCII nor a UTF-8 text file, so no text file is ever taken for a binary
+ * one.</p>
+ * <ul>
+ *   <li>Board: magic {@code 0x89 3TB}, version, rows ({@code int}), columns ({@code int}),
+ *       then one bit per cell in row-major order, set for holes, padded to a whole byte.</li>
+ *   <li>Cards: magic {@code 0x89 3TC}, version, card count ({@code int}), then one fixed-width
+ *       record per card holding the end offset of its name ({@code int}) and its four side
+ *       values packed as nibbles ({@code short}, north in the highest nibble), then the UTF-8
+ *       bytes of all names.</li>
+ * </ul>
+ */
+public class BinaryGameFormat {
+
+  public static final int BOARD_MAGIC = 0x89335442; // 0x89 "3TB"
+  public static final int CARDS_MAGIC = 0x89335443; // 0x89 "3TC"
+  public static final short VERSION = 1;
+
+  private static final int HEADER_BYTES = 6;
+  private static final int CARD_RECORD_BYTES = 6;
+
+  /**
+   * Checks whether a file starts with one of the binary magic numbers.
+   *
+   * @param file the file to check
+   * @return true if the file is a binary board or card file, false otherwise
+   */
+  public boolean isBinary(File file) {
+    if (!file.isFile() || file.length() < 4) {
+      return false;
+    }
+    try (InputStream in = Files.newInputStream(file.toPath())) {
+      byte[] magic = in.readNBytes(4);
+      int value = ByteBuffer.wrap(magic).getInt();
+      return value == BOARD_MAGIC || value == CARDS_MAGIC;
+    } catch (IOException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Writes a board layout in the binary board format. Cells holding a card are written as
+   * playable cells.
+   *
+   * @param board the board layout
+   * @param file  the file to write
+   * @throws IllegalArgumentException if the file cannot be written
+   */
+  public void writeBoard(CellTypeContents[][] board, File file) {
+    int rows = board.length;
+    int cols = board[0].length;
+    ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + 8 + (rows * cols + 7) / 8);
+    buffer.putInt(BOARD_MAGIC).putShort(VERSION).putInt(rows).putInt(cols);
+    byte[] mask = new byte[(rows * cols + 7) / 8];
+    for (int row = 0; row < rows; row++) {
+      for (int col = 0; col < cols; col++) {
+        if (board[row][col] == CellTypeContents.HOLE) {
+          int cell = row * cols + col;
+          mask[cell >> 3] |= (byte) (1 << (cell & 7));
+        }
+      }
+    }
+    buffer.put(mask);
+    write(buffer.array(), file);
+  }
+
+  /**
+   * Reads a board layout from the binary board format.
+   *
+   * @param file the file to read
+   * @return the board layout, with {@link CellTypeContents#EMPTY} and
+   *         {@link CellTypeContents#HOLE} cells
+   * @throws IllegalArgumentException if the file is missing, is not a binary board of a known
+   *                                  version, or is truncated
+   */
+  public CellTypeContents[][] readBoard(File file) {
+    ByteBuffer buffer = map(file, BOARD_MAGIC, "Config file");
+    int rows = buffer.getInt();
+    int cols = buffer.getInt();
+    long cells = (long) rows * cols;
+    if (rows <= 0 || cols <= 0 || cells > Integer.MAX_VALUE
+        || buffer.remaining() < (cells + 7) / 8) {
+      throw new IllegalArgumentException("Invalid binary config file.");
+    }
+    int maskStart = buffer.position();
+    CellTypeContents[][] board = new CellTypeContents[rows][cols];
+    for (int row = 0; row < rows; row++) {
+      for (int col = 0; col < cols; col++) {
+        int cell = row * cols + col;
+        boolean hole = (buffer.get(maskStart + (cell >> 3)) & (1 << (cell & 7))) != 0;
+        board[row][col] = hole ? CellTypeContents.HOLE : CellTypeContents.EMPTY;
+      }
+    }
+    return board;
+  }
+
+  /**
+   * Writes a card table in the binary card format.
+   *
+   * @param cards the cards to write
+   * @param file  the file to write
+   * @throws IllegalArgumentException if the file cannot be written
+   */
+  public void writeCards(CardTable cards, File file) {
+    byte[][] names = new byte[cards.size()][];
+    int nameBytes = 0;
+    for (int card = 0; card < cards.size(); card++) {
+      names[card] = cards.getName(card).getBytes(StandardCharsets.UTF_8);
+      nameBytes += names[card].length;
+    }
+    ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + 4
+        + cards.size() * CARD_RECORD_BYTES + nameBytes);
+    buffer.putInt(CARDS_MAGIC).putShort(VERSION).putInt(cards.size());
+    int nameEnd = 0;
+    for (int card = 0; card < cards.size(); card++) {
+      nameEnd += names[card].length;
+      int packed = 0;
+      for (int side = 0; side < 4; side++) {
+        packed = (packed << 4) | cards.getValue(card, side);
+      }
+      buffer.putInt(nameEnd).putShort((short) packed);
+    }
+    for (byte[] name : names) {
+      buffer.put(name);
+    }
+    write(buffer.array(), file);
+  }
+
+  /**
+   * Reads a card table from the binary card format.
+   *
+   * @param file the file to read
+   * @return the cards of the file, in file order
+   * @throws IllegalArgumentException if the file is missing, is not a binary card file of a
+   *                                  known version, is truncated, or holds invalid values
+   */
+  public CardTable readCards(File file) {
+    ByteBuffer buffer = map(file, CARDS_MAGIC, "Card database file");
+    int count = buffer.getInt();
+    if (count < 0 || buffer.remaining() < (long) count * CARD_RECORD_BYTES) {
+      throw new IllegalArgumentException("Invalid binary card database file.");
+    }
+    byte[] sides = new byte[count * 4];
+    int[] nameOffsets = new int[count + 1];
+    // Each record holds where its name ends; the first name starts at 0 and no name can end
+    // before the one ahead of it.
+    for (int card = 0; card < count; card++) {
+      nameOffsets[card + 1] = buffer.getInt();
+      if (nameOffsets[card + 1] < nameOffsets[card]) {
+        throw new IllegalArgumentException("Invalid binary card database file: the name of card "
+            + card + " ends at " + nameOffsets[card + 1] + ", before it starts at "
+            + nameOffsets[card] + ".");
+      }
+      int packed = buffer.getShort() & 0xFFFF;
+      for (int side = 3; side >= 0; side--) {
+        sides[card * 4 + side] = (byte) (packed & 0xF);
+        packed >>>= 4;
+      }
+    }
+    if (buffer.remaining() < nameOffsets[count]) {
+      throw new IllegalArgumentException("Invalid binary card database file: the names end at "
+          + nameOffsets[count] + ", past the " + buffer.remaining() + " name bytes.");
+    }
+    byte[] nameBytes = new byte[nameOffsets[count]];
+    buffer.get(nameBytes);
+    return new CardTable(count, sides, nameBytes, nameOffsets);
+  }
+
+  /**
+   * Maps a binary file and checks its header.
+   *
+   * @param file  the file to map
+   * @param magic the expected magic number
+   * @param kind  the kind of file, used in error messages
+   * @return the mapped file, positioned just after the header
+   * @throws IllegalArgumentException if the file is missing or the header does not match
+   */
+  private ByteBuffer map(File file, int magic, String kind) {
+    if (!file.exists() || !file.isFile()) {
+      throw new IllegalArgumentException(kind + " not found.");
+    }
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+      if (channel.size() < HEADER_BYTES || channel.size() > Integer.MAX_VALUE) {
+        throw new IllegalArgumentException("Invalid binary " + kind.toLowerCase() + ".");
+      }
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      buffer.order(ByteOrder.BIG_ENDIAN);
+      if (buffer.getInt() != magic) {
+        throw new IllegalArgumentException("Invalid binary " + kind.toLowerCase() + ".");
+      }
+      short version = buffer.getShort();
+      if (version != VERSION) {
+        throw new IllegalArgumentException("Unsupported binary format version: " + version);
+      }
+      return buffer;
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Error reading " + kind.toLowerCase() + ".", e);
+    }
+  }
+
+  /**
+   * Writes bytes to a file, replacing its contents.
+   *
+   * @param bytes the bytes to write
+   * @param file  the file to write
+   * @throws IllegalArgumentException if the file cannot be written
+   */
+  private void write(byte[] bytes, File file) {
+    try (OutputStream out = new FileOutputStream(file)) {
+      out.write(bytes);
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Error writing " + file + ".", e);
+    }
+  }
+}
@@ -0,0 +1,255 @@
+package gameconfig;
+
+import card.CardTable;
+import card.CellTypeContents;
+import card.ICard;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A cache of parsed board configuration and card database files, so that setting up many games
+ * from the same files only parses each file once. Layouts and card tables are cached separately
+ * by file path, each in its own least-recently-used map of bounded size, and combined into a
+ * shared {@link GameSetup} on request.
+ *
+ * <p>By default an entry is reused only while its file has the same modification time and size
+ * as when it was parsed, which costs one file status check per lookup. When file watching is
+ * enabled, lookups skip that check and entries are instead dropped as soon as the watched
+ * directory reports a change to their file.
+ */
+public class ConfigCache implements AutoCloseable {
+
+  private final Map<Path, Entry<CellTypeContents[][]>> layouts;
+  private final Map<Path, Entry<CardsEntry>> cards;
+  private final WatchService watcher;
+  private final Set<Path> watchedDirectories;
+
+  /**
+   * Constructs a {@code ConfigCache} that checks file status on every lookup.
+   *
+   * @param capacity the maximum number of layouts and of card databases to keep
+   */
+  public ConfigCache(int capacity) {
+    this(capacity, false);
+  }
+
+  /**
+   * Constructs a {@code ConfigCache}, optionally invalidating entries through file watching.
+   *
+   * @param capacity   the maximum number of layouts and of card databases to keep
+   * @param watchFiles whether to watch cached files for changes instead of checking their
+   *                   status on every lookup
+   * @throws IllegalArgumentException if the capacity is not positive or the file system cannot
+   *                                  be watched
+   */
+  public ConfigCache(int capacity, boolean watchFiles) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("Capacity must be positive.");
+    }
+    this.layouts = lruMap(capacity);
+    this.cards = lruMap(capacity);
+    this.watchedDirectories = new HashSet<>();
+    if (watchFiles) {
+      try {
+        this.watcher = FileSystems.getDefault().newWatchService();
+      } catch (IOException e) {
+        throw new IllegalArgumentException("Cannot watch configuration files.", e);
+      }
+      Thread thread = new Thread(this::processFileEvents, "config-cache-watcher");
+      thread.setDaemon(true);
+      thread.start();
+    } else {
+      this.watcher = null;
+    }
+  }
+
+  /**
+   * Returns the setup for a board configuration and card database in the {@code docs}
+   * directory, the same files {@link ConfigGame#ConfigGame(String, String)} would read.
+   *
+   * @param board  the file name of the board configuration file
+   * @param cardDb the file name of the card database file
+   * @return the shared setup
+   * @throws IllegalArgumentException if either file is missing or invalid
+   */
+  public GameSetup get(String board, String cardDb) {
+    return get(new File("docs" + File.separator + board),
+        new File("docs" + File.separator + cardDb));
+  }
+
+  /**
+   * Returns the setup for a board configuration and card database, parsing a file only if it
+   * is not cached or has changed since it was cached. Both text and binary files are accepted.
+   *
+   * @param board  the board configuration file
+   * @param cardDb the card database file
+   * @return the shared setup
+   * @throws IllegalArgumentException if either file is missing or invalid
+   */
+  public synchronized GameSetup get(File board, File cardDb) {
+    Path boardPath = board.toPath().toAbsolutePath().normalize();
+    Path cardsPath = cardDb.toPath().toAbsolutePath().normalize();
+
+    Entry<CellTypeContents[][]> layout = layouts.get(boardPath);
+    if (layout == null || isStale(layout, board)) {
+      long[] stamp = stamp(board);
+      // The directory is watched before parsing, so a change made while parsing is reported.
+      watch(boardPath);
+      // The parsed array is owned by the cache and never handed out, only copies of it.
+      layout = new Entry<>(stamp, ConfigGame.readBoard(board));
+      layouts.put(boardPath, layout);
+    }
+
+    Entry<CardsEntry> deck = cards.get(cardsPath);
+    if (deck == null || isStale(deck, cardDb)) {
+      long[] stamp = stamp(cardDb);
+      watch(cardsPath);
+      CardTable table = ConfigGame.readCardTable(cardDb);
+      deck = new Entry<>(stamp, new CardsEntry(table, table.toDeck().toArray(new ICard[0])));
+      cards.put(cardsPath, deck);
+    }
+
+    return new GameSetup(layout.value, deck.value.table, deck.value.cards);
+  }
+
+  /**
+   * Drops any cached entry for a file.
+   *
+   * @param file the board configuration or card database file
+   */
+  public synchronized void invalidate(File file) {
+    Path path = file.toPath().toAbsolutePath().normalize();
+    layouts.remove(path);
+    cards.remove(path);
+  }
+
+  /**
+   * Drops every cached entry.
+   */
+  public synchronized void clear() {
+    layouts.clear();
+    cards.clear();
+  }
+
+  /**
+   * Stops watching files, if file watching was enabled.
+   */
+  @Override
+  public void close() {
+    if (watcher != null) {
+      try {
+        watcher.close();
+      } catch (IOException e) {
+        // Nothing left to release.
+      }
+    }
+  }
+
+  /**
+   * Checks whether a cached entry no longer matches its file. Always false when watching files,
+   * since changed entries are removed by the watcher.
+   */
+  private boolean isStale(Entry<?> entry, File file) {
+    if (watcher != null) {
+      return false;
+    }
+    long[] current = stamp(file);
+    return current[0] != entry.modified || current[1] != entry.length;
+  }
+
+  private long[] stamp(File file) {
+    if (!file.isFile()) {
+      throw new IllegalArgumentException("Config file not found.");
+    }
+    return new long[]{file.lastModified(), file.length()};
+  }
+
+  /**
+   * Registers the directory of a cached file with the watch service, once per directory.
+   */
+  private void watch(Path file) {
+    Path directory = file.getParent();
+    if (watcher == null || directory == null || !watchedDirectories.add(directory)) {
+      return;
+    }
+    try {
+      directory.register(watcher, StandardWatchEventKinds.ENTRY_CREATE,
+          StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+    } catch (IOException e) {
+      watchedDirectories.remove(directory);
+      throw new IllegalArgumentException("Cannot watch " + directory + ".", e);
+    }
+  }
+
+  /**
+   * Drops cached entries whose files change, until the cache is closed.
+   */
+  private void processFileEvents() {
+    try {
+      while (true) {
+        WatchKey key = watcher.take();
+        Path directory = (Path) key.watchable();
+        for (WatchEvent<?> event : key.pollEvents()) {
+          if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+            clear();
+          } else {
+            Path changed = directory.resolve((Path) event.context());
+            invalidate(changed.toFile());
+          }
+        }
+        key.reset();
+      }
+    } catch (InterruptedException | ClosedWatchServiceException e) {
+      // The cache was closed.
+    }
+  }
+
+  private static <V> Map<Path, V> lruMap(int capacity) {
+    return new LinkedHashMap<>(capacity, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Path, V> eldest) {
+        return size() > capacity;
+      }
+    };
+  }
+
+  /**
+   * A cached value with the status of the file it was parsed from.
+   */
+  private static final class Entry<V> {
+    private final long modified;
+    private final long length;
+    private final V value;
+
+    private Entry(long[] stamp, V value) {
+      this.modified = stamp[0];
+      this.length = stamp[1];
+      this.value = value;
+    }
+  }
+
+  /**
+   * A parsed card database together with the shared card objects made from it.
+   */
+  private static final class CardsEntry {
+    private final CardTable table;
+    private final ICard[] cards;
+
+    private CardsEntry(CardTable table, ICard[] cards) {
+      this.table = table;
+      this.cards = cards;
+    }
+  }
+}
@@ -0,0 +1,125 @@
+package gameconfig;
+
+import card.CardTable;
+import card.CellTypeContents;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+
+/**
+ * Command-line tool that converts board configuration and card database files between the
+ * text formats read by {@link ConfigGame} and the binary formats of {@link BinaryGameFormat}.
+ *
+ * <p>Usage:</p>
+ * <pre>
+ *   java gameconfig.ConfigConverter board-to-binary docs/board.config board.bin
+ *   java gameconfig.ConfigConverter board-to-text board.bin board.config
+ *   java gameconfig.ConfigConverter cards-to-binary docs/card.database card.bin
+ *   java gameconfig.ConfigConverter cards-to-text card.bin card.database
+ * </pre>
+ * The input of each command may be in either format.
+ */
+public class ConfigConverter {
+
+  private static final String USAGE = "Usage: ConfigConverter "
+      + "(board-to-binary|board-to-text|cards-to-binary|cards-to-text) INPUT OUTPUT";
+
+  /**
+   * Runs the converter.
+   *
+   * @param args the command, the input file and the output file
+   */
+  public static void main(String[] args) {
+    if (args.length != 3) {
+      System.out.println(USAGE);
+      return;
+    }
+    File input = new File(args[1]);
+    File output = new File(args[2]);
+    ConfigConverter converter = new ConfigConverter();
+    switch (args[0].toLowerCase()) {
+      case "board-to-binary":
+        new BinaryGameFormat().writeBoard(converter.readBoard(input), output);
+        break;
+      case "board-to-text":
+        converter.writeBoardText(converter.readBoard(input), output);
+        break;
+      case "cards-to-binary":
+        new BinaryGameFormat().writeCards(converter.readCards(input), output);
+        break;
+      case "cards-to-text":
+        converter.writeCardsText(converter.readCards(input), output);
+        break;
+      default:
+        System.out.println(USAGE);
+    }
+  }
+
+  /**
+   * Reads a board in either format.
+   *
+   * @param file the board file
+   * @return the board layout
+   */
+  public CellTypeContents[][] readBoard(File file) {
+    return ConfigGame.readBoard(file);
+  }
+
+  /**
+   * Reads a card database in either format.
+   *
+   * @param file the card database file
+   * @return the cards of the database
+   */
+  public CardTable readCards(File file) {
+    return ConfigGame.readCardTable(file);
+  }
+
+  /**
+   * Writes a board layout in the text board configuration format.
+   *
+   * @param board the board layout
+   * @param file  the file to write
+   * @throws IllegalArgumentException if the file cannot be written
+   */
+  public void writeBoardText(CellTypeContents[][] board, File file) {
+    try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
+      writer.write(board.length + " " + board[0].length);
+      for (CellTypeContents[] row : board) {
+        writer.newLine();
+        for (CellTypeContents cell : row) {
+          writer.write(cell == CellTypeContents.HOLE ? 'X' : 'C');
+        }
+      }
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Error writing config file.", e);
+    }
+  }
+
+  /**
+   * Writes a card table in the text card database format.
+   *
+   * @param cards the cards to write
+   * @param file  the file to write
+   * @throws IllegalArgumentException if the file cannot be written
+   */
+  public void writeCardsText(CardTable cards, File file) {
+    try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
+      for (int card = 0; card < cards.size(); card++) {
+        if (card > 0) {
+          writer.newLine();
+        }
+        writer.write(cards.getName(card));
+        for (int side = 0; side < 4; side++) {
+          int value = cards.getValue(card, side);
+          writer.write(' ');
+          writer.write(value == 10 ? "A" : Integer.toString(value));
+        }
+      }
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Error writing card database file.", e);
+    }
+  }
+}
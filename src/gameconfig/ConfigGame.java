@@ -1,5 +1,6 @@
 package gameconfig;
 
+import card.CardTable;
 import card.CellTypeContents;
 import card.ICard;
 import card.CardImpl;
@@ -18,6 +19,9 @@ import java.util.ArrayList;
  * the layout of the board, including playable and non-playable cells, while the card database
  * file provides details for each card used in the game.
  *
+ * <p>Either file may also be in the binary format written by {@link BinaryGameFormat}; the
+ * format is detected from the file's header and both formats produce the same board and deck.</p>
+ *
  * <p>Usage:</p>
  * <pre>
  *   ConfigGame configGame = new ConfigGame("boardConfig.txt", "cardDB.txt");
@@ -50,6 +54,18 @@ public class ConfigGame {
     this.pathToCardDB = new File("docs" + File.separator + cardDb);
   }
 
+  /**
+   * Initializes the configuration for the game from files outside of the {@code docs}
+   * directory.
+   *
+   * @param board  the board configuration file
+   * @param cardDb the card database file
+   */
+  public ConfigGame(File board, File cardDb) {
+    this.pathToBoardConfig = board;
+    this.pathToCardDB = cardDb;
+  }
+
   /**
    * Retrieves the board setup as specified in the configuration file.
    *
@@ -58,7 +74,23 @@ public class ConfigGame {
    *                                  or there is an error while reading it
    */
   public CellTypeContents[][] getBoard() {
-    return configBoard();
+    return readBoard(pathToBoardConfig);
+  }
+
+  /**
+   * Reads a board configuration file in either format.
+   *
+   * @param file the board configuration file
+   * @return a 2D array of {@link CellTypeContents} representing the board layout
+   * @throws IllegalArgumentException if the file is missing, has invalid content, or there is
+   *                                  an error while reading it
+   */
+  static CellTypeContents[][] readBoard(File file) {
+    BinaryGameFormat binary = new BinaryGameFormat();
+    if (binary.isBinary(file)) {
+      return binary.readBoard(file);
+    }
+    return configBoard(file);
   }
 
   /**
@@ -69,20 +101,54 @@ public class ConfigGame {
    *                                  or there is an error while reading it
    */
   public ArrayList<ICard> getDeck() {
+    BinaryGameFormat binary = new BinaryGameFormat();
+    if (binary.isBinary(pathToCardDB)) {
+      return binary.readCards(pathToCardDB).toDeck();
+    }
     return configCards();
   }
 
+  /**
+   * Retrieves the cards of the card database file as a compact {@link CardTable}. The file is
+   * memory-mapped and parsed without creating a {@link CardImpl} or a string per card, which is
+   * much cheaper than {@link #getDeck()} for large databases.
+   *
+   * @return the cards of the database, in file order
+   * @throws IllegalArgumentException if the card database file is missing, has invalid content,
+   *                                  or there is an error while reading it
+   */
+  public CardTable getCardTable() {
+    return readCardTable(pathToCardDB);
+  }
+
+  /**
+   * Reads a card database file in either format as a {@link CardTable}.
+   *
+   * @param file the card database file
+   * @return the cards of the database, in file order
+   * @throws IllegalArgumentException if the file is missing, has invalid content, or there is
+   *                                  an error while reading it
+   */
+  static CardTable readCardTable(File file) {
+    BinaryGameFormat binary = new BinaryGameFormat();
+    if (binary.isBinary(file)) {
+      return binary.readCards(file);
+    }
+    return new MappedCardDatabaseLoader().load(file);
+  }
+
   /**
    * Reads the board configuration file to set up the board dimensions and initializes
    * the availability of each cell based on the content of the file.
    *
+   * @param file the board configuration file
    * @return a 2D array of {@link CellTypeContents} that represents the initial board configuration
    * @throws IllegalArgumentException if the configuration file is missing, has an invalid format,
    *                                  or cannot be read properly
    */
-  private CellTypeContents[][] configBoard() {
-    if (pathToBoardConfig.exists() && pathToBoardConfig.isFile()) {
-      try (BufferedReader reader = new BufferedReader(new FileReader(pathToBoardConfig))) {
+  private static CellTypeContents[][] configBoard(File file) {
+    if (file.exists() && file.isFile()) {
+      try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
         String firstLine = reader.readLine();
         if (firstLine != null) {
           String[] parts = firstLine.split("\\s+");
@@ -159,7 +225,7 @@ public class ConfigGame {
    * @return a 2D array of {@link CellTypeContents} indicating the type of each cell on the board
    * @throws IOException if there is an error reading the file or invalid content is encountered
    */
-  private CellTypeContents[][] configBoardAvailability(int numRows, int numColumns,
+  private static CellTypeContents[][] configBoardAvailability(int numRows, int numColumns,
                                                        BufferedReader reader)
       throws IOException {
     CellTypeContents[][] boardAvailability = new CellTypeContents[numRows][numColumns];
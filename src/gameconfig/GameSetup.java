@@ -0,0 +1,108 @@
+package gameconfig;
+
+import card.CardTable;
+import card.CellTypeContents;
+import card.ICard;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * An immutable, parsed board layout and card database that can be shared by any number of
+ * games. Creating a game from a setup only copies references: each call to {@link #newBoard()}
+ * clones the rows of the layout, since the model marks cells as it fills them, and each call
+ * to {@link #newDeck()} returns a new list of the same immutable card objects.
+ */
+public final class GameSetup {
+
+  private final CellTypeContents[][] layout;
+  private final CardTable cardTable;
+  private final ICard[] cards;
+
+  /**
+   * Constructs a {@code GameSetup} from a parsed layout and card table. The layout is copied.
+   *
+   * @param layout    the board layout
+   * @param cardTable the cards of the card database
+   */
+  public GameSetup(CellTypeContents[][] layout, CardTable cardTable) {
+    this(copy(layout), cardTable, cardTable.toDeck().toArray(new ICard[0]));
+  }
+
+  /**
+   * Constructs a {@code GameSetup} that shares already-built parts with another setup.
+   *
+   * @param layout    the board layout, not copied
+   * @param cardTable the cards of the card database
+   * @param cards     the card objects made from the table, not copied
+   */
+  GameSetup(CellTypeContents[][] layout, CardTable cardTable, ICard[] cards) {
+    this.layout = layout;
+    this.cardTable = cardTable;
+    this.cards = cards;
+  }
+
+  /**
+   * Returns a board a new game can mutate.
+   *
+   * @return a copy of the board layout
+   */
+  public CellTypeContents[][] newBoard() {
+    return copy(layout);
+  }
+
+  /**
+   * Returns a deck a new game can own. The list is new but the cards in it are shared.
+   *
+   * @return a new list of the shared cards
+   */
+  public ArrayList<ICard> newDeck() {
+    return new ArrayList<>(Arrays.asList(cards));
+  }
+
+  /**
+   * Returns the shared card table of this setup.
+   *
+   * @return the card table
+   */
+  public CardTable getCardTable() {
+    return cardTable;
+  }
+
+  /**
+   * Returns the number of rows of the board layout.
+   *
+   * @return the number of rows
+   */
+  public int getRows() {
+    return layout.length;
+  }
+
+  /**
+   * Returns the number of columns of the board layout.
+   *
+   * @return the number of columns
+   */
+  public int getColumns() {
+    return layout[0].length;
+  }
+
+  /**
+   * Returns the type of a cell of the board layout.
+   *
+   * @param row the row of the cell
+   * @param col the column of the cell
+   * @return the cell type
+   */
+  public CellTypeContents getCell(int row, int col) {
+    return layout[row][col];
+  }
+
+  private static CellTypeContents[][] copy(CellTypeContents[][] layout) {
+    CellTypeContents[][] copy = new CellTypeContents[layout.length][];
+    for (int row = 0; row < layout.length; row++) {
+      copy[row] = layout[row].clone();
+    }
+    return copy;
+  }
+}
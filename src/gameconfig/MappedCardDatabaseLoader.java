@@ -0,0 +1,149 @@
+package gameconfig;
+
+import card.CardTable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Loads a card database file straight into a {@link CardTable}. The file is memory-mapped and
+ * scanned byte by byte: there is no line reader, no regular expression and no {@link String}
+ * created per line, so the cost of loading is a single pass over the mapped bytes plus the
+ * growth of a few primitive arrays.
+ *
+ * <p>The accepted format is the same as {@link ConfigGame}'s: one card per line, given as
+ * {@code NAME NORTH EAST SOUTH WEST}, with each value written as {@code 1}-{@code 9} or
+ * {@code A}. Files larger than 2 GB are not supported.
+ */
+public class MappedCardDatabaseLoader {
+
+  private static final int INITIAL_CARDS = 64;
+
+  /**
+   * Loads the card database file into a card table.
+   *
+   * @param cardDb the card database file
+   * @return the cards of the file, in file order
+   * @throws IllegalArgumentException if the file is missing, empty, too large, has an invalid
+   *                                  format, or cannot be read
+   */
+  public CardTable load(File cardDb) {
+    if (!cardDb.exists() || !cardDb.isFile()) {
+      throw new IllegalArgumentException("Card database file not found.");
+    }
+    try (FileChannel channel = FileChannel.open(cardDb.toPath(), StandardOpenOption.READ)) {
+      long length = channel.size();
+      if (length == 0) {
+        throw new IllegalArgumentException("Card database file is empty.");
+      }
+      if (length > Integer.MAX_VALUE) {
+        throw new IllegalArgumentException("Card database file is too large to map.");
+      }
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+      return parse(buffer, (int) length);
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Error reading card database file.", e);
+    }
+  }
+
+  /**
+   * Parses the mapped bytes of a card database.
+   *
+   * @param buffer the mapped file
+   * @param length the number of bytes in the file
+   * @return the parsed card table
+   * @throws IllegalArgumentException if a line does not hold exactly a name and four values
+   */
+  private CardTable parse(MappedByteBuffer buffer, int length) {
+    int cards = 0;
+    byte[] sides = new byte[INITIAL_CARDS * 4];
+    int[] nameOffsets = new int[INITIAL_CARDS + 1];
+    byte[] nameBytes = new byte[INITIAL_CARDS * 16];
+    int nameLength = 0;
+
+    int pos = 0;
+    while (pos < length) {
+      // The name runs up to the first whitespace of the line.
+      int nameStart = pos;
+      while (pos < length && !isWhitespace(buffer.get(pos))) {
+        pos++;
+      }
+      if (pos == nameStart) {
+        throw new IllegalArgumentException("Invalid card database file format.");
+      }
+      if (cards * 4 == sides.length) {
+        sides = Arrays.copyOf(sides, sides.length * 2);
+        nameOffsets = Arrays.copyOf(nameOffsets, cards * 2 + 1);
+      }
+      int nameEnd = pos;
+      if (nameLength + (nameEnd - nameStart) > nameBytes.length) {
+        nameBytes = Arrays.copyOf(nameBytes,
+            Math.max(nameBytes.length * 2, nameLength + (nameEnd - nameStart)));
+      }
+      for (int i = nameStart; i < nameEnd; i++) {
+        nameBytes[nameLength++] = buffer.get(i);
+      }
+
+      // Then exactly four single-character values, each preceded by spaces or tabs.
+      for (int side = 0; side < 4; side++) {
+        int spaces = pos;
+        while (pos < length && isBlank(buffer.get(pos))) {
+          pos++;
+        }
+        if (pos == spaces || pos >= length) {
+          throw new IllegalArgumentException("Invalid card database file format.");
+        }
+        sides[cards * 4 + side] = determineDirectionValue(buffer.get(pos));
+        pos++;
+        if (pos < length && !isWhitespace(buffer.get(pos))) {
+          throw new IllegalArgumentException("Invalid card database file format.");
+        }
+      }
+
+      // Trailing spaces are allowed, anything else before the end of the line is not.
+      while (pos < length && isBlank(buffer.get(pos))) {
+        pos++;
+      }
+      if (pos < length && buffer.get(pos) == '\r') {
+        pos++;
+      }
+      if (pos < length) {
+        if (buffer.get(pos) != '\n') {
+          throw new IllegalArgumentException("Invalid card database file format.");
+        }
+        pos++;
+      }
+      cards++;
+      nameOffsets[cards] = nameLength;
+    }
+    return new CardTable(cards, sides, nameBytes, nameOffsets);
+  }
+
+  /**
+   * Converts the byte of a direction value to its numeric value.
+   *
+   * @param value the byte from the file
+   * @return the value from 1 to 10
+   * @throws IllegalArgumentException if the byte is not {@code 1}-{@code 9} or {@code A}
+   */
+  private byte determineDirectionValue(byte value) {
+    if (value >= '1' && value <= '9') {
+      return (byte) (value - '0');
+    } else if (value == 'A') {
+      return 10;
+    }
+    throw new IllegalArgumentException("Invalid direction value: " + (char) value);
+  }
+
+  private boolean isBlank(byte value) {
+    return value == ' ' || value == '\t';
+  }
+
+  private boolean isWhitespace(byte value) {
+    return isBlank(value) || value == '\r' || value == '\n';
+  }
+}
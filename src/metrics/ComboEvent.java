@@ -0,0 +1,69 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A Java Flight Recorder event for the combo cascade of one placement, whether made or only
+ * simulated. It is only begun when the placement flips a card and a recording has it
+ * enabled.
+ */
+@Name("threetrios.Combo")
+@Label("Combo")
+@Category("Three Trios")
+@Description("The cascade of battles started by the cards a placement flipped")
+public final class ComboEvent extends Event {
+
+  private static final ComboEvent PROBE = new ComboEvent();
+
+  @Label("Board Rows")
+  private int boardRows;
+
+  @Label("Board Columns")
+  private int boardColumns;
+
+  @Label("Initial Flips")
+  @Description("Cards flipped by the placement itself")
+  private int initialFlips;
+
+  @Label("Flips")
+  @Description("Cards flipped by the placement and its combo")
+  private int flips;
+
+  @Label("Depth")
+  @Description("Combo steps taken after the first flips")
+  private int depth;
+
+  /**
+   * Checks whether combo cascades are being recorded. The rule engine resolves many placements
+   * it does not make, so it only creates these events when this is {@code true}.
+   *
+   * @return {@code true} if a running recording has this event enabled
+   */
+  public static boolean isRecording() {
+    return PROBE.isEnabled();
+  }
+
+  /**
+   * Ends the event and commits it if it is being recorded.
+   *
+   * @param boardRows    the number of rows of the board
+   * @param boardColumns the number of columns of the board
+   * @param initialFlips the number of cards the placement flipped before the combo
+   * @param flips        the number of cards flipped in all
+   * @param depth        the number of combo steps taken
+   */
+  public void record(int boardRows, int boardColumns, int initialFlips, int flips, int depth) {
+    if (shouldCommit()) {
+      this.boardRows = boardRows;
+      this.boardColumns = boardColumns;
+      this.initialFlips = initialFlips;
+      this.flips = flips;
+      this.depth = depth;
+      commit();
+    }
+  }
+}
@@ -0,0 +1,243 @@
+package metrics;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics that keep running totals in memory, for a {@link MetricsReporter} or a
+ * {@link JmxExporter} to read. Counters are striped so threads playing different games do not
+ * contend on them.
+ */
+public class CountingMetrics implements GameMetrics {
+
+  /** Flip counts at or above this share the last bucket of the flip distribution. */
+  public static final int MAX_FLIP_BUCKET = 8;
+  /** Combo depths at or above this share the last bucket of the depth distribution. */
+  public static final int MAX_DEPTH_BUCKET = 16;
+
+  private final long startNanos = System.nanoTime();
+  private final LongAdder placements = new LongAdder();
+  private final LongAdder flips = new LongAdder();
+  private final LongAdder comboDepths = new LongAdder();
+  private final AtomicLongArray flipDistribution = new AtomicLongArray(MAX_FLIP_BUCKET + 1);
+  private final AtomicLongArray depthDistribution = new AtomicLongArray(MAX_DEPTH_BUCKET + 1);
+  private final LongAdder flipQueries = new LongAdder();
+  private final Timer observerDispatch = new Timer();
+  private final Map<String, Timer> decisions = new ConcurrentHashMap<>();
+
+  @Override
+  public void placement(int flips, int comboDepth) {
+    placements.increment();
+    this.flips.add(flips);
+    comboDepths.add(comboDepth);
+    flipDistribution.incrementAndGet(Math.min(flips, MAX_FLIP_BUCKET));
+    depthDistribution.incrementAndGet(Math.min(comboDepth, MAX_DEPTH_BUCKET));
+  }
+
+  @Override
+  public void flipQueries(int placements) {
+    flipQueries.add(placements);
+  }
+
+  @Override
+  public void decision(String strategy, long nanos) {
+    decisions.computeIfAbsent(strategy, name -> new Timer()).record(nanos);
+  }
+
+  @Override
+  public void observerDispatch(long nanos) {
+    observerDispatch.record(nanos);
+  }
+
+  /**
+   * Returns the time since these metrics were created.
+   *
+   * @return the elapsed time in nanoseconds
+   */
+  public long getElapsedNanos() {
+    return System.nanoTime() - startNanos;
+  }
+
+  /**
+   * Returns the number of cards placed.
+   *
+   * @return the placement count
+   */
+  public long getPlacements() {
+    return placements.sum();
+  }
+
+  /**
+   * Returns the number of cards flipped by all placements.
+   *
+   * @return the flip count
+   */
+  public long getFlips() {
+    return flips.sum();
+  }
+
+  /**
+   * Returns the sum of the combo depths of all placements.
+   *
+   * @return the total combo depth
+   */
+  public long getComboDepths() {
+    return comboDepths.sum();
+  }
+
+  /**
+   * Returns how many placements flipped each number of cards.
+   *
+   * @return the counts, indexed by flips, the last counting that many or more
+   */
+  public long[] getFlipDistribution() {
+    return toArray(flipDistribution);
+  }
+
+  /**
+   * Returns how many placements reached each combo depth.
+   *
+   * @return the counts, indexed by depth, the last counting that deep or deeper
+   */
+  public long[] getComboDepthDistribution() {
+    return toArray(depthDistribution);
+  }
+
+  /**
+   * Returns the number of placements resolved without being made.
+   *
+   * @return the flip query count
+   */
+  public long getFlipQueries() {
+    return flipQueries.sum();
+  }
+
+  /**
+   * Returns the number of observer notifications timed.
+   *
+   * @return the dispatch count
+   */
+  public long getObserverDispatches() {
+    return observerDispatch.count.sum();
+  }
+
+  /**
+   * Returns the total time of observer notifications.
+   *
+   * @return the time in nanoseconds
+   */
+  public long getObserverDispatchNanos() {
+    return observerDispatch.nanos.sum();
+  }
+
+  /**
+   * Returns the longest observer notification.
+   *
+   * @return the time in nanoseconds
+   */
+  public long getMaxObserverDispatchNanos() {
+    return observerDispatch.max.get();
+  }
+
+  /**
+   * Returns the number of decisions made by each strategy.
+   *
+   * @return the counts by strategy name, sorted by name
+   */
+  public Map<String, Long> getDecisionCounts() {
+    Map<String, Long> counts = new TreeMap<>();
+    decisions.forEach((name, timer) -> counts.put(name, timer.count.sum()));
+    return counts;
+  }
+
+  /**
+   * Returns the total decision time of each strategy.
+   *
+   * @return the time in nanoseconds by strategy name, sorted by name
+   */
+  public Map<String, Long> getDecisionNanos() {
+    Map<String, Long> nanos = new TreeMap<>();
+    decisions.forEach((name, timer) -> nanos.put(name, timer.nanos.sum()));
+    return nanos;
+  }
+
+  /**
+   * Returns the longest decision of each strategy.
+   *
+   * @return the time in nanoseconds by strategy name, sorted by name
+   */
+  public Map<String, Long> getMaxDecisionNanos() {
+    Map<String, Long> nanos = new TreeMap<>();
+    decisions.forEach((name, timer) -> nanos.put(name, timer.max.get()));
+    return nanos;
+  }
+
+  /**
+   * Describes the totals on one line.
+   *
+   * @return a human-readable summary
+   */
+  public String summary() {
+    long placed = getPlacements();
+    StringBuilder text = new StringBuilder(String.format(Locale.ROOT,
+        "placements %d, flips/placement %.2f, combo depth mean %.2f max %d,"
+            + " flip queries/placement %.1f, observer dispatch mean %.1f us max %.1f us",
+        placed, ratio(getFlips(), placed), ratio(getComboDepths(), placed),
+        deepest(getComboDepthDistribution()), ratio(getFlipQueries(), placed),
+        ratio(getObserverDispatchNanos(), getObserverDispatches()) / 1e3,
+        getMaxObserverDispatchNanos() / 1e3));
+    Map<String, Long> counts = getDecisionCounts();
+    Map<String, Long> nanos = getDecisionNanos();
+    Map<String, Long> max = getMaxDecisionNanos();
+    for (Map.Entry<String, Long> entry : counts.entrySet()) {
+      String name = entry.getKey();
+      text.append(String.format(Locale.ROOT, ", %s %d decisions mean %.1f us max %.1f us",
+          name, entry.getValue(), ratio(nanos.get(name), entry.getValue()) / 1e3,
+          max.get(name) / 1e3));
+    }
+    return text.toString();
+  }
+
+  private static double ratio(long total, long count) {
+    return count == 0 ? 0 : (double) total / count;
+  }
+
+  private static int deepest(long[] distribution) {
+    for (int i = distribution.length - 1; i > 0; i--) {
+      if (distribution[i] > 0) {
+        return i;
+      }
+    }
+    return 0;
+  }
+
+  private static long[] toArray(AtomicLongArray counts) {
+    long[] copy = new long[counts.length()];
+    for (int i = 0; i < copy.length; i++) {
+      copy[i] = counts.get(i);
+    }
+    return copy;
+  }
+
+  /**
+   * A count, total and maximum of durations.
+   */
+  private static final class Timer {
+    private final LongAdder count = new LongAdder();
+    private final LongAdder nanos = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    private void record(long duration) {
+      count.increment();
+      nanos.add(duration);
+      if (duration > max.get()) {
+        max.accumulateAndGet(duration, Math::max);
+      }
+    }
+  }
+}
@@ -0,0 +1,84 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A Java Flight Recorder event for one move chosen by a machine player's strategy. It is only
+ * begun when a recording has it enabled.
+ */
+@Name("threetrios.Decision")
+@Label("AI Decision")
+@Category("Three Trios")
+@Description("A move chosen by a strategy")
+public final class DecisionEvent extends Event {
+
+  private static final DecisionEvent PROBE = new DecisionEvent();
+
+  @Label("Strategy")
+  private String strategy;
+
+  @Label("Player")
+  private String player;
+
+  @Label("Board Rows")
+  private int boardRows;
+
+  @Label("Board Columns")
+  private int boardColumns;
+
+  @Label("Hand Size")
+  private int handSize;
+
+  @Label("Row")
+  @Description("The row chosen, or -1 if the strategy found no move")
+  private int row;
+
+  @Label("Column")
+  @Description("The column chosen, or -1 if the strategy found no move")
+  private int column;
+
+  @Label("Card Index")
+  @Description("The card of the hand chosen, or -1 if the strategy found no move")
+  private int cardIndex;
+
+  /**
+   * Checks whether decisions are being recorded. Machine players only create these events when
+   * this is {@code true}.
+   *
+   * @return {@code true} if a running recording has this event enabled
+   */
+  public static boolean isRecording() {
+    return PROBE.isEnabled();
+  }
+
+  /**
+   * Ends the event and commits it if it is being recorded.
+   *
+   * @param strategy     the name of the strategy
+   * @param player       the color of the player choosing
+   * @param boardRows    the number of rows of the board
+   * @param boardColumns the number of columns of the board
+   * @param handSize     the number of cards the player could choose from
+   * @param row          the row chosen, or -1
+   * @param column       the column chosen, or -1
+   * @param cardIndex    the card chosen, or -1
+   */
+  public void record(String strategy, String player, int boardRows, int boardColumns,
+                     int handSize, int row, int column, int cardIndex) {
+    if (shouldCommit()) {
+      this.strategy = strategy;
+      this.player = player;
+      this.boardRows = boardRows;
+      this.boardColumns = boardColumns;
+      this.handSize = handSize;
+      this.row = row;
+      this.column = column;
+      this.cardIndex = cardIndex;
+      commit();
+    }
+  }
+}
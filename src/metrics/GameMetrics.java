@@ -0,0 +1,83 @@
+package metrics;
+
+/**
+ * Receives measurements from the hot paths of the game: placements, flip queries, machine
+ * players' decisions and observer notifications. The instance in use is chosen with
+ * {@link Metrics#install}; until one is installed every measurement goes to {@link #NONE},
+ * which does nothing and tells callers not to take timestamps, so an uninstrumented game pays
+ * for one field read and an untaken branch per event.
+ *
+ * <p>Implementations are called from every thread that plays games and must be thread-safe.</p>
+ */
+public interface GameMetrics {
+
+  /**
+   * The metrics that record nothing.
+   */
+  GameMetrics NONE = new GameMetrics() {
+    @Override
+    public boolean isEnabled() {
+      return false;
+    }
+
+    @Override
+    public void placement(int flips, int comboDepth) {
+      // Not recorded.
+    }
+
+    @Override
+    public void flipQueries(int placements) {
+      // Not recorded.
+    }
+
+    @Override
+    public void decision(String strategy, long nanos) {
+      // Not recorded.
+    }
+
+    @Override
+    public void observerDispatch(long nanos) {
+      // Not recorded.
+    }
+  };
+
+  /**
+   * Checks whether measurements are recorded, so callers can skip timing work when not.
+   *
+   * @return {@code true} unless this is {@link #NONE}
+   */
+  default boolean isEnabled() {
+    return true;
+  }
+
+  /**
+   * Records a card placed on the board.
+   *
+   * @param flips      the number of cards it flipped, combos included
+   * @param comboDepth the number of combo steps after the first flips, 0 if none
+   */
+  void placement(int flips, int comboDepth);
+
+  /**
+   * Records placements resolved without being made, as {@code calculateFlips} does.
+   *
+   * @param placements the number of placements resolved by one call
+   */
+  void flipQueries(int placements);
+
+  /**
+   * Records a machine player choosing a move.
+   *
+   * @param strategy the name of the strategy that chose
+   * @param nanos    the time the choice took
+   */
+  void decision(String strategy, long nanos);
+
+  /**
+   * Records the model notifying its observers of one event.
+   *
+   * @param nanos the time all observers took, leaving out cards they placed meanwhile, whose
+   *              own notifications are recorded separately
+   */
+  void observerDispatch(long nanos);
+}
@@ -0,0 +1,79 @@
+package metrics;
+
+import java.util.Map;
+
+/**
+ * The game metrics as seen by JMX clients such as JConsole. Times are in nanoseconds.
+ */
+public interface GameMetricsMXBean {
+
+  /**
+   * Returns the number of cards placed.
+   *
+   * @return the placement count
+   */
+  long getPlacements();
+
+  /**
+   * Returns the average placement rate since the metrics were created.
+   *
+   * @return placements per second
+   */
+  double getPlacementsPerSecond();
+
+  /**
+   * Returns the mean number of cards a placement flipped.
+   *
+   * @return flips per placement
+   */
+  double getFlipsPerPlacement();
+
+  /**
+   * Returns how many placements flipped each number of cards.
+   *
+   * @return the counts, indexed by flips
+   */
+  long[] getFlipDistribution();
+
+  /**
+   * Returns how many placements reached each combo depth.
+   *
+   * @return the counts, indexed by depth
+   */
+  long[] getComboDepthDistribution();
+
+  /**
+   * Returns the mean number of placements resolved without being made per placement made.
+   *
+   * @return flip queries per placement
+   */
+  double getFlipQueriesPerPlacement();
+
+  /**
+   * Returns the mean time of notifying a model's observers of one event.
+   *
+   * @return the mean dispatch time
+   */
+  double getMeanObserverDispatchNanos();
+
+  /**
+   * Returns the longest time of notifying a model's observers of one event.
+   *
+   * @return the longest dispatch time
+   */
+  long getMaxObserverDispatchNanos();
+
+  /**
+   * Returns the number of decisions made by each strategy.
+   *
+   * @return the counts by strategy name
+   */
+  Map<String, Long> getDecisionCounts();
+
+  /**
+   * Returns the mean decision time of each strategy.
+   *
+   * @return the mean times by strategy name
+   */
+  Map<String, Long> getMeanDecisionNanos();
+}
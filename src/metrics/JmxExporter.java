@@ -0,0 +1,137 @@
+package metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Publishes a {@link CountingMetrics} on the platform MBean server, so its values can be read
+ * by JConsole, VisualVM or any JMX agent while games run. Values are read when asked for.
+ */
+public class JmxExporter implements GameMetricsMXBean, AutoCloseable {
+
+  /** The name the metrics are published under unless another is given. */
+  public static final String DEFAULT_NAME = "threetrios:type=GameMetrics";
+
+  private final CountingMetrics metrics;
+  private final ObjectName name;
+  private final MBeanServer server;
+
+  /**
+   * Constructs a {@code JmxExporter} publishing under {@link #DEFAULT_NAME}.
+   *
+   * @param metrics the metrics to publish
+   * @throws IllegalArgumentException if the metrics are null
+   * @throws IllegalStateException    if the name is taken or cannot be registered
+   */
+  public JmxExporter(CountingMetrics metrics) {
+    this(metrics, DEFAULT_NAME);
+  }
+
+  /**
+   * Constructs a {@code JmxExporter}.
+   *
+   * @param metrics the metrics to publish
+   * @param name    the object name to publish under
+   * @throws IllegalArgumentException if an argument is null or the name is malformed
+   * @throws IllegalStateException    if the name is taken or cannot be registered
+   */
+  public JmxExporter(CountingMetrics metrics, String name) {
+    if (metrics == null || name == null) {
+      throw new IllegalArgumentException("Arguments cannot be null");
+    }
+    this.metrics = metrics;
+    this.server = ManagementFactory.getPlatformMBeanServer();
+    try {
+      this.name = new ObjectName(name);
+    } catch (JMException e) {
+      throw new IllegalArgumentException("Invalid object name: " + name, e);
+    }
+    try {
+      server.registerMBean(this, this.name);
+    } catch (JMException e) {
+      throw new IllegalStateException("Could not register " + name, e);
+    }
+  }
+
+  /**
+   * Returns the name the metrics are published under.
+   *
+   * @return the object name
+   */
+  public ObjectName getName() {
+    return name;
+  }
+
+  @Override
+  public long getPlacements() {
+    return metrics.getPlacements();
+  }
+
+  @Override
+  public double getPlacementsPerSecond() {
+    return metrics.getPlacements() / (metrics.getElapsedNanos() / 1e9);
+  }
+
+  @Override
+  public double getFlipsPerPlacement() {
+    long placements = metrics.getPlacements();
+    return placements == 0 ? 0 : (double) metrics.getFlips() / placements;
+  }
+
+  @Override
+  public long[] getFlipDistribution() {
+    return metrics.getFlipDistribution();
+  }
+
+  @Override
+  public long[] getComboDepthDistribution() {
+    return metrics.getComboDepthDistribution();
+  }
+
+  @Override
+  public double getFlipQueriesPerPlacement() {
+    long placements = metrics.getPlacements();
+    return placements == 0 ? 0 : (double) metrics.getFlipQueries() / placements;
+  }
+
+  @Override
+  public double getMeanObserverDispatchNanos() {
+    long dispatches = metrics.getObserverDispatches();
+    return dispatches == 0 ? 0 : (double) metrics.getObserverDispatchNanos() / dispatches;
+  }
+
+  @Override
+  public long getMaxObserverDispatchNanos() {
+    return metrics.getMaxObserverDispatchNanos();
+  }
+
+  @Override
+  public Map<String, Long> getDecisionCounts() {
+    return metrics.getDecisionCounts();
+  }
+
+  @Override
+  public Map<String, Long> getMeanDecisionNanos() {
+    Map<String, Long> counts = metrics.getDecisionCounts();
+    Map<String, Long> means = new TreeMap<>();
+    metrics.getDecisionNanos().forEach((strategy, nanos) ->
+        means.put(strategy, nanos / Math.max(1, counts.getOrDefault(strategy, 1L))));
+    return means;
+  }
+
+  /**
+   * Removes the metrics from the MBean server.
+   */
+  @Override
+  public void close() {
+    try {
+      server.unregisterMBean(name);
+    } catch (JMException e) {
+      // Already unregistered.
+    }
+  }
+}
@@ -0,0 +1,41 @@
+package metrics;
+
+/**
+ * Holds the {@link GameMetrics} the game reports to. The default is {@link GameMetrics#NONE}.
+ */
+public final class Metrics {
+
+  private static volatile GameMetrics current = GameMetrics.NONE;
+
+  private Metrics() {
+  }
+
+  /**
+   * Returns the metrics measurements should go to.
+   *
+   * @return the installed metrics, or {@link GameMetrics#NONE}
+   */
+  public static GameMetrics current() {
+    return current;
+  }
+
+  /**
+   * Sends all later measurements, from every thread, to the given metrics.
+   *
+   * @param metrics the metrics to install
+   * @throws IllegalArgumentException if the metrics are null
+   */
+  public static void install(GameMetrics metrics) {
+    if (metrics == null) {
+      throw new IllegalArgumentException("Metrics cannot be null; use GameMetrics.NONE.");
+    }
+    current = metrics;
+  }
+
+  /**
+   * Stops recording measurements.
+   */
+  public static void uninstall() {
+    current = GameMetrics.NONE;
+  }
+}
@@ -0,0 +1,70 @@
+package metrics;
+
+import java.io.PrintStream;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prints the totals of a {@link CountingMetrics} at a fixed period, with the placement rate
+ * since the previous report, on a daemon thread of its own.
+ */
+public class MetricsReporter implements AutoCloseable {
+
+  private final CountingMetrics metrics;
+  private final PrintStream out;
+  private final ScheduledExecutorService executor;
+  private long lastPlacements;
+  private long lastNanos;
+
+  /**
+   * Constructs a {@code MetricsReporter} and starts reporting.
+   *
+   * @param metrics the metrics to report
+   * @param period  the time between reports
+   * @param unit    the unit of the period
+   * @param out     where reports are printed
+   * @throws IllegalArgumentException if an argument is null or the period is not positive
+   */
+  public MetricsReporter(CountingMetrics metrics, long period, TimeUnit unit, PrintStream out) {
+    if (metrics == null || unit == null || out == null) {
+      throw new IllegalArgumentException("Arguments cannot be null");
+    }
+    if (period <= 0) {
+      throw new IllegalArgumentException("Period must be positive.");
+    }
+    this.metrics = metrics;
+    this.out = out;
+    this.lastPlacements = metrics.getPlacements();
+    this.lastNanos = System.nanoTime();
+    this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "metrics-reporter");
+      thread.setDaemon(true);
+      return thread;
+    });
+    executor.scheduleAtFixedRate(this::report, period, period, unit);
+  }
+
+  /**
+   * Prints one report now.
+   */
+  public synchronized void report() {
+    long now = System.nanoTime();
+    long placements = metrics.getPlacements();
+    double seconds = (now - lastNanos) / 1e9;
+    double rate = seconds > 0 ? (placements - lastPlacements) / seconds : 0;
+    out.println(String.format(Locale.ROOT, "[metrics] %.0f placements/s, %s", rate,
+        metrics.summary()));
+    lastPlacements = placements;
+    lastNanos = now;
+  }
+
+  /**
+   * Stops reporting.
+   */
+  @Override
+  public void close() {
+    executor.shutdownNow();
+  }
+}
@@ -0,0 +1,80 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A Java Flight Recorder event for one card placed by {@code placeCard}. Its duration covers
+ * the placement and its flips, but not the observers told of the next turn, so moves made by
+ * those observers are recorded as events of their own. It is only begun when a recording has
+ * it enabled.
+ */
+@Name("threetrios.Move")
+@Label("Move")
+@Category("Three Trios")
+@Description("A card placed on the board, with the cards it flipped")
+public final class MoveEvent extends Event {
+
+  private static final MoveEvent PROBE = new MoveEvent();
+
+  @Label("Player")
+  private String player;
+
+  @Label("Row")
+  private int row;
+
+  @Label("Column")
+  private int column;
+
+  @Label("Board Rows")
+  private int boardRows;
+
+  @Label("Board Columns")
+  private int boardColumns;
+
+  @Label("Flips")
+  @Description("Cards flipped by the placement and its combo")
+  private int flips;
+
+  @Label("Combo Depth")
+  @Description("Combo steps taken after the first flips")
+  private int comboDepth;
+
+  /**
+   * Checks whether moves are being recorded. The models only create these events when this is
+   * {@code true}, so placing a card allocates nothing for them otherwise.
+   *
+   * @return {@code true} if a running recording has this event enabled
+   */
+  public static boolean isRecording() {
+    return PROBE.isEnabled();
+  }
+
+  /**
+   * Ends the event and commits it if it is being recorded.
+   *
+   * @param player       the color of the player placing the card
+   * @param row          the row of the placed card
+   * @param column       the column of the placed card
+   * @param boardRows    the number of rows of the board
+   * @param boardColumns the number of columns of the board
+   * @param flips        the number of cards flipped
+   * @param comboDepth   the number of combo steps taken
+   */
+  public void record(String player, int row, int column, int boardRows, int boardColumns,
+                     int flips, int comboDepth) {
+    if (shouldCommit()) {
+      this.player = player;
+      this.row = row;
+      this.column = column;
+      this.boardRows = boardRows;
+      this.boardColumns = boardColumns;
+      this.flips = flips;
+      this.comboDepth = comboDepth;
+      commit();
+    }
+  }
+}
@@ -0,0 +1,62 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A Java Flight Recorder event for one flip criteria, such as Same or Plus, applied to the
+ * neighbors of a placed card. The battle is not recorded here: it is part of reading the
+ * neighbors, and its flips show up in the {@link MoveEvent}.
+ */
+@Name("threetrios.Rule")
+@Label("Rule Application")
+@Category("Three Trios")
+@Description("A flip criteria applied to the neighbors of a placed card")
+public final class RuleEvent extends Event {
+
+  private static final RuleEvent PROBE = new RuleEvent();
+
+  @Label("Rule")
+  private String rule;
+
+  @Label("Board Rows")
+  private int boardRows;
+
+  @Label("Board Columns")
+  private int boardColumns;
+
+  @Label("Flips")
+  @Description("Neighbors the rule flipped")
+  private int flips;
+
+  /**
+   * Checks whether rule applications are being recorded. The rule engine resolves many placements
+   * it does not make, so it only creates these events when this is {@code true}.
+   *
+   * @return {@code true} if a running recording has this event enabled
+   */
+  public static boolean isRecording() {
+    return PROBE.isEnabled();
+  }
+
+  /**
+   * Ends the event and commits it if it is being recorded.
+   *
+   * @param rule         the name of the rule
+   * @param boardRows    the number of rows of the board
+   * @param boardColumns the number of columns of the board
+   * @param flips        the number of neighbors the rule flipped
+   */
+  public void record(String rule, int boardRows, int boardColumns, int flips) {
+    if (shouldCommit()) {
+      this.rule = rule;
+      this.boardRows = boardRows;
+      this.boardColumns = boardColumns;
+      this.flips = flips;
+      commit();
+    }
+  }
+}
@@ -0,0 +1,131 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The symmetries of a board layout: the rotations and reflections of the board that map every
+ * hole onto a hole. They are a subgroup of the eight symmetries of a square, and include the
+ * quarter turns and diagonal reflections only when the board is square. Symmetry 0 is always
+ * the identity.
+ *
+ * <p>A symmetry moves cells and turns directions with them, so a card placed under a symmetry
+ * has its values turned the same way: the value it showed in a direction it shows in the image
+ * of that direction. Applied to the cells and to the cards together, a symmetry maps every game
+ * on the layout onto an equivalent one, with the same battles and flips.
+ */
+public final class BoardSymmetry {
+
+  private final int[][] cells;
+  private final int[][] directions;
+  private final int[] inverses;
+
+  /**
+   * Finds the symmetries of a layout.
+   *
+   * @param rows    the number of rows of the board
+   * @param columns the number of columns of the board
+   * @param holes   whether each cell, numbered row by row, is a hole
+   */
+  BoardSymmetry(int rows, int columns, boolean[] holes) {
+    List<int[]> cellMaps = new ArrayList<>();
+    List<int[]> directionMaps = new ArrayList<>();
+    // Each candidate transposes the board or not, then mirrors its rows, its columns or both.
+    // The identity comes first.
+    for (int transform = 0; transform < 8; transform++) {
+      boolean transpose = (transform & 4) != 0;
+      boolean mirrorRows = (transform & 2) != 0;
+      boolean mirrorColumns = (transform & 1) != 0;
+      if (transpose && rows != columns) {
+        continue;
+      }
+      int[] image = new int[rows * columns];
+      boolean symmetric = true;
+      for (int cell = 0; cell < image.length && symmetric; cell++) {
+        int row = transpose ? cell % columns : cell / columns;
+        int col = transpose ? cell / columns : cell % columns;
+        row = mirrorRows ? rows - 1 - row : row;
+        col = mirrorColumns ? columns - 1 - col : col;
+        image[cell] = row * columns + col;
+        symmetric = holes[cell] == holes[image[cell]];
+      }
+      if (symmetric) {
+        cellMaps.add(image);
+        directionMaps.add(directionImages(transpose, mirrorRows, mirrorColumns));
+      }
+    }
+    this.cells = cellMaps.toArray(new int[0][]);
+    this.directions = directionMaps.toArray(new int[0][]);
+    this.inverses = new int[cells.length];
+    for (int symmetry = 0; symmetry < cells.length; symmetry++) {
+      int[] inverse = new int[rows * columns];
+      for (int cell = 0; cell < inverse.length; cell++) {
+        inverse[cells[symmetry][cell]] = cell;
+      }
+      for (int other = 0; other < cells.length; other++) {
+        if (Arrays.equals(inverse, cells[other])) {
+          inverses[symmetry] = other;
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns the image of each direction, by ordinal, under a transform. Transposing swaps north
+   * with west and south with east, and mirroring rows or columns swaps opposite directions.
+   */
+  private static int[] directionImages(boolean transpose, boolean mirrorRows,
+                                       boolean mirrorColumns) {
+    int[] images = new int[4];
+    for (int direction = 0; direction < 4; direction++) {
+      int image = transpose ? 3 - direction : direction;
+      if (mirrorRows && image % 2 == 0 || mirrorColumns && image % 2 == 1) {
+        image = BoardTopology.opposite(image);
+      }
+      images[direction] = image;
+    }
+    return images;
+  }
+
+  /**
+   * Returns the number of symmetries of the layout, counting the identity.
+   *
+   * @return from 1 to 8
+   */
+  public int size() {
+    return cells.length;
+  }
+
+  /**
+   * Returns the image of a cell under a symmetry.
+   *
+   * @param symmetry the symmetry, from 0 to {@link #size()} - 1
+   * @param cell     the cell number
+   * @return the number of the cell it maps to
+   */
+  public int cell(int symmetry, int cell) {
+    return cells[symmetry][cell];
+  }
+
+  /**
+   * Returns the image of a direction under a symmetry.
+   *
+   * @param symmetry  the symmetry, from 0 to {@link #size()} - 1
+   * @param direction the ordinal of a direction
+   * @return the ordinal of the direction it maps to
+   */
+  public int direction(int symmetry, int direction) {
+    return directions[symmetry][direction];
+  }
+
+  /**
+   * Returns the symmetry that undoes a symmetry.
+   *
+   * @param symmetry the symmetry, from 0 to {@link #size()} - 1
+   * @return the inverse symmetry
+   */
+  public int inverse(int symmetry) {
+    return inverses[symmetry];
+  }
+}
@@ -0,0 +1,272 @@
+package model;
+
+import card.CellTypeContents;
+import card.Direction;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The fixed shape of a board: which cells are holes and which cells border each other. The
+ * shape never changes during a game, so it is computed once per layout and shared by the model,
+ * the flip rules and the strategies instead of each of them stepping through direction offsets
+ * and bounds checks on every call.
+ *
+ * <p>Cells are numbered row by row, {@code row * columns + column}. The neighbor of a cell in a
+ * direction is looked up by the {@link Direction#ordinal() ordinal} of the direction, and is
+ * {@link #NONE} past the edge of the board or across a hole. A cell's exposed directions are
+ * those with a neighbor, as a bit mask with bit {@code 1 << ordinal} set per direction. The
+ * {@link BoardSymmetry symmetries} of the layout are found along with the neighbors.
+ *
+ * <p>Topologies are immutable and interned: {@link #of(CellTypeContents[][])} returns the same
+ * instance for boards with the same dimensions and holes, for the most recently used layouts.
+ */
+public final class BoardTopology {
+
+  /** The neighbor of a cell at the edge of the board or next to a hole. */
+  public static final int NONE = -1;
+
+  private static final int CACHE_SIZE = 16;
+  private static final int[] ROW_STEP = {-1, 0, 1, 0};
+  private static final int[] COL_STEP = {0, 1, 0, -1};
+
+  private static final Map<LayoutKey, BoardTopology> INTERNED = Collections.synchronizedMap(
+      new LinkedHashMap<>(CACHE_SIZE, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<LayoutKey, BoardTopology> eldest) {
+          return size() > CACHE_SIZE;
+        }
+      });
+
+  private final int rows;
+  private final int columns;
+  private final boolean[] holes;
+  private final int[] neighbors;
+  private final int[] exposed;
+  private final int[] playableCells;
+  private final BoardSymmetry symmetry;
+
+  private BoardTopology(int rows, int columns, boolean[] holes) {
+    this.rows = rows;
+    this.columns = columns;
+    this.holes = holes;
+    int cellCount = rows * columns;
+    this.neighbors = new int[cellCount * 4];
+    this.exposed = new int[cellCount];
+    int playable = 0;
+    for (int cell = 0; cell < cellCount; cell++) {
+      int row = cell / columns;
+      int col = cell % columns;
+      for (int direction = 0; direction < 4; direction++) {
+        int adjRow = row + ROW_STEP[direction];
+        int adjCol = col + COL_STEP[direction];
+        int neighbor = NONE;
+        if (!holes[cell] && adjRow >= 0 && adjRow < rows && adjCol >= 0 && adjCol < columns
+            && !holes[adjRow * columns + adjCol]) {
+          neighbor = adjRow * columns + adjCol;
+          exposed[cell] |= 1 << direction;
+        }
+        neighbors[cell * 4 + direction] = neighbor;
+      }
+      if (!holes[cell]) {
+        playable++;
+      }
+    }
+    this.playableCells = new int[playable];
+    int index = 0;
+    for (int cell = 0; cell < cellCount; cell++) {
+      if (!holes[cell]) {
+        playableCells[index++] = cell;
+      }
+    }
+    this.symmetry = new BoardSymmetry(rows, columns, holes);
+  }
+
+  /**
+   * Returns the topology of a board layout. Only holes matter; whether other cells are empty
+   * or hold a card does not.
+   *
+   * @param layout the board layout
+   * @return the shared topology of the layout
+   */
+  public static BoardTopology of(CellTypeContents[][] layout) {
+    int rows = layout.length;
+    int columns = layout[0].length;
+    boolean[] holes = new boolean[rows * columns];
+    for (int row = 0; row < rows; row++) {
+      for (int col = 0; col < columns; col++) {
+        holes[row * columns + col] = layout[row][col] == CellTypeContents.HOLE;
+      }
+    }
+    LayoutKey key = new LayoutKey(rows, columns, holes);
+    BoardTopology topology = INTERNED.get(key);
+    if (topology == null) {
+      topology = new BoardTopology(rows, columns, holes);
+      INTERNED.put(key, topology);
+    }
+    return topology;
+  }
+
+  /**
+   * Returns the number of rows of the board.
+   *
+   * @return the number of rows
+   */
+  public int getRows() {
+    return rows;
+  }
+
+  /**
+   * Returns the number of columns of the board.
+   *
+   * @return the number of columns
+   */
+  public int getColumns() {
+    return columns;
+  }
+
+  /**
+   * Returns the number of cells of the board, holes included.
+   *
+   * @return rows times columns
+   */
+  public int getCellCount() {
+    return rows * columns;
+  }
+
+  /**
+   * Returns the number of a cell.
+   *
+   * @param row the row of the cell
+   * @param col the column of the cell
+   * @return the cell number
+   */
+  public int cell(int row, int col) {
+    return row * columns + col;
+  }
+
+  /**
+   * Returns the row of a cell.
+   *
+   * @param cell the cell number
+   * @return its row
+   */
+  public int rowOf(int cell) {
+    return cell / columns;
+  }
+
+  /**
+   * Returns the column of a cell.
+   *
+   * @param cell the cell number
+   * @return its column
+   */
+  public int columnOf(int cell) {
+    return cell % columns;
+  }
+
+  /**
+   * Returns the neighbor of a cell in a direction.
+   *
+   * @param cell      the cell number
+   * @param direction the ordinal of the direction
+   * @return the neighboring cell number, or {@link #NONE} at an edge or hole
+   */
+  public int neighbor(int cell, int direction) {
+    return neighbors[cell * 4 + direction];
+  }
+
+  /**
+   * Returns the directions in which a cell has a neighbor.
+   *
+   * @param cell the cell number
+   * @return a mask with bit {@code 1 << ordinal} set for each direction with a neighbor
+   */
+  public int exposedDirections(int cell) {
+    return exposed[cell];
+  }
+
+  /**
+   * Checks whether a cell is a hole.
+   *
+   * @param cell the cell number
+   * @return {@code true} if no card can ever be placed on the cell
+   */
+  public boolean isHole(int cell) {
+    return holes[cell];
+  }
+
+  /**
+   * Returns the number of cells that are not holes.
+   *
+   * @return the number of playable cells
+   */
+  public int getPlayableCellCount() {
+    return playableCells.length;
+  }
+
+  /**
+   * Returns a cell that is not a hole, in row-major order.
+   *
+   * @param index the position of the cell among the playable cells
+   * @return the cell number
+   */
+  public int playableCell(int index) {
+    return playableCells[index];
+  }
+
+  /**
+   * Returns the rotations and reflections that map the layout onto itself.
+   *
+   * @return the symmetries of the layout
+   */
+  public BoardSymmetry getSymmetry() {
+    return symmetry;
+  }
+
+  /**
+   * Returns the ordinal of the opposite of a direction.
+   *
+   * @param direction the ordinal of a direction
+   * @return the ordinal of the opposite direction
+   */
+  public static int opposite(int direction) {
+    return direction ^ 2;
+  }
+
+  /**
+   * Identifies a layout by its dimensions and holes.
+   */
+  private static final class LayoutKey {
+    private final int rows;
+    private final int columns;
+    private final boolean[] holes;
+    private final int hash;
+
+    private LayoutKey(int rows, int columns, boolean[] holes) {
+      this.rows = rows;
+      this.columns = columns;
+      this.holes = holes;
+      this.hash = (rows * 31 + columns) * 31 + Arrays.hashCode(holes);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof LayoutKey)) {
+        return false;
+      }
+      LayoutKey other = (LayoutKey) o;
+      return rows == other.rows && columns == other.columns && Arrays.equals(holes, other.holes);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+  }
+}
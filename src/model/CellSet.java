@@ -0,0 +1,100 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * A set of cells of one board, numbered as in its {@link BoardTopology}. The members are kept
+ * in a dense array alongside the position of each cell in it, so adding, removing and testing
+ * a cell take constant time, and the members can be walked by index without allocating. The
+ * order of the members is not the board order: removing a cell moves the last member into its
+ * place.
+ */
+public final class CellSet {
+
+  private static final int ABSENT = -1;
+
+  private final int[] members;
+  private final int[] positions;
+  private int size;
+
+  /**
+   * Constructs an empty {@code CellSet}.
+   *
+   * @param cellCount the number of cells of the board
+   * @throws IllegalArgumentException if the cell count is negative
+   */
+  public CellSet(int cellCount) {
+    if (cellCount < 0) {
+      throw new IllegalArgumentException("Cell count cannot be negative.");
+    }
+    this.members = new int[cellCount];
+    this.positions = new int[cellCount];
+    Arrays.fill(positions, ABSENT);
+  }
+
+  /**
+   * Adds a cell to the set.
+   *
+   * @param cell the cell to add
+   * @return {@code true} if the cell was not already in the set
+   */
+  public boolean add(int cell) {
+    if (positions[cell] != ABSENT) {
+      return false;
+    }
+    positions[cell] = size;
+    members[size++] = cell;
+    return true;
+  }
+
+  /**
+   * Removes a cell from the set.
+   *
+   * @param cell the cell to remove
+   * @return {@code true} if the cell was in the set
+   */
+  public boolean remove(int cell) {
+    int position = positions[cell];
+    if (position == ABSENT) {
+      return false;
+    }
+    int last = members[--size];
+    members[position] = last;
+    positions[last] = position;
+    positions[cell] = ABSENT;
+    return true;
+  }
+
+  /**
+   * Checks whether a cell is in the set.
+   *
+   * @param cell the cell to check
+   * @return {@code true} if the cell is a member
+   */
+  public boolean contains(int cell) {
+    return cell >= 0 && cell < positions.length && positions[cell] != ABSENT;
+  }
+
+  /**
+   * Returns the number of cells in the set.
+   *
+   * @return the size of the set
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns a member of the set.
+   *
+   * @param index the index of the member, from 0 to {@link #size()} - 1
+   * @return the cell at that index
+   * @throws IndexOutOfBoundsException if the index is out of range
+   */
+  public int get(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("No member at index " + index + ".");
+    }
+    return members[index];
+  }
+}
@@ -0,0 +1,69 @@
+package model;
+
+import card.Direction;
+import card.DirectionValue;
+import card.ICard;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Validates that a deck does not contain duplicate cards, in a single pass over the deck.
+ * A duplicate is a card name that appears with two different sets of directional values.
+ */
+public class DeckValidator {
+
+  /**
+   * Checks that the deck does not contain duplicate cards.
+   *
+   * @param deck the deck to check
+   * @throws IllegalArgumentException if duplicate cards are found, listing every duplicated name
+   */
+  public void checkNoDuplicates(List<ICard> deck) {
+    List<String> duplicates = findDuplicateNames(deck);
+    if (!duplicates.isEmpty()) {
+      throw new IllegalArgumentException("Cannot have duplicate cards: "
+          + String.join(", ", duplicates));
+    }
+  }
+
+  /**
+   * Finds every card name that appears in the deck with two different sets of values, in the
+   * order the duplicates are first found.
+   *
+   * @param deck the deck to check
+   * @return an unmodifiable list of the duplicated names, empty if there are none
+   */
+  public List<String> findDuplicateNames(List<ICard> deck) {
+    Map<String, ICard> cardsByName = new HashMap<>(deck.size() * 2);
+    Set<String> duplicates = new LinkedHashSet<>();
+    for (ICard card : deck) {
+      ICard previous = cardsByName.putIfAbsent(card.getName(), card);
+      // Values are only compared when two cards share a name.
+      if (previous != null && packValues(previous) != packValues(card)) {
+        duplicates.add(card.getName());
+      }
+    }
+    return Collections.unmodifiableList(new ArrayList<>(duplicates));
+  }
+
+  /**
+   * Packs the four directional values of a card into one integer, four bits per direction.
+   *
+   * @param card the card
+   * @return the packed values
+   */
+  private int packValues(ICard card) {
+    Map<Direction, DirectionValue> values = card.getDirectionsAndValues();
+    int packed = 0;
+    for (Direction direction : Direction.values()) {
+      packed = (packed << 4) | values.get(direction).getValue();
+    }
+    return packed;
+  }
+}
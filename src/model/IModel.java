@@ -53,12 +53,24 @@ public interface IModel extends ReadOnlyIModel {
    */
   void startGame();
 
-  boolean isCellEmpty(int row, int col);
-
   void setVariantRule(CardComparisonStrategy variantRule);
 
   void setCardComparisonStrategy(CardComparisonStrategy strategy);
 
   void setFlipCriteria(ICriteria criteria);
 
+  /**
+   * Returns the strategy used to decide battles between adjacent cards.
+   *
+   * @return the card comparison strategy
+   */
+  CardComparisonStrategy getCardComparisonStrategy();
+
+  /**
+   * Returns the additional flip criteria applied when a card is placed, if any.
+   *
+   * @return the flip criteria, or {@code null} if only battles flip cards
+   */
+  ICriteria getFlipCriteria();
+
 }
@@ -5,8 +5,10 @@ import card.CellTypeContents;
 import card.Direction;
 import card.ICard;
 import cardcomparison.CardComparisonStrategy;
+import cardcomparison.NormalComparisonStrategy;
 import controller.ModelObserver;
 import flipcriteria.ICriteria;
+import metrics.MoveEvent;
 import player.IPlayer;
 import player.PlayerColor;
 import player.PlayerImpl;
@@ -14,9 +16,6 @@ import player.PlayerImpl;
 import java.util.ArrayList;
 import java.util.List;
 
-import static java.util.Arrays.asList;
-import static java.util.Collections.frequency;
-
 /**
  * The {@code ModelImpl} class implements the {@link IModel} interface, representing the game
  * model. It handles game setup, board configuration, and manages game state and player actions.
@@ -37,8 +36,13 @@ import static java.util.Collections.frequency;
  */
 public class ModelImpl implements IModel {
 
+  private static final Direction[] DIRECTIONS = Direction.values();
+
   private final CellTypeContents[][] boardAvailability;
   private final ICard[][] boardWithCards;
+  private final BoardTopology topology;
+  private final CellSet emptyCells;
+  private final CellSet frontierCells;
   private final ArrayList<ICard> deck;
   private final IPlayer redPlayer;
   private final IPlayer bluePlayer;
@@ -48,6 +52,8 @@ public class ModelImpl implements IModel {
   private IPlayer currentPlayer;
   private IPlayer playerPlacing;
   private int cardIndexToPlace;
+  private int moveFlips;
+  private int moveComboDepth;
 
   private final List<ModelObserver> observers = new ArrayList<>();
 
@@ -61,6 +67,21 @@ public class ModelImpl implements IModel {
   public ModelImpl(CellTypeContents[][] board, ArrayList<ICard> deck, ArrayList<IPlayer> players) {
     this.boardAvailability = board;
     this.boardWithCards = new ICard[board.length][board[0].length];
+    this.topology = BoardTopology.of(board);
+    this.emptyCells = new CellSet(topology.getCellCount());
+    this.frontierCells = new CellSet(topology.getCellCount());
+    for (int i = 0; i < topology.getPlayableCellCount(); i++) {
+      int cell = topology.playableCell(i);
+      if (board[topology.rowOf(cell)][topology.columnOf(cell)] == CellTypeContents.EMPTY) {
+        emptyCells.add(cell);
+      }
+    }
+    for (int i = 0; i < topology.getPlayableCellCount(); i++) {
+      int cell = topology.playableCell(i);
+      if (!emptyCells.contains(cell)) {
+        addFrontierAround(cell);
+      }
+    }
     this.deck = deck;
     this.redPlayer = players.get(0);
     this.bluePlayer = players.get(1);
@@ -80,9 +101,66 @@ public class ModelImpl implements IModel {
     confirmNonDupCard();
   }
 
+  @Override
+  public int getEmptyCellCount() {
+    return emptyCells.size();
+  }
+
+  @Override
+  public int emptyCell(int index) {
+    return emptyCells.get(index);
+  }
+
+  @Override
+  public int getFrontierCellCount() {
+    return frontierCells.size();
+  }
+
+  @Override
+  public int frontierCell(int index) {
+    return frontierCells.get(index);
+  }
+
+  @Override
+  public boolean isFrontierCell(int cell) {
+    return frontierCells.contains(cell);
+  }
+
+  /**
+   * Records that a card now occupies a cell: the cell is no longer empty, and its empty
+   * neighbors join the frontier.
+   *
+   * @param cell the cell the card was placed on
+   */
+  private void occupy(int cell) {
+    emptyCells.remove(cell);
+    frontierCells.remove(cell);
+    addFrontierAround(cell);
+  }
+
+  private void addFrontierAround(int cell) {
+    for (int direction = 0; direction < 4; direction++) {
+      int adjacent = topology.neighbor(cell, direction);
+      if (adjacent != BoardTopology.NONE && emptyCells.contains(adjacent)) {
+        frontierCells.add(adjacent);
+      }
+    }
+  }
+
   @Override
   public boolean isCellEmpty(int row, int col) {
-    return boardAvailability[row][col] == CellTypeContents.EMPTY;
+    return isValidPosition(row, col) && boardAvailability[row][col] == CellTypeContents.EMPTY;
+  }
+
+  @Override
+  public ICard findCardAt(int row, int col) {
+    return isValidPosition(row, col) ? boardWithCards[row][col] : null;
+  }
+
+  @Override
+  public PlayerColor getOwnerAt(int row, int col) {
+    ICard card = findCardAt(row, col);
+    return card == null ? null : card.getPlayerColor();
   }
 
   @Override
@@ -100,6 +178,16 @@ public class ModelImpl implements IModel {
     // not needed
   }
 
+  @Override
+  public CardComparisonStrategy getCardComparisonStrategy() {
+    return new NormalComparisonStrategy();
+  }
+
+  @Override
+  public ICriteria getFlipCriteria() {
+    return null;
+  }
+
   /**
    * Adds an observer to the list of observers that will be notified of changes
    * in the model's state. Observers can listen for specific events or updates
@@ -161,10 +249,7 @@ public class ModelImpl implements IModel {
    * @throws IllegalArgumentException if the deck size does not match the expected count
    */
   private void ensureCorrectAmountOfCards() {
-    int playableSpacesCount = 0;
-    for (CellTypeContents[] row : boardAvailability) {
-      playableSpacesCount += frequency(asList(row), CellTypeContents.EMPTY);
-    }
+    int playableSpacesCount = getEmptyCellCount();
     if (this.deck.size() < playableSpacesCount + 1) {
       throw new IllegalArgumentException("The deck should contain at least " +
           "(playable spaces + 1) cards.");
@@ -172,21 +257,14 @@ public class ModelImpl implements IModel {
   }
 
   /**
-   * Confirms that the deck does not contain duplicate cards based on card names.
+   * Confirms that the deck does not contain duplicate cards based on card names. The check is a
+   * single pass over the deck.
    *
-   * @throws IllegalArgumentException if duplicate cards are found in the deck
+   * @throws IllegalArgumentException if duplicate cards are found in the deck, listing all of
+   *                                  them
    */
   private void confirmNonDupCard() {
-    if (!this.deck.isEmpty()) {
-      for (ICard outerCard : this.deck) {
-        String name = outerCard.getName();
-        for (ICard innerCard : this.deck) {
-          if (innerCard.getName().equals(name) && !innerCard.equals(outerCard)) {
-            throw new IllegalArgumentException("Cannot have duplicate cards");
-          }
-        }
-      }
-    }
+    new DeckValidator().checkNoDuplicates(this.deck);
   }
 
   /**
@@ -222,17 +300,26 @@ public class ModelImpl implements IModel {
     if (player == null) {
       throw new IllegalArgumentException("Player cannot be null.");
     }
-    if (cardIndexInHand < 0 || cardIndexInHand >= player.getHand().size()) {
+    if (cardIndexInHand < 0 || cardIndexInHand >= player.getHandView().size()) {
       throw new IllegalArgumentException("Invalid card index in hand.");
     }
     if (currentPlayer.getPlayerColor() != player.getPlayerColor()) {
       throw new IllegalArgumentException("Player is not in turn.");
     }
     checkValidCardPlacement(boardRow, boardCol);
+    MoveEvent event = MoveEvent.isRecording() ? new MoveEvent() : null;
+    if (event != null) {
+      event.begin();
+    }
     ICard placedCard = player.removeFromHand(cardIndexInHand);
     this.boardWithCards[boardRow][boardCol] = placedCard;
     this.boardAvailability[boardRow][boardCol] = CellTypeContents.CARD;
+    occupy(topology.cell(boardRow, boardCol));
     updateBoard(placedCard, boardRow, boardCol);
+    if (event != null) {
+      event.record(placedCard.getPlayerColor().name(), boardRow, boardCol, topology.getRows(),
+          topology.getColumns(), moveFlips, moveComboDepth);
+    }
     updateCurrentPlayer(player);
     checkGameStatus();
   }
@@ -346,25 +433,30 @@ public class ModelImpl implements IModel {
   private void updateBoard(ICard cardPlaced, int row, int col) {
     checkGameStarted();
     checkGameOver();
-    int[][] directions = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
-    Direction[] dirEnums = {Direction.NORTH, Direction.SOUTH, Direction.WEST, Direction.EAST};
-
-    for (int directionIndex = 0; directionIndex < directions.length; directionIndex++) {
-      int adjRow = row + directions[directionIndex][0];
-      int adjCol = col + directions[directionIndex][1];
+    moveFlips = 0;
+    moveComboDepth = 0;
+    int cell = topology.cell(row, col);
+    for (int directionIndex = 0; directionIndex < DIRECTIONS.length; directionIndex++) {
+      int adjacent = topology.neighbor(cell, directionIndex);
+      if (adjacent == BoardTopology.NONE) {
+        continue;
+      }
+      int adjRow = topology.rowOf(adjacent);
+      int adjCol = topology.columnOf(adjacent);
 
-      if (isValidPosition(adjRow, adjCol) && boardWithCards[adjRow][adjCol] != null) {
+      if (boardWithCards[adjRow][adjCol] != null) {
         ICard adjacentCard = boardWithCards[adjRow][adjCol];
 
         if (adjacentCard.getPlayerColor() != cardPlaced.getPlayerColor()) {
-          Direction placedDir = dirEnums[directionIndex];
+          Direction placedDir = DIRECTIONS[directionIndex];
           Direction adjOppositeDir = getOppositeDirection(placedDir);
 
           if (cardPlaced.getDirectionsAndValues().get(placedDir).getValue() >
               adjacentCard.getDirectionsAndValues().get(adjOppositeDir).getValue()) {
 
             flipCardOwnership(adjacentCard, adjRow, adjCol, cardPlaced.getPlayerColor());
-            comboStep(adjacentCard, adjRow, adjCol, cardPlaced.getPlayerColor());
+            moveFlips++;
+            comboStep(adjacentCard, adjRow, adjCol, cardPlaced.getPlayerColor(), 1);
           }
         }
       }
@@ -379,23 +471,27 @@ public class ModelImpl implements IModel {
    * @param row         the row index of the flipped card
    * @param col         the column index of the flipped card
    * @param newOwner    the new owner of the flipped card
+   * @param depth       the combo step the cards flipped by this card are flipped in
    */
 
-  private void comboStep(ICard flippedCard, int row, int col, PlayerColor newOwner) {
-
-    int[][] directions = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};  // North, South, West, East
-    Direction[] dirEnums = {Direction.NORTH, Direction.SOUTH, Direction.WEST, Direction.EAST};
+  private void comboStep(ICard flippedCard, int row, int col, PlayerColor newOwner,
+                         int depth) {
 
-    for (int directionIndex = 0; directionIndex < directions.length; directionIndex++) {
-      int adjRow = row + directions[directionIndex][0];
-      int adjCol = col + directions[directionIndex][1];
+    int cell = topology.cell(row, col);
+    for (int directionIndex = 0; directionIndex < DIRECTIONS.length; directionIndex++) {
+      int adjacent = topology.neighbor(cell, directionIndex);
+      if (adjacent == BoardTopology.NONE) {
+        continue;
+      }
+      int adjRow = topology.rowOf(adjacent);
+      int adjCol = topology.columnOf(adjacent);
 
-      if (isValidPosition(adjRow, adjCol) && boardWithCards[adjRow][adjCol] != null) {
+      if (boardWithCards[adjRow][adjCol] != null) {
         ICard adjacentCard = boardWithCards[adjRow][adjCol];
 
         if (adjacentCard.getPlayerColor() != newOwner) {
           // Battle with the adjacent card
-          Direction flippedDir = dirEnums[directionIndex];
+          Direction flippedDir = DIRECTIONS[directionIndex];
           Direction adjOppositeDir = getOppositeDirection(flippedDir);
 
           if (flippedCard.getDirectionsAndValues().get(flippedDir).getValue() >
@@ -403,7 +499,9 @@ public class ModelImpl implements IModel {
 
             // Flip the opponent's card and continue the combo step
             flipCardOwnership(adjacentCard, adjRow, adjCol, newOwner);
-            comboStep(adjacentCard, adjRow, adjCol, newOwner);
+            moveFlips++;
+            moveComboDepth = Math.max(moveComboDepth, depth);
+            comboStep(adjacentCard, adjRow, adjCol, newOwner, depth + 1);
           }
         }
       }
@@ -481,6 +579,14 @@ public class ModelImpl implements IModel {
     return new PlayerImpl(PlayerColor.BLUE, bluePlayer.getHand());
   }
 
+  @Override
+  public List<ICard> getHandView(PlayerColor playerColor) {
+    if (playerColor == null) {
+      throw new IllegalArgumentException("Player color cannot be null.");
+    }
+    return playerColor == PlayerColor.RED ? redPlayer.getHandView() : bluePlayer.getHandView();
+  }
+
 
   /**
    * Provides a deep copy of the current board with all cards.
@@ -513,6 +619,11 @@ public class ModelImpl implements IModel {
     return boardCopy;
   }
 
+  @Override
+  public BoardTopology getTopology() {
+    return this.topology;
+  }
+
   /**
    * Provides a copy of the board availability array, showing each cell's availability type.
    *
@@ -627,11 +738,44 @@ public class ModelImpl implements IModel {
    * @return the number of opponent cards that would be flipped by this placement
    */
   public int calculateFlips(int row, int col, ICard card) {
-    int flipCount = 0;
+    if (!isCellEmpty(row, col)) {
+      return 0;
+    }
     boolean[][] visited = new boolean[boardWithCards.length][boardWithCards[0].length];
     return calculateFlipsRecursive(row, col, card, card.getPlayerColor(), visited);
   }
 
+  @Override
+  public void calculateFlips(int[] cells, List<ICard> cards, int[] flips) {
+    if (flips.length < cells.length * cards.size()) {
+      throw new IllegalArgumentException("Flip count array is too small.");
+    }
+    for (int i = 0; i < cells.length; i++) {
+      for (int k = 0; k < cards.size(); k++) {
+        flips[i * cards.size() + k] = calculateFlips(topology.rowOf(cells[i]),
+            topology.columnOf(cells[i]), cards.get(k));
+      }
+    }
+  }
+
+  @Override
+  public List<int[]> getFlippedPositions(int row, int col, ICard card) {
+    if (!isCellEmpty(row, col)) {
+      return new ArrayList<>();
+    }
+    boolean[][] visited = new boolean[boardWithCards.length][boardWithCards[0].length];
+    calculateFlipsRecursive(row, col, card, card.getPlayerColor(), visited);
+    List<int[]> positions = new ArrayList<>();
+    for (int flipRow = 0; flipRow < visited.length; flipRow++) {
+      for (int flipCol = 0; flipCol < visited[flipRow].length; flipCol++) {
+        if (visited[flipRow][flipCol]) {
+          positions.add(new int[]{flipRow, flipCol});
+        }
+      }
+    }
+    return positions;
+  }
+
   /**
    * A recursive helper method to count flips, propagating through the board by following the
    * flipping rules in each direction.
@@ -646,20 +790,22 @@ public class ModelImpl implements IModel {
   private int calculateFlipsRecursive(int row, int col, ICard card, PlayerColor ownerColor,
                                       boolean[][] visited) {
     int flipCount = 0;
-    int[][] directions = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
-    Direction[] dirEnums = {Direction.NORTH, Direction.SOUTH, Direction.WEST, Direction.EAST};
-
-    for (int directionIndex = 0; directionIndex < directions.length; directionIndex++) {
-      int adjRow = row + directions[directionIndex][0];
-      int adjCol = col + directions[directionIndex][1];
+    int cell = topology.cell(row, col);
+    for (int directionIndex = 0; directionIndex < DIRECTIONS.length; directionIndex++) {
+      int adjacent = topology.neighbor(cell, directionIndex);
+      if (adjacent == BoardTopology.NONE) {
+        continue;
+      }
+      int adjRow = topology.rowOf(adjacent);
+      int adjCol = topology.columnOf(adjacent);
 
-      if (isValidPosition(adjRow, adjCol) && boardWithCards[adjRow][adjCol] != null &&
+      if (boardWithCards[adjRow][adjCol] != null &&
           !visited[adjRow][adjCol]) {
 
         ICard adjacentCard = boardWithCards[adjRow][adjCol];
 
         if (adjacentCard.getPlayerColor() != ownerColor) {
-          Direction placedDir = dirEnums[directionIndex];
+          Direction placedDir = DIRECTIONS[directionIndex];
           Direction adjOppositeDir = getOppositeDirection(placedDir);
 
           if (card.getDirectionsAndValues().get(placedDir).getValue() >
@@ -8,16 +8,17 @@ import cardcomparison.CardComparisonStrategy;
 import cardcomparison.NormalComparisonStrategy;
 import controller.ModelObserver;
 import flipcriteria.ICriteria;
+import metrics.GameMetrics;
+import metrics.Metrics;
+import metrics.MoveEvent;
 import player.IPlayer;
 import player.PlayerColor;
 import player.PlayerImpl;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
-import static java.util.Arrays.asList;
-import static java.util.Collections.frequency;
-
 /**
  * The {@code ModelImpl} class implements the {@link IModel} interface, representing the game
  * model. It handles game setup, board configuration, and manages game state and player actions.
@@ -38,8 +39,11 @@ import static java.util.Collections.frequency;
  */
 public class ModelVarientImpl implements IModel {
 
+  private static final Direction[] DIRECTIONS = Direction.values();
+
   private final CellTypeContents[][] boardAvailability;
   private final ICard[][] boardWithCards;
+  private final BoardTopology topology;
   private final ArrayList<ICard> deck;
   private final IPlayer redPlayer;
   private final IPlayer bluePlayer;
@@ -51,8 +55,21 @@ public class ModelVarientImpl implements IModel {
   private int cardIndexToPlace;
   private CardComparisonStrategy cardComp;
   private ICriteria flipCriteria;
+  private RuleEngine ruleEngine;
+  private final CellSet emptyCells;
+  private final CellSet frontierCells;
+  private final int[] cellOwners;
+  private final int[] cellSides;
+  private final int[] placedValues = new int[4];
+  private final int[] flippedCells;
+  private int[][] batchValues = new int[0][];
+  private int[] batchOwners = new int[0];
 
   private final List<ModelObserver> observers = new ArrayList<>();
+  // Observers may place the next card while they are being notified. Each dispatch leaves out
+  // the time spent in such nested placements, which include the dispatches they cause.
+  private int dispatchDepth;
+  private long nestedPlacementNanos;
 
   /**
    * Initializes the game model with a board configuration, deck of cards, and players.
@@ -65,6 +82,25 @@ public class ModelVarientImpl implements IModel {
                           ArrayList<IPlayer> players) {
     this.boardAvailability = board;
     this.boardWithCards = new ICard[board.length][board[0].length];
+    this.topology = BoardTopology.of(board);
+    this.cellOwners = new int[topology.getCellCount()];
+    Arrays.fill(cellOwners, BoardTopology.NONE);
+    this.cellSides = new int[topology.getCellCount() * 4];
+    this.flippedCells = new int[topology.getCellCount()];
+    this.emptyCells = new CellSet(topology.getCellCount());
+    this.frontierCells = new CellSet(topology.getCellCount());
+    for (int i = 0; i < topology.getPlayableCellCount(); i++) {
+      int cell = topology.playableCell(i);
+      if (board[topology.rowOf(cell)][topology.columnOf(cell)] == CellTypeContents.EMPTY) {
+        emptyCells.add(cell);
+      }
+    }
+    for (int i = 0; i < topology.getPlayableCellCount(); i++) {
+      int cell = topology.playableCell(i);
+      if (!emptyCells.contains(cell)) {
+        addFrontierAround(cell);
+      }
+    }
     this.deck = deck;
     this.redPlayer = players.get(0);
     this.bluePlayer = players.get(1);
@@ -107,10 +143,22 @@ public class ModelVarientImpl implements IModel {
    * method, passing the color of the current player.
    */
   private void notifyTurnChanged() {
-    for (ModelObserver observer : observers) {
-      if (observer != null) { // Ensure observer is not null before notifying
-        observer.onTurnChanged(this.currentPlayer.getPlayerColor());
+    GameMetrics metrics = Metrics.current();
+    boolean measured = metrics.isEnabled();
+    long start = measured ? System.nanoTime() : 0;
+    long nestedBefore = nestedPlacementNanos;
+    dispatchDepth++;
+    try {
+      for (ModelObserver observer : observers) {
+        if (observer != null) { // Ensure observer is not null before notifying
+          observer.onTurnChanged(this.currentPlayer.getPlayerColor());
+        }
       }
+    } finally {
+      dispatchDepth--;
+    }
+    if (measured) {
+      recordDispatch(metrics, start, nestedBefore);
     }
   }
 
@@ -124,13 +172,36 @@ public class ModelVarientImpl implements IModel {
   private void notifyGameOver() {
     PlayerColor winnerColor = (this.winningPlayer != null)
         ? this.winningPlayer.getPlayerColor() : null;
-    for (ModelObserver observer : observers) {
-      if (observer != null) { // Ensure observer is not null before notifying
-        observer.onGameOver(winnerColor);
+    GameMetrics metrics = Metrics.current();
+    boolean measured = metrics.isEnabled();
+    long start = measured ? System.nanoTime() : 0;
+    long nestedBefore = nestedPlacementNanos;
+    dispatchDepth++;
+    try {
+      for (ModelObserver observer : observers) {
+        if (observer != null) { // Ensure observer is not null before notifying
+          observer.onGameOver(winnerColor);
+        }
       }
+    } finally {
+      dispatchDepth--;
+    }
+    if (measured) {
+      recordDispatch(metrics, start, nestedBefore);
     }
   }
 
+  /**
+   * Records a dispatch without the placements observers made during it, and takes those
+   * placements back out of the nested time so enclosing dispatches count them only once, as
+   * part of the placement that caused this dispatch.
+   */
+  private void recordDispatch(GameMetrics metrics, long start, long nestedBefore) {
+    long nested = nestedPlacementNanos - nestedBefore;
+    nestedPlacementNanos = nestedBefore;
+    metrics.observerDispatch(System.nanoTime() - start - nested);
+  }
+
   /**
    * Method to get the current players color for the view to visualize the current player.
    *
@@ -147,10 +218,7 @@ public class ModelVarientImpl implements IModel {
    * @throws IllegalArgumentException if the deck size does not match the expected count
    */
   private void ensureCorrectAmountOfCards() {
-    int playableSpacesCount = 0;
-    for (CellTypeContents[] row : boardAvailability) {
-      playableSpacesCount += frequency(asList(row), CellTypeContents.EMPTY);
-    }
+    int playableSpacesCount = getEmptyCellCount();
     if (this.deck.size() < playableSpacesCount + 1) {
       throw new IllegalArgumentException("The deck should contain at least " +
           "(playable spaces + 1) cards.");
@@ -158,21 +226,14 @@ public class ModelVarientImpl implements IModel {
   }
 
   /**
-   * Confirms that the deck does not contain duplicate cards based on card names.
+   * Confirms that the deck does not contain duplicate cards based on card names. The check is a
+   * single pass over the deck.
    *
-   * @throws IllegalArgumentException if duplicate cards are found in the deck
+   * @throws IllegalArgumentException if duplicate cards are found in the deck, listing all of
+   *                                  them
    */
   private void confirmNonDupCard() {
-    if (!this.deck.isEmpty()) {
-      for (ICard outerCard : this.deck) {
-        String name = outerCard.getName();
-        for (ICard innerCard : this.deck) {
-          if (innerCard.getName().equals(name) && !innerCard.equals(outerCard)) {
-            throw new IllegalArgumentException("Cannot have duplicate cards");
-          }
-        }
-      }
-    }
+    new DeckValidator().checkNoDuplicates(this.deck);
   }
 
   /**
@@ -202,38 +263,65 @@ public class ModelVarientImpl implements IModel {
    */
   @Override
   public void placeCard(int boardRow, int boardCol, int cardIndexInHand, IPlayer player) {
+    if (dispatchDepth == 0 || !Metrics.current().isEnabled()) {
+      place(boardRow, boardCol, cardIndexInHand, player);
+      return;
+    }
+    // Placed by an observer while it is notified: the time is left out of that dispatch.
+    long start = System.nanoTime();
+    try {
+      place(boardRow, boardCol, cardIndexInHand, player);
+    } finally {
+      nestedPlacementNanos += System.nanoTime() - start;
+    }
+  }
+
+  private void place(int boardRow, int boardCol, int cardIndexInHand, IPlayer player) {
     checkGameStarted();
     checkGameOver();
 
     if (player == null) {
       throw new IllegalArgumentException("Player cannot be null.");
     }
-    if (cardIndexInHand < 0 || cardIndexInHand >= player.getHand().size()) {
+    if (cardIndexInHand < 0 || cardIndexInHand >= player.getHandView().size()) {
       throw new IllegalArgumentException("Invalid card index in hand.");
     }
     if (currentPlayer.getPlayerColor() != player.getPlayerColor()) {
       throw new IllegalArgumentException("Player is not in turn.");
     }
     checkValidCardPlacement(boardRow, boardCol);
+    MoveEvent event = MoveEvent.isRecording() ? new MoveEvent() : null;
+    if (event != null) {
+      event.begin();
+    }
     ICard placedCard = player.removeFromHand(cardIndexInHand);
     this.boardWithCards[boardRow][boardCol] = placedCard;
     this.boardAvailability[boardRow][boardCol] = CellTypeContents.CARD;
 
-    // Apply flip criteria if set
-    if (flipCriteria != null) {
-      List<int[]> flippedPositions = flipCriteria.applyFlipCriteria(this, placedCard,
-              boardRow, boardCol, player);
-
-      // Flip cards based on the criteria
-      for (int[] pos : flippedPositions) {
-        int flipRow = pos[0];
-        int flipCol = pos[1];
-        flipCardOwnership(boardWithCards[flipRow][flipCol], flipRow, flipCol,
-                placedCard.getPlayerColor());
-      }
+    // Battles, flip criteria and combos are resolved together, then applied
+    int cell = topology.cell(boardRow, boardCol);
+    occupy(cell);
+    int owner = placedCard.getPlayerColor() == PlayerColor.RED ? 0 : 1;
+    for (int direction = 0; direction < 4; direction++) {
+      placedValues[direction] = placedCard.getValue(DIRECTIONS[direction]);
+      cellSides[cell * 4 + direction] = placedValues[direction];
+    }
+    cellOwners[cell] = owner;
+    RuleEngine engine = getRuleEngine();
+    int flips = engine.resolve(cellOwners, cellSides, cell, owner, placedValues, flippedCells);
+    Metrics.current().placement(flips, engine.getLastComboDepth());
+    for (int i = 0; i < flips; i++) {
+      int flipRow = topology.rowOf(flippedCells[i]);
+      int flipCol = topology.columnOf(flippedCells[i]);
+      flipCardOwnership(boardWithCards[flipRow][flipCol], flipRow, flipCol,
+          placedCard.getPlayerColor());
+      cellOwners[flippedCells[i]] = owner;
+    }
+    if (event != null) {
+      event.record(placedCard.getPlayerColor().name(), boardRow, boardCol, topology.getRows(),
+          topology.getColumns(), flips, engine.getLastComboDepth());
     }
 
-    updateBoard(placedCard, boardRow, boardCol);
     updateCurrentPlayer(player);
     checkGameStatus();
   }
@@ -338,75 +426,6 @@ public class ModelVarientImpl implements IModel {
     }
   }
 
-  /**
-   * Updates the game board based on card interactions, flipping adjacent cards as necessary.
-   *
-   * @param cardPlaced the card recently placed on the board
-   * @throws IllegalStateException if the game has not started or is over
-   */
-  private void updateBoard(ICard cardPlaced, int row, int col) {
-    checkGameStarted();
-    checkGameOver();
-    int[][] directions = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
-    Direction[] dirEnums = {Direction.NORTH, Direction.SOUTH, Direction.WEST, Direction.EAST};
-
-    for (int directionIndex = 0; directionIndex < directions.length; directionIndex++) {
-      int adjRow = row + directions[directionIndex][0];
-      int adjCol = col + directions[directionIndex][1];
-
-      if (isValidPosition(adjRow, adjCol) && boardWithCards[adjRow][adjCol] != null) {
-        ICard adjacentCard = boardWithCards[adjRow][adjCol];
-
-        if (adjacentCard.getPlayerColor() != cardPlaced.getPlayerColor()) {
-          Direction placedDir = dirEnums[directionIndex];
-          Direction adjOppositeDir = getOppositeDirection(placedDir);
-
-          if (cardComp.compare(cardPlaced, adjacentCard, placedDir, adjOppositeDir)) {
-            flipCardOwnership(adjacentCard, adjRow, adjCol, cardPlaced.getPlayerColor());
-            comboStep(adjacentCard, adjRow, adjCol, cardPlaced.getPlayerColor());
-          }
-
-        }
-      }
-    }
-  }
-
-  /**
-   * Handles the combo step after flipping an opponent's card. Newly flipped cards may battle
-   * adjacent cards recursively until no more cards can be flipped.
-   *
-   * @param flippedCard the card that has been flipped
-   * @param row         the row index of the flipped card
-   * @param col         the column index of the flipped card
-   * @param newOwner    the new owner of the flipped card
-   */
-
-  private void comboStep(ICard flippedCard, int row, int col, PlayerColor newOwner) {
-
-    int[][] directions = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};  // North, South, West, East
-    Direction[] dirEnums = {Direction.NORTH, Direction.SOUTH, Direction.WEST, Direction.EAST};
-
-    for (int directionIndex = 0; directionIndex < directions.length; directionIndex++) {
-      int adjRow = row + directions[directionIndex][0];
-      int adjCol = col + directions[directionIndex][1];
-
-      if (isValidPosition(adjRow, adjCol) && boardWithCards[adjRow][adjCol] != null) {
-        ICard adjacentCard = boardWithCards[adjRow][adjCol];
-
-        if (adjacentCard.getPlayerColor() != newOwner) {
-          // Battle with the adjacent card
-          Direction flippedDir = dirEnums[directionIndex];
-          Direction adjOppositeDir = getOppositeDirection(flippedDir);
-
-          if (cardComp.compare(flippedCard, adjacentCard, flippedDir, adjOppositeDir)) {
-            flipCardOwnership(adjacentCard, adjRow, adjCol, newOwner);
-            comboStep(adjacentCard, adjRow, adjCol, newOwner);
-          }
-        }
-      }
-    }
-  }
-
   /**
    * Flips the ownership of a card to a new player.
    *
@@ -478,6 +497,14 @@ public class ModelVarientImpl implements IModel {
     return new PlayerImpl(PlayerColor.BLUE, bluePlayer.getHand());
   }
 
+  @Override
+  public List<ICard> getHandView(PlayerColor playerColor) {
+    if (playerColor == null) {
+      throw new IllegalArgumentException("Player color cannot be null.");
+    }
+    return playerColor == PlayerColor.RED ? redPlayer.getHandView() : bluePlayer.getHandView();
+  }
+
 
   /**
    * Provides a deep copy of the current board with all cards.
@@ -510,6 +537,11 @@ public class ModelVarientImpl implements IModel {
     return boardCopy;
   }
 
+  @Override
+  public BoardTopology getTopology() {
+    return this.topology;
+  }
+
   /**
    * Provides a copy of the board availability array, showing each cell's availability type.
    *
@@ -615,62 +647,76 @@ public class ModelVarientImpl implements IModel {
 
   /**
    * Calculates the number of flips that would occur if a card were placed at the specified
-   * board position, including propagation of flips. A flip occurs when the placed card's value
-   * in a given direction is greater than the adjacent card's value in the opposite direction.
+   * board position. The placement is resolved by the same rules as {@link #placeCard},
+   * including the flip criteria and combos, but nothing on the board changes.
    *
    * @param row  the row index where the card is to be placed
    * @param col  the column index where the card is to be placed
    * @param card the card being placed on the board
-   * @return the number of opponent cards that would be flipped by this placement
+   * @return the number of opponent cards that would be flipped by this placement, or 0 if the
+   *         position is off the board or not empty
    */
   public int calculateFlips(int row, int col, ICard card) {
-    int flipCount = 0;
-    boolean[][] visited = new boolean[boardWithCards.length][boardWithCards[0].length];
-    return calculateFlipsRecursive(row, col, card, card.getPlayerColor(), visited);
+    return simulatePlacement(row, col, card);
+  }
+
+  @Override
+  public List<int[]> getFlippedPositions(int row, int col, ICard card) {
+    int flips = simulatePlacement(row, col, card);
+    List<int[]> positions = new ArrayList<>(flips);
+    for (int i = 0; i < flips; i++) {
+      positions.add(new int[]{topology.rowOf(flippedCells[i]), topology.columnOf(flippedCells[i])});
+    }
+    return positions;
+  }
+
+  @Override
+  public void calculateFlips(int[] cells, List<ICard> cards, int[] flips) {
+    int cardCount = cards.size();
+    if (flips.length < cells.length * cardCount) {
+      throw new IllegalArgumentException("Flip count array is too small.");
+    }
+    // Each card's values and owner are read once for the whole batch.
+    if (batchValues.length < cardCount) {
+      batchValues = new int[cardCount][4];
+      batchOwners = new int[cardCount];
+    }
+    for (int k = 0; k < cardCount; k++) {
+      ICard card = cards.get(k);
+      for (int direction = 0; direction < 4; direction++) {
+        batchValues[k][direction] = card.getValue(DIRECTIONS[direction]);
+      }
+      batchOwners[k] = card.getPlayerColor() == PlayerColor.RED ? 0 : 1;
+    }
+    RuleEngine engine = getRuleEngine();
+    Metrics.current().flipQueries(cells.length * cardCount);
+    for (int i = 0; i < cells.length; i++) {
+      boolean empty = emptyCells.contains(cells[i]);
+      for (int k = 0; k < cardCount; k++) {
+        flips[i * cardCount + k] = empty ? engine.resolve(cellOwners, cellSides, cells[i],
+            batchOwners[k], batchValues[k], flippedCells) : 0;
+      }
+    }
   }
 
   /**
-   * A recursive helper method to count flips, propagating through the board by following the
-   * flipping rules in each direction.
+   * Resolves a placement without making it, leaving the flipped cells at the start of
+   * {@code flippedCells}. Nothing can be placed off the board or on a card, so such positions
+   * flip nothing.
    *
-   * @param row        the row index of the current card
-   * @param col        the column index of the current card
-   * @param card       the card used to initiate the flip
-   * @param ownerColor the color of the player placing the card
-   * @param visited    a boolean 2D array to track visited positions and avoid re-counting flips
-   * @return the number of opponent cards that would be flipped by this placement
-   */
-  private int calculateFlipsRecursive(int row, int col, ICard card, PlayerColor ownerColor,
-                                      boolean[][] visited) {
-    int flipCount = 0;
-    int[][] directions = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
-    Direction[] dirEnums = {Direction.NORTH, Direction.SOUTH, Direction.WEST, Direction.EAST};
-
-    for (int directionIndex = 0; directionIndex < directions.length; directionIndex++) {
-      int adjRow = row + directions[directionIndex][0];
-      int adjCol = col + directions[directionIndex][1];
-
-      if (isValidPosition(adjRow, adjCol) && boardWithCards[adjRow][adjCol] != null &&
-              !visited[adjRow][adjCol]) {
-        ICard adjacentCard = boardWithCards[adjRow][adjCol];
-
-        if (adjacentCard.getPlayerColor() != ownerColor) {
-          Direction placedDir = dirEnums[directionIndex];
-          Direction adjOppositeDir = getOppositeDirection(placedDir);
-
-          // Use the comparison strategy to determine if the card can flip
-          if (cardComp.compare(card, adjacentCard, placedDir, adjOppositeDir)) {
-            // Mark as visited and count this flip
-            visited[adjRow][adjCol] = true;
-            flipCount++;
-
-            // Recursively calculate flips from this newly "flipped" card
-            flipCount += calculateFlipsRecursive(adjRow, adjCol, adjacentCard, ownerColor, visited);
-          }
-        }
-      }
+   * @return the number of cells flipped
+   */
+  private int simulatePlacement(int row, int col, ICard card) {
+    if (!isCellEmpty(row, col)) {
+      return 0;
+    }
+    for (int direction = 0; direction < 4; direction++) {
+      placedValues[direction] = card.getValue(DIRECTIONS[direction]);
     }
-    return flipCount;
+    int owner = card.getPlayerColor() == PlayerColor.RED ? 0 : 1;
+    Metrics.current().flipQueries(1);
+    return getRuleEngine().resolve(cellOwners, cellSides, topology.cell(row, col), owner,
+        placedValues, flippedCells);
   }
 
 
@@ -693,20 +739,102 @@ public class ModelVarientImpl implements IModel {
     return score;
   }
 
+  @Override
+  public int getEmptyCellCount() {
+    return emptyCells.size();
+  }
+
+  @Override
+  public int emptyCell(int index) {
+    return emptyCells.get(index);
+  }
+
+  @Override
+  public int getFrontierCellCount() {
+    return frontierCells.size();
+  }
+
+  @Override
+  public int frontierCell(int index) {
+    return frontierCells.get(index);
+  }
+
+  @Override
+  public boolean isFrontierCell(int cell) {
+    return frontierCells.contains(cell);
+  }
+
+  /**
+   * Records that a card now occupies a cell: the cell is no longer empty, and its empty
+   * neighbors join the frontier.
+   *
+   * @param cell the cell the card was placed on
+   */
+  private void occupy(int cell) {
+    emptyCells.remove(cell);
+    frontierCells.remove(cell);
+    addFrontierAround(cell);
+  }
+
+  private void addFrontierAround(int cell) {
+    for (int direction = 0; direction < 4; direction++) {
+      int adjacent = topology.neighbor(cell, direction);
+      if (adjacent != BoardTopology.NONE && emptyCells.contains(adjacent)) {
+        frontierCells.add(adjacent);
+      }
+    }
+  }
+
   public boolean isCellEmpty(int row, int col) {
-    return boardAvailability[row][col] == CellTypeContents.EMPTY;
+    return isValidPosition(row, col) && boardAvailability[row][col] == CellTypeContents.EMPTY;
+  }
+
+  @Override
+  public ICard findCardAt(int row, int col) {
+    return isValidPosition(row, col) ? boardWithCards[row][col] : null;
+  }
+
+  @Override
+  public PlayerColor getOwnerAt(int row, int col) {
+    ICard card = findCardAt(row, col);
+    return card == null ? null : card.getPlayerColor();
   }
 
   public void setVariantRule(CardComparisonStrategy variantRule) {
     this.cardComp = variantRule;
+    this.ruleEngine = null;
   }
 
   public void setCardComparisonStrategy(CardComparisonStrategy strategy) {
     this.cardComp = strategy;
+    this.ruleEngine = null;
   }
 
   public void setFlipCriteria(ICriteria criteria) {
     this.flipCriteria = criteria;
+    this.ruleEngine = null;
+  }
+
+  /**
+   * Returns the engine for the current rules, creating it after the rules have changed.
+   *
+   * @return the rule engine
+   */
+  private RuleEngine getRuleEngine() {
+    if (ruleEngine == null) {
+      ruleEngine = RuleEngine.forRules(topology, cardComp, flipCriteria);
+    }
+    return ruleEngine;
+  }
+
+  @Override
+  public CardComparisonStrategy getCardComparisonStrategy() {
+    return this.cardComp;
+  }
+
+  @Override
+  public ICriteria getFlipCriteria() {
+    return this.flipCriteria;
   }
 
 }
\ No newline at end of file
@@ -7,6 +7,8 @@ import card.ICard;
 import player.IPlayer;
 import player.PlayerColor;
 
+import java.util.List;
+
 /**
  * Read-only interface representing the view-only model for a game.
  * Defines methods to observe the game's state without the ability to modify it.
@@ -24,6 +26,80 @@ public interface ReadOnlyIModel {
    */
   CardImpl getCardAt(int boardRow, int boardCol);
 
+  /**
+   * Returns the card on a cell without copying it. Cards never change once made, since a
+   * flip replaces the card, so the card returned stays as it was when asked for. Unlike
+   * {@link #getCardAt}, this never throws, which makes it cheap to ask of every cell.
+   *
+   * @param row the row index of the cell
+   * @param col the column index of the cell
+   * @return the card on the cell, or {@code null} if the cell is empty, a hole or off the board
+   */
+  ICard findCardAt(int row, int col);
+
+  /**
+   * Returns the owner of the card on a cell. This never throws and allocates nothing.
+   *
+   * @param row the row index of the cell
+   * @param col the column index of the cell
+   * @return the color of the card's owner, or {@code null} if there is no card on the cell
+   */
+  PlayerColor getOwnerAt(int row, int col);
+
+  /**
+   * Checks whether a card can be placed on a cell. This never throws and allocates nothing.
+   *
+   * @param row the row index of the cell
+   * @param col the column index of the cell
+   * @return {@code true} if the cell is on the board, not a hole and holds no card
+   */
+  boolean isCellEmpty(int row, int col);
+
+  /**
+   * Returns the number of empty cells: the cells a card can still be placed on. The model
+   * keeps these cells as cards are placed, so listing them does not scan the board.
+   *
+   * @return the number of empty cells
+   */
+  int getEmptyCellCount();
+
+  /**
+   * Returns one of the empty cells. The order of the cells is not the board order, and it
+   * changes as cards are placed.
+   *
+   * @param index the index of the empty cell, from 0 to {@link #getEmptyCellCount()} - 1
+   * @return the cell, numbered as in {@link #getTopology()}
+   * @throws IndexOutOfBoundsException if the index is out of range
+   */
+  int emptyCell(int index);
+
+  /**
+   * Returns the number of frontier cells: the empty cells next to at least one card. A card
+   * can only flip cards next to it, so a placement on any other empty cell flips nothing, and
+   * flip counts only need to be worked out for the frontier.
+   *
+   * @return the number of frontier cells
+   */
+  int getFrontierCellCount();
+
+  /**
+   * Returns one of the frontier cells. The order of the cells is not the board order, and it
+   * changes as cards are placed.
+   *
+   * @param index the index of the frontier cell, from 0 to {@link #getFrontierCellCount()} - 1
+   * @return the cell, numbered as in {@link #getTopology()}
+   * @throws IndexOutOfBoundsException if the index is out of range
+   */
+  int frontierCell(int index);
+
+  /**
+   * Checks whether a cell is on the frontier.
+   *
+   * @param cell the cell, numbered as in {@link #getTopology()}
+   * @return {@code true} if the cell is empty and next to at least one card
+   */
+  boolean isFrontierCell(int cell);
+
   /**
    * Checks if the specified position on the board is within valid bounds.
    *
@@ -56,6 +132,25 @@ public interface ReadOnlyIModel {
    */
   IPlayer getBluePlayer();
 
+  /**
+   * Returns the hand of a player without copying it or the player. Unlike the hands of
+   * {@link #getRedPlayer()} and {@link #getBluePlayer()}, the view follows the game as cards
+   * are placed.
+   *
+   * @param playerColor the color of the player
+   * @return an unmodifiable view of the player's hand
+   * @throws IllegalArgumentException if the color is null
+   */
+  List<ICard> getHandView(PlayerColor playerColor);
+
+  /**
+   * Returns the shape of the board: its cells, holes and neighbors. The shape never changes
+   * during a game.
+   *
+   * @return the board topology
+   */
+  BoardTopology getTopology();
+
   /**
    * Provides a deep copy of the current board with all cards.
    *
@@ -110,10 +205,37 @@ public interface ReadOnlyIModel {
    * @param row  the row on the board where the card will be placed
    * @param col  the column on the board where the card will be placed
    * @param card the card being placed
-   * @return the number of cards that would be flipped by this move
+   * @return the number of cards that would be flipped by this move, or 0 if the position is
+   *         off the board or not empty
    */
   int calculateFlips(int row, int col, ICard card);
 
+  /**
+   * Finds the cards a player would flip by placing a given card at a specified position,
+   * without placing it.
+   *
+   * @param row  the row on the board where the card would be placed
+   * @param col  the column on the board where the card would be placed
+   * @param card the card being placed
+   * @return the positions of the cards that would be flipped, each as {row, column}, or none
+   *         if the position is off the board or not empty
+   */
+  List<int[]> getFlippedPositions(int row, int col, ICard card);
+
+  /**
+   * Calculates the flips of many placements in one call: every card of a list on every cell
+   * of a list. The count for card {@code k} on cell {@code cells[i]} is written to
+   * {@code flips[i * cards.size() + k]}, the same order in which strategies number placements.
+   * Cells that are off the board or not empty get 0 for every card.
+   *
+   * @param cells the cells to place on, numbered as in {@link #getTopology()}
+   * @param cards the cards to place
+   * @param flips receives the flip counts; must hold at least
+   *              {@code cells.length * cards.size()} entries
+   * @throws IllegalArgumentException if {@code flips} is too small
+   */
+  void calculateFlips(int[] cells, List<ICard> cards, int[] flips);
+
 
 
   /**
@@ -0,0 +1,235 @@
+package model;
+
+import cardcomparison.BattleRule;
+import cardcomparison.CardComparisonStrategy;
+import cardcomparison.NormalComparisonStrategy;
+import flipcriteria.ICriteria;
+import flipcriteria.NeighborRule;
+import metrics.ComboEvent;
+import metrics.RuleEvent;
+
+import java.util.Arrays;
+
+/**
+ * Resolves the flips caused by placing a card, for every rule at once. The placed card's
+ * neighbors are read a single time and each placement stage, such as the battle and the Same
+ * or Plus criteria, picks the ones it flips. Every card flipped by any stage then starts the
+ * combo step, and the combo runs as one breadth-first cascade of battles until no further card
+ * flips.
+ *
+ * <p>The engine works on a board kept as two arrays indexed by the cell numbers of a
+ * {@link BoardTopology}: the owner of each cell, a player number or {@link BoardTopology#NONE},
+ * and the four side values of the card on each cell at {@code cell * 4 + ordinal}. It never
+ * writes to them. Flipped cells are reported to the caller, which makes resolving a placement
+ * and applying it separate steps, and lets the same engine simulate placements it does not
+ * make. An engine keeps scratch state, so it must not be shared between threads.
+ *
+ * <p>Each flip criteria applied and each combo cascade is reported to Java Flight Recorder as a
+ * {@link RuleEvent} or {@link ComboEvent}.</p>
+ */
+public final class RuleEngine {
+
+  private final BoardTopology topology;
+  private final BattleRule battle;
+  private final boolean battleStage;
+  private final NeighborRule[] otherStages;
+  private final int[] facingValues = new int[4];
+  private final int[] flippedAt;
+  private int generation;
+  private int lastComboDepth;
+
+  /**
+   * Constructs a {@code RuleEngine}.
+   *
+   * @param topology the shape of the board
+   * @param battle   the battle used by the combo step
+   * @param stages   the rules applied to the neighbors of the placed card
+   * @throws IllegalArgumentException if any argument is null
+   */
+  public RuleEngine(BoardTopology topology, BattleRule battle, NeighborRule... stages) {
+    if (topology == null || battle == null) {
+      throw new IllegalArgumentException("Topology and battle rule cannot be null.");
+    }
+    for (NeighborRule stage : stages) {
+      if (stage == null) {
+        throw new IllegalArgumentException("Rule stages cannot be null.");
+      }
+    }
+    this.topology = topology;
+    this.battle = battle;
+    // The battle, the stage every game has, is evaluated inline while the neighbors are read.
+    int others = 0;
+    boolean hasBattle = false;
+    for (NeighborRule stage : stages) {
+      if (stage == battle) {
+        hasBattle = true;
+      } else {
+        others++;
+      }
+    }
+    this.battleStage = hasBattle;
+    this.otherStages = new NeighborRule[others];
+    others = 0;
+    for (NeighborRule stage : stages) {
+      if (stage != battle) {
+        otherStages[others++] = stage;
+      }
+    }
+    this.flippedAt = new int[topology.getCellCount()];
+  }
+
+  /**
+   * Creates the engine for the rules a game can be configured with: a battle under a
+   * comparison strategy, and optionally a flip criteria alongside it.
+   *
+   * @param topology   the shape of the board
+   * @param comparison the strategy that decides battles, or {@code null} for the normal one
+   * @param criteria   the additional flip criteria, or {@code null} for none
+   * @return the engine
+   */
+  public static RuleEngine forRules(BoardTopology topology, CardComparisonStrategy comparison,
+                                    ICriteria criteria) {
+    BattleRule battle = new BattleRule(comparison == null
+        ? new NormalComparisonStrategy() : comparison);
+    return criteria == null
+        ? new RuleEngine(topology, battle, battle)
+        : new RuleEngine(topology, battle, battle, criteria);
+  }
+
+  /**
+   * Returns the battle used by the combo step.
+   *
+   * @return the battle rule
+   */
+  public BattleRule getBattle() {
+    return battle;
+  }
+
+  /**
+   * Works out every card a placement flips, without changing the board. Whether the placed
+   * card is already recorded on its cell does not matter.
+   *
+   * @param owner        the owner of each cell
+   * @param sides        the side values of the card on each cell
+   * @param cell         the cell the card is placed on
+   * @param player       the player placing the card
+   * @param placedValues the side values of the placed card, by direction ordinal
+   * @param flipped      receives the flipped cells, in the order they flip; must have room for
+   *                     every cell of the board
+   * @return the number of cells flipped
+   */
+  public int resolve(int[] owner, int[] sides, int cell, int player, int[] placedValues,
+                     int[] flipped) {
+    int opponent = 1 - player;
+    int stamp = nextGeneration();
+    lastComboDepth = 0;
+
+    int count = 0;
+    if (otherStages.length == 0) {
+      // Only the battle applies, so flips are known as soon as each neighbor is read.
+      for (int direction = 0; direction < 4; direction++) {
+        int adjacent = topology.neighbor(cell, direction);
+        if (adjacent != BoardTopology.NONE && owner[adjacent] == opponent && battleStage
+            && battle.beats(placedValues[direction],
+                sides[adjacent * 4 + BoardTopology.opposite(direction)])) {
+          flippedAt[adjacent] = stamp;
+          flipped[count++] = adjacent;
+        }
+      }
+    } else {
+      int opponents = 0;
+      int directions = 0;
+      for (int direction = 0; direction < 4; direction++) {
+        int adjacent = topology.neighbor(cell, direction);
+        if (adjacent != BoardTopology.NONE && owner[adjacent] == opponent) {
+          int facing = sides[adjacent * 4 + BoardTopology.opposite(direction)];
+          facingValues[direction] = facing;
+          opponents |= 1 << direction;
+          if (battleStage && battle.beats(placedValues[direction], facing)) {
+            directions |= 1 << direction;
+          }
+        } else {
+          facingValues[direction] = 0;
+        }
+      }
+      if (opponents == 0) {
+        return 0;
+      }
+      if (RuleEvent.isRecording()) {
+        for (NeighborRule stage : otherStages) {
+          RuleEvent event = new RuleEvent();
+          event.begin();
+          int stageDirections = stage.flipDirections(placedValues, facingValues);
+          event.record(stage.getClass().getSimpleName(), topology.getRows(),
+              topology.getColumns(), Integer.bitCount(stageDirections & opponents));
+          directions |= stageDirections;
+        }
+      } else {
+        for (NeighborRule stage : otherStages) {
+          directions |= stage.flipDirections(placedValues, facingValues);
+        }
+      }
+      directions &= opponents;
+      for (int direction = 0; direction < 4; direction++) {
+        if ((directions & 1 << direction) != 0) {
+          int adjacent = topology.neighbor(cell, direction);
+          flippedAt[adjacent] = stamp;
+          flipped[count++] = adjacent;
+        }
+      }
+    }
+
+    if (count == 0) {
+      return 0;
+    }
+    // The flipped cells double as the queue of the combo step, one level after another.
+    ComboEvent event = ComboEvent.isRecording() ? new ComboEvent() : null;
+    if (event != null) {
+      event.begin();
+    }
+    int initialFlips = count;
+    int levelEnd = count;
+    for (int head = 0; head < count; head++) {
+      if (head == levelEnd) {
+        lastComboDepth++;
+        levelEnd = count;
+      }
+      int from = flipped[head];
+      for (int direction = 0; direction < 4; direction++) {
+        int adjacent = topology.neighbor(from, direction);
+        if (adjacent != BoardTopology.NONE && owner[adjacent] == opponent
+            && flippedAt[adjacent] != stamp
+            && battle.beats(sides[from * 4 + direction],
+                sides[adjacent * 4 + BoardTopology.opposite(direction)])) {
+          flippedAt[adjacent] = stamp;
+          flipped[count++] = adjacent;
+        }
+      }
+    }
+    if (event != null) {
+      event.record(topology.getRows(), topology.getColumns(), initialFlips, count,
+          lastComboDepth);
+    }
+    return count;
+  }
+
+  /**
+   * Returns how many combo steps the last {@link #resolve} took after its first flips: 0 if
+   * the cards flipped by the placement flipped nothing more, 1 if only their own neighbors
+   * were flipped by them, and so on.
+   *
+   * @return the combo depth of the last resolved placement
+   */
+  public int getLastComboDepth() {
+    return lastComboDepth;
+  }
+
+  private int nextGeneration() {
+    generation++;
+    if (generation == 0) {
+      Arrays.fill(flippedAt, 0);
+      generation = 1;
+    }
+    return generation;
+  }
+}
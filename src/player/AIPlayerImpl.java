@@ -1,11 +1,16 @@
 package player;
 
 import card.ICard;
+import metrics.GameMetrics;
+import metrics.DecisionEvent;
+import metrics.Metrics;
+import model.BoardTopology;
 import model.IModel;
 import strategies.IStrategy;
 import strategies.Placement;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -17,6 +22,7 @@ public class AIPlayerImpl implements IPlayer {
   private final IStrategy strategy;
   private final PlayerColor playerColor;
   private final List<ICard> hand;
+  private final List<ICard> handView;
 
   /**
    * Constructs an {@code AIPlayerImpl} with the specified strategy, player color, and initial hand.
@@ -29,17 +35,38 @@ public class AIPlayerImpl implements IPlayer {
     this.strategy = strategy;
     this.playerColor = playerColor;
     this.hand = new ArrayList<>(hand); // Defensive copy of the provided hand
+    this.handView = Collections.unmodifiableList(this.hand);
   }
 
   /**
-   * Determines the move to make based on the current state of the game.
+   * Determines the move to make based on the current state of the game. The decision is
+   * reported to the installed metrics and to Java Flight Recorder.
    *
    * @param model the current state of the game model
    * @return the move chosen by the AI player's strategy
    */
   @Override
   public Placement chooseMove(IModel model) {
-    return strategy.chooseMove(model, this);
+    GameMetrics metrics = Metrics.current();
+    DecisionEvent event = DecisionEvent.isRecording() ? new DecisionEvent() : null;
+    if (event != null) {
+      event.begin();
+    }
+    long start = metrics.isEnabled() ? System.nanoTime() : 0;
+    Placement placement = strategy.chooseMove(model, this);
+    String name = metrics.isEnabled() || event != null
+        ? strategy.getClass().getSimpleName() : null;
+    if (metrics.isEnabled()) {
+      metrics.decision(name, System.nanoTime() - start);
+    }
+    if (event != null) {
+      BoardTopology topology = model.getTopology();
+      event.record(name, playerColor.name(), topology.getRows(), topology.getColumns(),
+          hand.size(), placement == null ? -1 : placement.row,
+          placement == null ? -1 : placement.column,
+          placement == null ? -1 : placement.cardIndex);
+    }
+    return placement;
   }
 
   /**
@@ -62,6 +89,11 @@ public class AIPlayerImpl implements IPlayer {
     return new ArrayList<>(this.hand);
   }
 
+  @Override
+  public List<ICard> getHandView() {
+    return handView;
+  }
+
   /**
    * Adds a card to the player's hand.
    *
@@ -26,6 +26,15 @@ public interface IPlayer {
    */
   List<ICard> getHand();
 
+  /**
+   * Returns the player's hand without copying it. The list cannot be modified through it,
+   * but it reflects every card later added to or removed from the hand, so reading it is
+   * cheap enough for a strategy's inner loops.
+   *
+   * @return an unmodifiable view of the player's hand
+   */
+  List<ICard> getHandView();
+
   /**
    * Adds a card to the player's hand.
    *
@@ -5,6 +5,7 @@ import model.IModel;
 import strategies.Placement;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -24,6 +25,11 @@ public class PlayerImpl implements IPlayer {
    */
   private final ArrayList<ICard> hand;
 
+  /**
+   * The read-only view of the hand handed out by {@link #getHandView()}.
+   */
+  private final List<ICard> handView;
+
   /**
    * Constructs a {@code PlayerImpl} with the specified player color and initial hand of cards.
    *
@@ -33,6 +39,7 @@ public class PlayerImpl implements IPlayer {
   public PlayerImpl(PlayerColor playerColor, List<ICard> hand) {
     this.playerColor = playerColor;
     this.hand = new ArrayList<>(hand);  // Create a defensive copy of the hand
+    this.handView = Collections.unmodifiableList(this.hand);
   }
 
   /**
@@ -59,6 +66,11 @@ public class PlayerImpl implements IPlayer {
     return new ArrayList<>(this.hand);  // Return a defensive copy of the hand
   }
 
+  @Override
+  public List<ICard> getHandView() {
+    return this.handView;
+  }
+
   /**
    * Adds a card to the player's hand.
    *
@@ -0,0 +1,332 @@
+package search;
+
+import model.IModel;
+import strategies.Placement;
+
+import java.util.Arrays;
+
+/**
+ * An exact solver for the end of a game. Once few enough cells are empty, it searches every
+ * remaining sequence of placements to the end of the game and returns a placement that
+ * maximizes the final score difference for the player in turn, assuming the opponent plays
+ * just as well.
+ *
+ * <p>The search is a negamax alpha-beta search over a {@link SearchPosition}, so it applies the
+ * same comparison strategy and flip criteria as the model. Positions already searched are kept
+ * in a transposition table keyed by the {@link SearchPosition#getCanonicalHash() canonical
+ * hash}, which pays off because most endgames reach the same board through many move orders,
+ * and symmetric images of a position share one entry. Cards in a hand with identical values are
+ * only tried once. The table is kept between calls for positions of the same game, so later
+ * turns, and searches that call {@link #evaluate} on many leaves of their own, share the work.
+ * A solver is not thread-safe.
+ */
+public class EndgameSolver {
+
+  private static final int DEFAULT_TABLE_BITS = 18;
+  private static final int EXACT = 1;
+  private static final int LOWER = 2;
+  private static final int UPPER = 3;
+  private static final int INFINITY = Integer.MAX_VALUE / 2;
+  private static final int NO_MOVE = -1;
+  private static final int SHALLOW_PLY = 3;
+
+  private final int maxEmptyCells;
+  private final long[] tableKeys;
+  private final int[] tableValues;
+  private final byte[] tableBounds;
+  private final int[] tableMoves;
+  private final int[][] moveBuffers;
+  private final int[][] scoreBuffers;
+  private final int tableMask;
+  private long tableFingerprint;
+  private boolean tableUsed;
+  private long nodes;
+
+  /**
+   * Constructs an {@code EndgameSolver} with a default transposition table size.
+   *
+   * @param maxEmptyCells the largest number of empty cells the solver will search
+   * @throws IllegalArgumentException if the threshold is negative
+   */
+  public EndgameSolver(int maxEmptyCells) {
+    this(maxEmptyCells, DEFAULT_TABLE_BITS);
+  }
+
+  /**
+   * Constructs an {@code EndgameSolver}.
+   *
+   * @param maxEmptyCells the largest number of empty cells the solver will search
+   * @param tableBits     the base-2 logarithm of the number of transposition table entries
+   * @throws IllegalArgumentException if the threshold is negative or the table size is not
+   *                                  between 1 and 2^28 entries
+   */
+  public EndgameSolver(int maxEmptyCells, int tableBits) {
+    if (maxEmptyCells < 0) {
+      throw new IllegalArgumentException("Empty cell threshold cannot be negative.");
+    }
+    if (tableBits < 0 || tableBits > 28) {
+      throw new IllegalArgumentException("Invalid transposition table size.");
+    }
+    this.maxEmptyCells = maxEmptyCells;
+    this.tableKeys = new long[1 << tableBits];
+    this.tableValues = new int[1 << tableBits];
+    this.tableBounds = new byte[1 << tableBits];
+    this.tableMoves = new int[1 << tableBits];
+    this.moveBuffers = new int[maxEmptyCells + 1][];
+    this.scoreBuffers = new int[maxEmptyCells + 1][];
+    this.tableMask = (1 << tableBits) - 1;
+  }
+
+  /**
+   * Checks whether a position is small enough for this solver.
+   *
+   * @param position the position
+   * @return {@code true} if at most the threshold of cells are empty
+   */
+  public boolean canSolve(SearchPosition position) {
+    return position.getEmptyCellCount() <= maxEmptyCells;
+  }
+
+  /**
+   * Returns an optimal placement for the player in turn in a model.
+   *
+   * @param model the model
+   * @return the optimal placement
+   * @throws IllegalStateException if more cells are empty than the threshold or the game is
+   *                               over
+   */
+  public Placement solve(IModel model) {
+    return solve(SearchPosition.fromModel(model));
+  }
+
+  /**
+   * Returns an optimal placement for the player in turn. Among equally good placements the
+   * uppermost-leftmost cell and then the lowest hand index is chosen. The position is left as
+   * it was.
+   *
+   * @param position the position
+   * @return the optimal placement, with the card given by its index in the hand of the model
+   * @throws IllegalStateException if more cells are empty than the threshold or the game is
+   *                               over
+   */
+  public Placement solve(SearchPosition position) {
+    checkSolvable(position);
+    if (position.isTerminal()) {
+      throw new IllegalStateException("The game is over!");
+    }
+    int best = search(position, -INFINITY, INFINITY);
+    // With the value known, a null window around it finds the first placement that reaches it,
+    // mostly from positions already in the table.
+    for (int cell : position.playableCells()) {
+      if (!position.isEmpty(cell)) {
+        continue;
+      }
+      for (int slot = 0; slot < position.getHandSize(position.getPlayerToMove()); slot++) {
+        if (!position.isDistinctInHand(slot)) {
+          continue;
+        }
+        position.place(cell, slot);
+        int value = -search(position, -best, -best + 1);
+        position.undo();
+        if (value >= best) {
+          return new Placement(position.rowOf(cell), position.columnOf(cell),
+              position.handIndexOf(slot));
+        }
+      }
+    }
+    throw new IllegalStateException("No placement reaches the solved value.");
+  }
+
+  /**
+   * Returns the final score difference, for the player in turn, that both players can force
+   * from a position. The position is left as it was.
+   *
+   * @param position the position
+   * @return the player in turn's final score minus the opponent's under optimal play
+   * @throws IllegalStateException if more cells are empty than the threshold
+   */
+  public int evaluate(SearchPosition position) {
+    checkSolvable(position);
+    return search(position, -INFINITY, INFINITY);
+  }
+
+  /**
+   * Returns the number of positions visited since this solver was created.
+   *
+   * @return the node count
+   */
+  public long getNodeCount() {
+    return nodes;
+  }
+
+  private int search(SearchPosition position, int alpha, int beta) {
+    nodes++;
+    int player = position.getPlayerToMove();
+    if (position.isTerminal()) {
+      return position.getScore(player) - position.getScore(1 - player);
+    }
+
+    if (position.getEmptyCellCount() == 1) {
+      return lastPlacement(position);
+    }
+
+    long hash = position.getCanonicalHash();
+    int index = (int) (hash ^ (hash >>> 32)) & tableMask;
+    int hashMove = NO_MOVE;
+    if (tableBounds[index] != 0 && tableKeys[index] == hash) {
+      int stored = tableValues[index];
+      int bound = tableBounds[index];
+      if (bound == EXACT
+          || bound == LOWER && stored >= beta
+          || bound == UPPER && stored <= alpha) {
+        return stored;
+      }
+      hashMove = position.fromCanonicalMove(tableMoves[index]);
+    }
+
+    int ply = position.getEmptyCellCount();
+    int count = generateMoves(position, ply, hashMove);
+    int[] moves = moveBuffers[ply];
+    int[] scores = scoreBuffers[ply];
+    int originalAlpha = alpha;
+    int best = -INFINITY;
+    int bestMove = NO_MOVE;
+    for (int i = 0; i < count; i++) {
+      int move = nextMove(moves, scores, i, count);
+      position.place(move >>> 16, move & 0xFFFF);
+      int value;
+      if (i == 0) {
+        value = -search(position, -beta, -alpha);
+      } else {
+        // Later placements are first only tested against the best so far, with a null window.
+        value = -search(position, -alpha - 1, -alpha);
+        if (value > alpha && value < beta) {
+          value = -search(position, -beta, -alpha);
+        }
+      }
+      position.undo();
+      if (value > best) {
+        best = value;
+        bestMove = move;
+        if (value > alpha) {
+          alpha = value;
+          if (alpha >= beta) {
+            break;
+          }
+        }
+      }
+    }
+
+    tableKeys[index] = hash;
+    tableValues[index] = best;
+    tableMoves[index] = position.toCanonicalMove(bestMove);
+    if (best <= originalAlpha) {
+      tableBounds[index] = UPPER;
+    } else if (best >= beta) {
+      tableBounds[index] = LOWER;
+    } else {
+      tableBounds[index] = EXACT;
+    }
+    return best;
+  }
+
+  /**
+   * Returns the value of a position with one empty cell, where every placement ends the game.
+   */
+  private int lastPlacement(SearchPosition position) {
+    int player = position.getPlayerToMove();
+    int cell = SearchPosition.NONE;
+    for (int candidate : position.playableCells()) {
+      if (position.isEmpty(candidate)) {
+        cell = candidate;
+        break;
+      }
+    }
+    int best = -INFINITY;
+    for (int slot = 0; slot < position.getHandSize(player); slot++) {
+      if (position.isDistinctInHand(slot)) {
+        nodes++;
+        position.place(cell, slot);
+        best = Math.max(best, position.getScore(player) - position.getScore(1 - player));
+        position.undo();
+      }
+    }
+    return best;
+  }
+
+  /**
+   * Lists the placements of a position in the buffers for its ply, scored for ordering: the
+   * best placement stored for the position first, then placements that flip more cards.
+   *
+   * @return the number of placements
+   */
+  private int generateMoves(SearchPosition position, int ply, int hashMove) {
+    int player = position.getPlayerToMove();
+    int capacity = ply * position.getHandSize(player);
+    if (moveBuffers[ply] == null || moveBuffers[ply].length < capacity) {
+      moveBuffers[ply] = new int[capacity];
+      scoreBuffers[ply] = new int[capacity];
+    }
+    int[] moves = moveBuffers[ply];
+    int[] scores = scoreBuffers[ply];
+    int count = 0;
+    for (int cell : position.playableCells()) {
+      if (!position.isEmpty(cell)) {
+        continue;
+      }
+      for (int slot = 0; slot < position.getHandSize(player); slot++) {
+        if (!position.isDistinctInHand(slot)) {
+          continue;
+        }
+        int move = cell << 16 | slot;
+        int score = 0;
+        if (move == hashMove) {
+          score = Integer.MAX_VALUE;
+        } else if (ply > SHALLOW_PLY) {
+          score = position.place(cell, slot);
+          position.undo();
+        }
+        moves[count] = move;
+        scores[count] = score;
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Moves the highest scored of the remaining placements to position {@code i} and returns it.
+   */
+  private static int nextMove(int[] moves, int[] scores, int i, int count) {
+    int best = i;
+    for (int j = i + 1; j < count; j++) {
+      if (scores[j] > scores[best]) {
+        best = j;
+      }
+    }
+    int move = moves[best];
+    moves[best] = moves[i];
+    moves[i] = move;
+    int score = scores[best];
+    scores[best] = scores[i];
+    scores[i] = score;
+    return move;
+  }
+
+  /**
+   * Checks that a position can be solved, and clears the transposition table if the position is
+   * from a different game than the one the table was filled from.
+   */
+  private void checkSolvable(SearchPosition position) {
+    if (!canSolve(position)) {
+      throw new IllegalStateException("Too many empty cells to solve: "
+          + position.getEmptyCellCount());
+    }
+    long fingerprint = position.getGameFingerprint();
+    if (!tableUsed || fingerprint != tableFingerprint) {
+      Arrays.fill(tableBounds, (byte) 0);
+      tableFingerprint = fingerprint;
+      tableUsed = true;
+    }
+  }
+}
@@ -0,0 +1,173 @@
+package search;
+
+import strategies.Placement;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * An immutable table of the best placement for positions early in a game, keyed by the
+ * {@link SearchPosition#getCanonicalHash() canonical hash}, so positions that are symmetric
+ * images of each other share one entry. A book belongs to one game setup, identified
+ * by its {@link SearchPosition#getGameFingerprint() fingerprint}, and answers nothing for
+ * positions of any other setup.
+ *
+ * <p>Keys are kept sorted in a primitive array and looked up by binary search. On disk a book is
+ * magic {@code 3TRO}, a two byte version, the fingerprint ({@code long}), the entry count
+ * ({@code int}), then one record per entry in key order: the key ({@code long}) and the
+ * placement in the canonical form of the position, as the cell index in the high half and the
+ * index of the card among those still in hand in the low half ({@code int}). Numbers are
+ * big-endian.</p>
+ */
+public final class OpeningBook {
+
+  public static final int MAGIC = 0x3354524F; // "3TRO"
+  public static final short VERSION = 1;
+
+  private static final int HEADER_BYTES = 18;
+  private static final int RECORD_BYTES = 12;
+
+  private final long fingerprint;
+  private final long[] keys;
+  private final int[] moves;
+
+  /**
+   * Constructs an {@code OpeningBook} from the placements chosen for each position.
+   *
+   * @param fingerprint the fingerprint of the game the positions belong to
+   * @param entries     the placement for each position hash, as cell index in the high half and
+   *                    hand index in the low half
+   */
+  public OpeningBook(long fingerprint, Map<Long, Integer> entries) {
+    this.fingerprint = fingerprint;
+    this.keys = new long[entries.size()];
+    int index = 0;
+    for (long key : entries.keySet()) {
+      keys[index++] = key;
+    }
+    Arrays.sort(keys);
+    this.moves = new int[keys.length];
+    for (int i = 0; i < keys.length; i++) {
+      moves[i] = entries.get(keys[i]);
+    }
+  }
+
+  private OpeningBook(long fingerprint, long[] keys, int[] moves) {
+    this.fingerprint = fingerprint;
+    this.keys = keys;
+    this.moves = moves;
+  }
+
+  /**
+   * Looks up the placement for a position.
+   *
+   * @param position the position
+   * @return the book placement, with the card given by its index in the hand of the model, or
+   *         {@code null} if the position is not in the book or belongs to a different game
+   *         setup
+   */
+  public Placement lookup(SearchPosition position) {
+    if (position.getGameFingerprint() != fingerprint) {
+      return null;
+    }
+    int index = Arrays.binarySearch(keys, position.getCanonicalHash());
+    if (index < 0) {
+      return null;
+    }
+    int move = position.fromCanonicalMove(moves[index]);
+    int cell = move >>> 16;
+    return new Placement(position.rowOf(cell), position.columnOf(cell),
+        position.handIndexOf(move & 0xFFFF));
+  }
+
+  /**
+   * Returns the fingerprint of the game setup this book belongs to.
+   *
+   * @return the fingerprint
+   */
+  public long getFingerprint() {
+    return fingerprint;
+  }
+
+  /**
+   * Returns the number of positions in this book.
+   *
+   * @return the number of entries
+   */
+  public int size() {
+    return keys.length;
+  }
+
+  /**
+   * Writes this book to a file, replacing its contents.
+   *
+   * @param file the file to write
+   * @throws IllegalArgumentException if the file cannot be written
+   */
+  public void write(File file) {
+    ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + keys.length * RECORD_BYTES);
+    buffer.putInt(MAGIC).putShort(VERSION).putLong(fingerprint).putInt(keys.length);
+    for (int i = 0; i < keys.length; i++) {
+      buffer.putLong(keys[i]).putInt(moves[i]);
+    }
+    try (OutputStream out = new FileOutputStream(file)) {
+      out.write(buffer.array());
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Error writing " + file + ".", e);
+    }
+  }
+
+  /**
+   * Reads a book written by {@link #write(File)}, with a single memory map.
+   *
+   * @param file the file to read
+   * @return the book
+   * @throws IllegalArgumentException if the file is missing or is not an opening book of a known
+   *                                  version
+   */
+  public static OpeningBook read(File file) {
+    if (!file.exists() || !file.isFile()) {
+      throw new IllegalArgumentException("Opening book not found.");
+    }
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+      if (channel.size() < HEADER_BYTES || channel.size() > Integer.MAX_VALUE) {
+        throw new IllegalArgumentException("Invalid opening book.");
+      }
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      buffer.order(ByteOrder.BIG_ENDIAN);
+      if (buffer.getInt() != MAGIC) {
+        throw new IllegalArgumentException("Invalid opening book.");
+      }
+      short version = buffer.getShort();
+      if (version != VERSION) {
+        throw new IllegalArgumentException("Unsupported opening book version: " + version);
+      }
+      long fingerprint = buffer.getLong();
+      int count = buffer.getInt();
+      if (count < 0 || buffer.remaining() != (long) count * RECORD_BYTES) {
+        throw new IllegalArgumentException("Invalid opening book.");
+      }
+      long[] keys = new long[count];
+      int[] moves = new int[count];
+      for (int i = 0; i < count; i++) {
+        keys[i] = buffer.getLong();
+        moves[i] = buffer.getInt();
+        if (i > 0 && keys[i] <= keys[i - 1]) {
+          throw new IllegalArgumentException("Invalid opening book.");
+        }
+      }
+      return new OpeningBook(fingerprint, keys, moves);
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Error reading opening book.", e);
+    }
+  }
+}
@@ -0,0 +1,178 @@
+package search;
+
+import gameconfig.ConfigGame;
+import model.IModel;
+import model.ModelVarientImpl;
+import player.IPlayer;
+import player.PlayerColor;
+import player.PlayerImpl;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds an {@link OpeningBook} offline by self-play. Every position reachable in the first
+ * plies of a game is visited, whichever placements either player makes, and the book stores
+ * the placement with the best outcome for the player in turn.
+ *
+ * <p>A placement is rated by playing the rest of the game from it: each player in turn makes
+ * the placement that flips the most cards, ties going to the uppermost-leftmost cell and then
+ * the lowest hand index, until few enough cells are empty for an {@link EndgameSolver} to
+ * finish the game exactly. Positions reached by more than one order of placements, or that are
+ * symmetric images of each other, are rated once.</p>
+ *
+ * <p>Usage, for the default rules:</p>
+ * <pre>
+ *   java search.OpeningBookGenerator docs/board.config docs/card.database 2 board.book
+ * </pre>
+ */
+public class OpeningBookGenerator {
+
+  private static final String USAGE =
+      "Usage: OpeningBookGenerator BOARD CARD_DATABASE PLIES OUTPUT";
+  private static final int DEFAULT_ENDGAME_CELLS = 4;
+
+  private final int plies;
+  private final EndgameSolver solver;
+
+  /**
+   * Constructs an {@code OpeningBookGenerator}.
+   *
+   * @param plies         the number of placements from the start of the game to cover
+   * @param endgameCells  the number of empty cells at which self-play is finished exactly
+   * @throws IllegalArgumentException if either number is negative
+   */
+  public OpeningBookGenerator(int plies, int endgameCells) {
+    if (plies < 0) {
+      throw new IllegalArgumentException("Plies cannot be negative.");
+    }
+    this.plies = plies;
+    this.solver = new EndgameSolver(endgameCells);
+  }
+
+  /**
+   * Runs the generator on a board configuration and card database, with the default rules.
+   *
+   * @param args the board file, the card database file, the number of plies and the output file
+   */
+  public static void main(String[] args) {
+    if (args.length != 4) {
+      System.out.println(USAGE);
+      return;
+    }
+    ConfigGame config = new ConfigGame(new File(args[0]), new File(args[1]));
+    IPlayer red = new PlayerImpl(PlayerColor.RED, new ArrayList<>());
+    IPlayer blue = new PlayerImpl(PlayerColor.BLUE, new ArrayList<>());
+    IModel model = new ModelVarientImpl(config.getBoard(), config.getDeck(),
+        new ArrayList<>(List.of(red, blue)));
+    model.startGame();
+
+    long start = System.nanoTime();
+    OpeningBook book = new OpeningBookGenerator(Integer.parseInt(args[2]), DEFAULT_ENDGAME_CELLS)
+        .generate(SearchPosition.fromModel(model));
+    book.write(new File(args[3]));
+    System.out.println("Wrote " + book.size() + " positions in "
+        + (System.nanoTime() - start) / 1_000_000 + " ms.");
+  }
+
+  /**
+   * Generates the book for every position within the configured plies of a start position.
+   * The position is left as it was.
+   *
+   * @param start the position to start from, usually the start of a game
+   * @return the book
+   */
+  public OpeningBook generate(SearchPosition start) {
+    Map<Long, Integer> entries = new HashMap<>();
+    expand(start, 0, entries);
+    return new OpeningBook(start.getGameFingerprint(), entries);
+  }
+
+  private void expand(SearchPosition position, int ply, Map<Long, Integer> entries) {
+    long key = position.getCanonicalHash();
+    if (ply >= plies || position.isTerminal() || entries.containsKey(key)) {
+      return;
+    }
+    entries.put(key, position.toCanonicalMove(bestMove(position)));
+    for (int cell : position.playableCells()) {
+      if (!position.isEmpty(cell)) {
+        continue;
+      }
+      for (int slot = 0; slot < position.getHandSize(position.getPlayerToMove()); slot++) {
+        if (position.isDistinctInHand(slot)) {
+          position.place(cell, slot);
+          expand(position, ply + 1, entries);
+          position.undo();
+        }
+      }
+    }
+  }
+
+  /**
+   * Rates every placement by self-play and returns the best, as cell index in the high half
+   * and hand index in the low half.
+   */
+  private int bestMove(SearchPosition position) {
+    int best = Integer.MIN_VALUE;
+    int bestMove = 0;
+    for (int cell : position.playableCells()) {
+      if (!position.isEmpty(cell)) {
+        continue;
+      }
+      for (int slot = 0; slot < position.getHandSize(position.getPlayerToMove()); slot++) {
+        if (!position.isDistinctInHand(slot)) {
+          continue;
+        }
+        position.place(cell, slot);
+        int value = -playOut(position);
+        position.undo();
+        if (value > best) {
+          best = value;
+          bestMove = cell << 16 | slot;
+        }
+      }
+    }
+    return bestMove;
+  }
+
+  /**
+   * Plays a position to the end and returns the final score difference for the player in turn.
+   * Every placement made is taken back before returning.
+   */
+  private int playOut(SearchPosition position) {
+    int player = position.getPlayerToMove();
+    if (position.isTerminal()) {
+      return position.getScore(player) - position.getScore(1 - player);
+    }
+    if (solver.canSolve(position)) {
+      return solver.evaluate(position);
+    }
+    int bestFlips = -1;
+    int bestCell = 0;
+    int bestSlot = 0;
+    for (int cell : position.playableCells()) {
+      if (!position.isEmpty(cell)) {
+        continue;
+      }
+      for (int slot = 0; slot < position.getHandSize(player); slot++) {
+        if (!position.isDistinctInHand(slot)) {
+          continue;
+        }
+        int flips = position.place(cell, slot);
+        position.undo();
+        if (flips > bestFlips) {
+          bestFlips = flips;
+          bestCell = cell;
+          bestSlot = slot;
+        }
+      }
+    }
+    position.place(bestCell, bestSlot);
+    int value = -playOut(position);
+    position.undo();
+    return value;
+  }
+}
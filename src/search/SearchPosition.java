@@ -0,0 +1,730 @@
+package search;
+
+import card.CellTypeContents;
+import card.Direction;
+import card.ICard;
+import cardcomparison.CardComparisonStrategy;
+import flipcriteria.ICriteria;
+import model.BoardSymmetry;
+import model.BoardTopology;
+import model.IModel;
+import model.RuleEngine;
+import player.PlayerColor;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A snapshot of a game kept entirely in primitive arrays, for searches that play and take back
+ * many moves. Placing a card applies the same rules as the model, through the same
+ * {@link RuleEngine}: battles and the flip criteria against adjacent opponent cards, then the
+ * combo step from every card either of them flipped.
+ * {@link #undo()} restores the position exactly, and a Zobrist hash of the board, the hands and
+ * the player in turn is kept up to date incrementally. The hash depends only on which cards are
+ * where, not on how this snapshot numbered them, so it identifies a position across games.
+ *
+ * <p>A position is also hashed as seen through each symmetry of the game: each
+ * {@link BoardSymmetry symmetry} of the layout that maps the cards of the board and of each hand
+ * onto cards of the same values, once their values are turned with the board. Positions that
+ * are images of each other under such a symmetry share a
+ * {@link #getCanonicalHash() canonical hash}, and placements are carried between them with
+ * {@link #toCanonicalMove(int)} and {@link #fromCanonicalMove(int)}. Most decks have no card
+ * that turns into another, leaving only the identity, so canonical hashes then equal
+ * {@link #getHash()}.
+ *
+ * <p>Cells are numbered row by row. Cards are numbered as they are found on the board, then in
+ * the red hand, then in the blue hand, and keep their number for the life of the position.
+ * Hands keep the order of the players' hands in the model, so in a new snapshot a hand slot is
+ * also the index a {@link strategies.Placement} refers to. Played cards keep their slot, while
+ * the model's hand closes up behind them; {@link #handIndexOf(int)} converts.
+ */
+public class SearchPosition {
+
+  /** The owner of an empty or unplayable cell. */
+  public static final int NONE = -1;
+  /** The red player, first to move in every game. */
+  public static final int RED = 0;
+  /** The blue player. */
+  public static final int BLUE = 1;
+
+  private static final long SIDE_TO_MOVE_KEY = mix(0x5DEECE66DL);
+  private static final long[] HAND_KEYS = {mix(0xB7E151628AED2A6BL), mix(0x243F6A8885A308D3L)};
+
+  private final BoardTopology topology;
+  private final int[] playableCells;
+  private final byte[] sides;
+  private final long[][] cardKeys;
+  private final int[][] cellImages;
+  private final int[][][] slotImages;
+  private final int[] inverses;
+  private final int[][] hands;
+  private final RuleEngine engine;
+  private final long ruleKey;
+
+  private final int[] owner;
+  private final int[] cardAt;
+  private final boolean[] inHand;
+  private final int[] score = new int[2];
+  private int toMove;
+  private int emptyCount;
+  private final long[] hashes;
+  private final long[] handHashes;
+
+  private final int[] cellSides;
+  private final int[][] cardValues;
+  private final int[] flipped;
+  private int[] undoFlips;
+  private final int[] undoCells;
+  private final int[] undoFlipStart;
+  private int undoDepth;
+  private int undoFlipCount;
+
+  /**
+   * Constructs a {@code SearchPosition} from the raw parts of a game.
+   *
+   * @param availability the cell types of the board, where {@code CARD} cells hold a card
+   * @param board        the cards on the board, {@code null} where there is none
+   * @param redHand      the cards in the red player's hand, in hand order
+   * @param blueHand     the cards in the blue player's hand, in hand order
+   * @param toMove       the player in turn
+   * @param comparison   the strategy that decides battles
+   * @param criteria     the additional flip criteria, or {@code null} for none
+   */
+  public SearchPosition(CellTypeContents[][] availability, ICard[][] board,
+                        List<ICard> redHand, List<ICard> blueHand, PlayerColor toMove,
+                        CardComparisonStrategy comparison, ICriteria criteria) {
+    this.topology = BoardTopology.of(availability);
+    int rows = topology.getRows();
+    int cols = topology.getColumns();
+    int cellCount = topology.getCellCount();
+    int cardCount = redHand.size() + blueHand.size();
+    for (ICard[] row : board) {
+      for (ICard card : row) {
+        if (card != null) {
+          cardCount++;
+        }
+      }
+    }
+
+    this.ruleKey = criteria == null ? 0 : criteria.getClass().getName().hashCode();
+    this.engine = RuleEngine.forRules(topology, comparison, criteria);
+    this.sides = new byte[cardCount * 4];
+    this.cardValues = new int[cardCount][4];
+    BoardSymmetry symmetry = topology.getSymmetry();
+    long[][] keys = new long[symmetry.size()][cardCount];
+    this.owner = new int[cellCount];
+    this.cardAt = new int[cellCount];
+    this.inHand = new boolean[cardCount];
+    this.cellSides = new int[cellCount * 4];
+    this.flipped = new int[cellCount];
+    this.undoFlips = new int[cellCount * 4];
+    this.undoCells = new int[cellCount];
+    this.undoFlipStart = new int[cellCount];
+    this.toMove = toMove == PlayerColor.BLUE ? BLUE : RED;
+
+    int nextCard = 0;
+    for (int row = 0; row < rows; row++) {
+      for (int col = 0; col < cols; col++) {
+        int cell = row * cols + col;
+        owner[cell] = NONE;
+        cardAt[cell] = NONE;
+        CellTypeContents type = availability[row][col];
+        if (type == CellTypeContents.EMPTY) {
+          emptyCount++;
+        } else if (type == CellTypeContents.CARD && board[row][col] != null) {
+          ICard card = board[row][col];
+          storeSides(nextCard, card, keys);
+          cardAt[cell] = nextCard++;
+          storeCellSides(cell, cardAt[cell]);
+          owner[cell] = card.getPlayerColor() == PlayerColor.RED ? RED : BLUE;
+          score[owner[cell]]++;
+        }
+      }
+    }
+    int boardCards = nextCard;
+
+    this.playableCells = new int[topology.getPlayableCellCount()];
+    for (int index = 0; index < playableCells.length; index++) {
+      playableCells[index] = topology.playableCell(index);
+    }
+
+    this.hands = new int[2][];
+    this.hands[RED] = new int[redHand.size()];
+    for (int slot = 0; slot < redHand.size(); slot++) {
+      storeSides(nextCard, redHand.get(slot), keys);
+      inHand[nextCard] = true;
+      hands[RED][slot] = nextCard++;
+    }
+    this.hands[BLUE] = new int[blueHand.size()];
+    for (int slot = 0; slot < blueHand.size(); slot++) {
+      storeSides(nextCard, blueHand.get(slot), keys);
+      inHand[nextCard] = true;
+      hands[BLUE][slot] = nextCard++;
+    }
+
+    // The cards first on the board and those in each hand are matched separately, so that a
+    // symmetry keeps every card where it started and carries hand slots to hand slots.
+    int[] groups = {0, boardCards, boardCards + redHand.size(), cardCount};
+    int[] usable = new int[symmetry.size()];
+    int[][] permutations = new int[symmetry.size()][];
+    int count = 0;
+    for (int candidate = 0; candidate < symmetry.size(); candidate++) {
+      int[] permutation = permutation(keys[0], keys[candidate], groups);
+      if (permutation != null) {
+        permutations[count] = permutation;
+        usable[count++] = candidate;
+      }
+    }
+    this.cardKeys = new long[count][];
+    this.cellImages = new int[count][cellCount];
+    this.slotImages = new int[count][2][];
+    this.inverses = new int[count];
+    for (int index = 0; index < count; index++) {
+      cardKeys[index] = keys[usable[index]];
+      for (int cell = 0; cell < cellCount; cell++) {
+        cellImages[index][cell] = symmetry.cell(usable[index], cell);
+      }
+      for (int player = RED; player <= BLUE; player++) {
+        int first = groups[player + 1];
+        slotImages[index][player] = new int[hands[player].length];
+        for (int slot = 0; slot < hands[player].length; slot++) {
+          slotImages[index][player][slot] = permutations[index][first + slot] - first;
+        }
+      }
+      for (int other = 0; other < count; other++) {
+        if (usable[other] == symmetry.inverse(usable[index])) {
+          inverses[index] = other;
+        }
+      }
+    }
+
+    this.hashes = new long[count];
+    this.handHashes = new long[count];
+    for (int player = RED; player <= BLUE; player++) {
+      for (int card : hands[player]) {
+        moveHandCard(player, card, 1);
+      }
+    }
+    for (int cell = 0; cell < cellCount; cell++) {
+      if (cardAt[cell] != NONE) {
+        toggle(cell, owner[cell], cardAt[cell]);
+      }
+    }
+    if (this.toMove == BLUE) {
+      toggleSideToMove();
+    }
+  }
+
+  /**
+   * Matches every card with a card of its group whose key is the card's key under a symmetry,
+   * each card matched once.
+   *
+   * @param keys    the key of each card
+   * @param turned  the key of each card with its values turned by the symmetry
+   * @param groups  the first card of each group, then the number of cards
+   * @return the card each card is matched with, or {@code null} if some card has no match
+   */
+  private static int[] permutation(long[] keys, long[] turned, int[] groups) {
+    int[] permutation = new int[keys.length];
+    boolean[] matched = new boolean[keys.length];
+    for (int group = 0; group + 1 < groups.length; group++) {
+      for (int card = groups[group]; card < groups[group + 1]; card++) {
+        int match = NONE;
+        for (int other = groups[group]; other < groups[group + 1] && match == NONE; other++) {
+          if (!matched[other] && keys[other] == turned[card]) {
+            match = other;
+          }
+        }
+        if (match == NONE) {
+          return null;
+        }
+        matched[match] = true;
+        permutation[card] = match;
+      }
+    }
+    return permutation;
+  }
+
+  /**
+   * Takes a snapshot of the current state of a model.
+   *
+   * @param model the model to copy
+   * @return the position of the model
+   */
+  public static SearchPosition fromModel(IModel model) {
+    CellTypeContents[][] availability = model.getBoardAvailability();
+    // The cards are read as they are rather than through the copies of getBoard().
+    ICard[][] board = new ICard[availability.length][availability[0].length];
+    for (int row = 0; row < board.length; row++) {
+      for (int col = 0; col < board[row].length; col++) {
+        board[row][col] = model.findCardAt(row, col);
+      }
+    }
+    return new SearchPosition(availability, board,
+        model.getHandView(PlayerColor.RED), model.getHandView(PlayerColor.BLUE),
+        model.getCurrentPlayerColor(), model.getCardComparisonStrategy(),
+        model.getFlipCriteria());
+  }
+
+  /**
+   * Places a card from the hand of the player in turn and passes the turn.
+   *
+   * @param cell the empty cell to place the card in
+   * @param slot the slot of the card in the hand of the player in turn
+   * @return the number of cards flipped by the placement
+   * @throws IllegalArgumentException if the cell is not empty or the card was already played
+   */
+  public int place(int cell, int slot) {
+    int card = hands[toMove][slot];
+    if (cell < 0 || cell >= owner.length || topology.isHole(cell) || owner[cell] != NONE
+        || !inHand[card]) {
+      throw new IllegalArgumentException("Invalid placement in search position.");
+    }
+    int player = toMove;
+    int opponent = 1 - player;
+
+    owner[cell] = player;
+    cardAt[cell] = card;
+    storeCellSides(cell, card);
+    inHand[card] = false;
+    moveHandCard(player, card, -1);
+    score[player]++;
+    emptyCount--;
+    toggle(cell, player, card);
+
+    undoCells[undoDepth] = cell;
+    undoFlipStart[undoDepth] = undoFlipCount;
+    undoDepth++;
+
+    int flips = engine.resolve(owner, cellSides, cell, player, cardValues[card], flipped);
+    for (int i = 0; i < flips; i++) {
+      flip(flipped[i], player);
+    }
+
+    toMove = opponent;
+    toggleSideToMove();
+    return undoFlipCount - undoFlipStart[undoDepth - 1];
+  }
+
+  /**
+   * Takes back the most recent placement.
+   *
+   * @throws IllegalStateException if no placement has been made
+   */
+  public void undo() {
+    if (undoDepth == 0) {
+      throw new IllegalStateException("No placement to undo.");
+    }
+    undoDepth--;
+    int player = 1 - toMove;
+    int opponent = toMove;
+    int start = undoFlipStart[undoDepth];
+    while (undoFlipCount > start) {
+      int cell = undoFlips[--undoFlipCount];
+      owner[cell] = opponent;
+      score[player]--;
+      score[opponent]++;
+      toggle(cell, player, cardAt[cell]);
+      toggle(cell, opponent, cardAt[cell]);
+    }
+    int cell = undoCells[undoDepth];
+    int card = cardAt[cell];
+    toggle(cell, player, card);
+    toggleSideToMove();
+    owner[cell] = NONE;
+    cardAt[cell] = NONE;
+    inHand[card] = true;
+    moveHandCard(player, card, 1);
+    score[player]--;
+    emptyCount++;
+    toMove = player;
+  }
+
+  private void flip(int cell, int newOwner) {
+    int card = cardAt[cell];
+    toggle(cell, owner[cell], card);
+    toggle(cell, newOwner, card);
+    score[owner[cell]]--;
+    owner[cell] = newOwner;
+    score[newOwner]++;
+    if (undoFlipCount == undoFlips.length) {
+      undoFlips = Arrays.copyOf(undoFlips, undoFlips.length * 2);
+    }
+    undoFlips[undoFlipCount++] = cell;
+  }
+
+  /**
+   * Returns the Zobrist hash of the cards on the board, their owners, the cards in each hand and
+   * the player in turn. The hands are hashed because games with the same cards can deal them
+   * differently, and a placement is only as good as the cards left to answer it.
+   *
+   * @return the hash of the position
+   */
+  public long getHash() {
+    return hash(0);
+  }
+
+  /**
+   * Returns the number of symmetries of the game, counting the identity: the symmetries of the
+   * layout that map the cards of the board and of each hand onto cards with the same values.
+   *
+   * @return from 1 to 8
+   */
+  public int getSymmetryCount() {
+    return hashes.length;
+  }
+
+  /**
+   * Returns the symmetry that takes this position to its canonical form, the image with the
+   * smallest hash. Ties go to the lowest symmetry, the identity being 0.
+   *
+   * @return the canonical symmetry, from 0 to {@link #getSymmetryCount()} - 1
+   */
+  public int getCanonicalSymmetry() {
+    int canonical = 0;
+    for (int symmetry = 1; symmetry < hashes.length; symmetry++) {
+      if (hash(symmetry) < hash(canonical)) {
+        canonical = symmetry;
+      }
+    }
+    return canonical;
+  }
+
+  /**
+   * Returns the hash of the canonical form of this position. Positions that are images of each
+   * other under a symmetry of the game have the same canonical hash, so tables keyed by it keep
+   * one entry for all of them.
+   *
+   * @return the smallest hash among the images of the position
+   */
+  public long getCanonicalHash() {
+    return hash(getCanonicalSymmetry());
+  }
+
+  /**
+   * Carries a placement of the player in turn into the canonical form of this position. The
+   * card is given by its index among the cards still in hand, in slot order, rather than by its
+   * slot, since slots are numbered from the hands this snapshot was taken from and another
+   * snapshot of the same position may number them differently.
+   *
+   * @param move the placement, as cell index in the high half and hand slot in the low half
+   * @return the same placement in the canonical form, as cell index in the high half and hand
+   *         index in the low half
+   */
+  public int toCanonicalMove(int move) {
+    int symmetry = getCanonicalSymmetry();
+    int[] images = slotImages[symmetry][toMove];
+    return cellImages[symmetry][move >>> 16] << 16 | handRank(images, images[move & 0xFFFF]);
+  }
+
+  /**
+   * Carries a placement of the player in turn from the canonical form of this position back to
+   * the position itself.
+   *
+   * @param move the placement in the canonical form, as cell index in the high half and hand
+   *             index in the low half
+   * @return the same placement in this position, as cell index in the high half and hand slot
+   *         in the low half
+   * @throws IllegalArgumentException if the player in turn has no card at the hand index
+   */
+  public int fromCanonicalMove(int move) {
+    int symmetry = getCanonicalSymmetry();
+    int[] images = slotImages[symmetry][toMove];
+    int index = move & 0xFFFF;
+    for (int slot = 0; slot < images.length; slot++) {
+      if (isInHand(slot) && handRank(images, images[slot]) == index) {
+        return cellImages[inverses[symmetry]][move >>> 16] << 16 | slot;
+      }
+    }
+    throw new IllegalArgumentException("No card at hand index " + index + ".");
+  }
+
+  /**
+   * Returns the index a hand slot of the player in turn has in the hand of the model, where
+   * played cards are gone and the cards after them have moved up.
+   *
+   * @param slot the hand slot
+   * @return the number of cards still in hand in earlier slots
+   */
+  public int handIndexOf(int slot) {
+    return handRank(slotImages[0][toMove], slot);
+  }
+
+  /**
+   * Counts the cards in hand of the player in turn whose image under a symmetry comes before a
+   * slot.
+   */
+  private int handRank(int[] images, int image) {
+    int rank = 0;
+    for (int slot = 0; slot < images.length; slot++) {
+      if (isInHand(slot) && images[slot] < image) {
+        rank++;
+      }
+    }
+    return rank;
+  }
+
+  /**
+   * Returns a hash of everything about the game that stays the same from move to move: the
+   * board layout, the set of cards in play and the rules. Positions of one game all share the
+   * same fingerprint, so it tells whether stored knowledge about positions, such as an opening
+   * book, applies to this game at all. How the cards were dealt is left to the position hashes,
+   * which cover the hands, since a card on the board no longer shows which hand it came from.
+   *
+   * @return the fingerprint of the game
+   */
+  public long getGameFingerprint() {
+    long fingerprint = mix((long) topology.getRows() << 32 | topology.getColumns())
+        ^ mix(-1L - ruleKey);
+    for (int cell = 0; cell < topology.getCellCount(); cell++) {
+      if (topology.isHole(cell)) {
+        fingerprint ^= mix(cell * 0x100000001L);
+      }
+    }
+    // Card numbers depend on where cards are, so cards are combined in an order-free way.
+    for (long cardKey : cardKeys[0]) {
+      fingerprint += cardKey;
+    }
+    for (int placed = 1; placed <= 10; placed++) {
+      for (int adjacent = 1; adjacent <= 10; adjacent++) {
+        if (engine.getBattle().beats(placed, adjacent)) {
+          fingerprint ^= mix(-(placed * 11L + adjacent));
+        }
+      }
+    }
+    return fingerprint;
+  }
+
+  /**
+   * Returns the player in turn.
+   *
+   * @return {@link #RED} or {@link #BLUE}
+   */
+  public int getPlayerToMove() {
+    return toMove;
+  }
+
+  /**
+   * Returns the number of cards a player owns on the board.
+   *
+   * @param player {@link #RED} or {@link #BLUE}
+   * @return the player's score
+   */
+  public int getScore(int player) {
+    return score[player];
+  }
+
+  /**
+   * Returns the number of empty cells left on the board.
+   *
+   * @return the number of empty cells
+   */
+  public int getEmptyCellCount() {
+    return emptyCount;
+  }
+
+  /**
+   * Checks whether the game is over, either because the board is full or because the player in
+   * turn has no cards left.
+   *
+   * @return {@code true} if no more placements can be made
+   */
+  public boolean isTerminal() {
+    if (emptyCount == 0) {
+      return true;
+    }
+    for (int card : hands[toMove]) {
+      if (inHand[card]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns the cells cards can be placed in, empty or not, in row-major order.
+   *
+   * @return the playable cells; callers must not modify the array
+   */
+  int[] playableCells() {
+    return playableCells;
+  }
+
+  /**
+   * Returns the owner of the card on a cell.
+   *
+   * @param cell the cell
+   * @return {@link #RED}, {@link #BLUE}, or {@link #NONE} if the cell has no card
+   */
+  public int getOwner(int cell) {
+    return owner[cell];
+  }
+
+  /**
+   * Checks whether a cell is empty.
+   *
+   * @param cell the cell
+   * @return {@code true} if no card is on the cell
+   */
+  public boolean isEmpty(int cell) {
+    return owner[cell] == NONE;
+  }
+
+  /**
+   * Returns the number of slots in a player's hand, including slots already played.
+   *
+   * @param player {@link #RED} or {@link #BLUE}
+   * @return the original hand size of the player
+   */
+  public int getHandSize(int player) {
+    return hands[player].length;
+  }
+
+  /**
+   * Checks whether the card in a hand slot of the player in turn is still in hand.
+   *
+   * @param slot the hand slot
+   * @return {@code true} if the card can be played
+   */
+  public boolean isInHand(int slot) {
+    return inHand[hands[toMove][slot]];
+  }
+
+  /**
+   * Checks whether the card in a hand slot of the player in turn is still in hand and differs in
+   * its values from every earlier card still in hand. Searches only need to try such slots,
+   * since playing a card with the same values as another leads to the same game.
+   *
+   * @param slot the hand slot
+   * @return {@code true} if the card should be tried
+   */
+  public boolean isDistinctInHand(int slot) {
+    if (!isInHand(slot)) {
+      return false;
+    }
+    for (int earlier = 0; earlier < slot; earlier++) {
+      if (isInHand(earlier) && hasSameValues(earlier, slot)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Checks whether two hand slots of the player in turn hold cards with the same values, which
+   * makes playing either one equivalent.
+   *
+   * @param slot  the first hand slot
+   * @param other the second hand slot
+   * @return {@code true} if all four values match
+   */
+  public boolean hasSameValues(int slot, int other) {
+    int first = hands[toMove][slot] * 4;
+    int second = hands[toMove][other] * 4;
+    return sides[first] == sides[second] && sides[first + 1] == sides[second + 1]
+        && sides[first + 2] == sides[second + 2] && sides[first + 3] == sides[second + 3];
+  }
+
+  /**
+   * Returns the row of a cell.
+   *
+   * @param cell the cell
+   * @return its row on the board
+   */
+  public int rowOf(int cell) {
+    return topology.rowOf(cell);
+  }
+
+  /**
+   * Returns the column of a cell.
+   *
+   * @param cell the cell
+   * @return its column on the board
+   */
+  public int columnOf(int cell) {
+    return topology.columnOf(cell);
+  }
+
+  private void storeCellSides(int cell, int card) {
+    System.arraycopy(cardValues[card], 0, cellSides, cell * 4, 4);
+  }
+
+  /**
+   * Stores the values of a card, and its key with its values turned by each symmetry of the
+   * layout.
+   */
+  private void storeSides(int card, ICard source, long[][] keys) {
+    for (Direction direction : Direction.values()) {
+      int value = source.getValue(direction);
+      sides[card * 4 + direction.ordinal()] = (byte) value;
+      cardValues[card][direction.ordinal()] = value;
+    }
+    BoardSymmetry symmetry = topology.getSymmetry();
+    int[] turned = new int[4];
+    for (int index = 0; index < keys.length; index++) {
+      for (int direction = 0; direction < 4; direction++) {
+        turned[symmetry.direction(index, direction)] = cardValues[card][direction];
+      }
+      long packed = 0;
+      for (int value : turned) {
+        packed = packed << 4 | value;
+      }
+      keys[index][card] = mix(packed << 32 | (source.getName().hashCode() & 0xFFFFFFFFL));
+    }
+  }
+
+  /**
+   * Returns the hash key of a card on a cell, as seen through a symmetry of the game. Cards are
+   * keyed by their name and values rather than their number, so the same position has the same
+   * hash in every snapshot of every game.
+   */
+  private long key(int symmetry, int cell, int player, int card) {
+    return mix(cardKeys[symmetry][card] ^ ((long) cellImages[symmetry][cell] << 1 | player));
+  }
+
+  /**
+   * Adds or removes a card of a player on a cell in the hash of every symmetry.
+   */
+  private void toggle(int cell, int player, int card) {
+    for (int symmetry = 0; symmetry < hashes.length; symmetry++) {
+      hashes[symmetry] ^= key(symmetry, cell, player, card);
+    }
+  }
+
+  /**
+   * Adds a card to or removes it from a player's hand in the hash of every symmetry. Hands are
+   * summed rather than toggled, so that two cards with the same name and values held in one
+   * hand do not cancel out.
+   *
+   * @param sign 1 to add the card, -1 to remove it
+   */
+  private void moveHandCard(int player, int card, int sign) {
+    for (int symmetry = 0; symmetry < handHashes.length; symmetry++) {
+      handHashes[symmetry] += sign * mix(cardKeys[symmetry][card] ^ HAND_KEYS[player]);
+    }
+  }
+
+  /**
+   * Returns the hash of the position as seen through a symmetry of the game.
+   */
+  private long hash(int symmetry) {
+    return hashes[symmetry] ^ handHashes[symmetry];
+  }
+
+  private void toggleSideToMove() {
+    for (int symmetry = 0; symmetry < hashes.length; symmetry++) {
+      hashes[symmetry] ^= SIDE_TO_MOVE_KEY;
+    }
+  }
+
+  /**
+   * The SplitMix64 finalizer, used in place of a table of random keys so that large decks and
+   * boards cost no memory.
+   */
+  private static long mix(long value) {
+    long z = value + 0x9E3779B97F4A7C15L;
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+}
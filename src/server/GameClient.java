@@ -0,0 +1,349 @@
+package server;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+
+/**
+ * A blocking client of a {@link GameServer}, used to play over a loopback connection in tests
+ * and by the {@link LoadGenerator}. It keeps a copy of the board and its hand up to date from
+ * the messages it reads, so a caller can pick legal moves without a model of its own.
+ *
+ * <p>A client is used by one thread at a time.</p>
+ */
+public class GameClient implements AutoCloseable {
+
+  /** The owner of an empty cell. */
+  public static final int EMPTY = -1;
+  /** The owner of a hole. */
+  public static final int HOLE = -2;
+
+  private final Socket socket;
+  private final DataInputStream in;
+  private final DataOutputStream out;
+
+  private int color = -1;
+  private int gameId;
+  private int rows;
+  private int columns;
+  private int[] owners = new int[0];
+  private short[] hand = new short[0];
+  private int handSize;
+  private int turn = -1;
+  private boolean gameOver = true;
+  private int winner = -1;
+  private int redScore;
+  private int blueScore;
+  private int lastError;
+  private int lastFlips;
+  private int pendingCardIndex = -1;
+  private long placedAt;
+  private long lastRoundTripNanos;
+
+  /**
+   * Constructs a {@code GameClient} connected to a server.
+   *
+   * @param address the address of the server
+   * @throws IOException if the connection cannot be made
+   */
+  public GameClient(InetSocketAddress address) throws IOException {
+    this.socket = new Socket(address.getAddress(), address.getPort());
+    socket.setTcpNoDelay(true);
+    this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+    this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+  }
+
+  /**
+   * Asks for a game and waits until the server starts one with another client.
+   *
+   * @throws IOException           if the connection fails
+   * @throws IllegalStateException if the client is already in a game
+   */
+  public void join() throws IOException {
+    if (!gameOver) {
+      throw new IllegalStateException("The client is already in a game.");
+    }
+    lastError = 0;
+    out.writeShort(1);
+    out.writeByte(Protocol.JOIN);
+    out.flush();
+    while (readMessage() != Protocol.START) {
+      if (lastError != 0) {
+        throw new IllegalStateException("The server refused to start a game: " + lastError);
+      }
+    }
+  }
+
+  /**
+   * Sends a placement. The board changes when the server's reply is read.
+   *
+   * @param row       the row of the cell
+   * @param column    the column of the cell
+   * @param cardIndex the index of the card in this client's hand
+   * @throws IOException if the connection fails
+   */
+  public void place(int row, int column, int cardIndex) throws IOException {
+    out.writeShort(4);
+    out.writeByte(Protocol.PLACE);
+    out.writeByte(row);
+    out.writeByte(column);
+    out.writeByte(cardIndex);
+    pendingCardIndex = cardIndex;
+    placedAt = System.nanoTime();
+    out.flush();
+  }
+
+  /**
+   * Reads messages until this client may place a card or the game is over. A placement the
+   * server refused in this client's turn leaves it this client's turn, with the reason in
+   * {@link #getLastError()}.
+   *
+   * @return {@code true} if it is this client's turn, {@code false} if the game is over
+   * @throws IOException if the connection fails
+   */
+  public boolean awaitTurn() throws IOException {
+    lastError = 0;
+    while (true) {
+      byte type = readMessage();
+      if (gameOver) {
+        return false;
+      }
+      if ((type == Protocol.ERROR || type == Protocol.TURN) && turn == color) {
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Reads and applies one message from the server.
+   *
+   * @return the type of the message
+   * @throws IOException if the connection fails or the server sent something malformed
+   */
+  public byte readMessage() throws IOException {
+    int length = in.readUnsignedShort();
+    if (length == 0) {
+      throw new IOException("Empty frame.");
+    }
+    byte type = in.readByte();
+    switch (type) {
+      case Protocol.START:
+        readStart();
+        break;
+      case Protocol.DELTA:
+        readDelta();
+        break;
+      case Protocol.TURN:
+        turn = in.readUnsignedByte();
+        break;
+      case Protocol.GAME_OVER:
+        winner = in.readUnsignedByte();
+        redScore = in.readUnsignedByte();
+        blueScore = in.readUnsignedByte();
+        gameOver = true;
+        break;
+      case Protocol.ERROR:
+        lastError = in.readUnsignedByte();
+        if (lastError == Protocol.OPPONENT_LEFT) {
+          gameOver = true;
+        }
+        break;
+      default:
+        in.skipBytes(length - 1);
+    }
+    return type;
+  }
+
+  private void readStart() throws IOException {
+    color = in.readUnsignedByte();
+    gameId = in.readInt();
+    rows = in.readUnsignedByte();
+    columns = in.readUnsignedByte();
+    owners = new int[rows * columns];
+    for (int first = 0; first < owners.length; first += 8) {
+      int bits = in.readUnsignedByte();
+      for (int cell = first; cell < Math.min(first + 8, owners.length); cell++) {
+        owners[cell] = (bits & 0x80 >>> (cell - first)) != 0 ? HOLE : EMPTY;
+      }
+    }
+    handSize = in.readUnsignedByte();
+    hand = new short[handSize];
+    for (int i = 0; i < handSize; i++) {
+      hand[i] = in.readShort();
+    }
+    turn = -1;
+    gameOver = false;
+    winner = -1;
+    lastError = 0;
+  }
+
+  private void readDelta() throws IOException {
+    int placer = in.readUnsignedByte();
+    int cell = in.readUnsignedByte() * columns + in.readUnsignedByte();
+    in.readShort();
+    owners[cell] = placer;
+    lastFlips = in.readUnsignedByte();
+    for (int i = 0; i < lastFlips; i++) {
+      owners[in.readUnsignedByte() * columns + in.readUnsignedByte()] = placer;
+    }
+    if (placer == color && pendingCardIndex >= 0) {
+      System.arraycopy(hand, pendingCardIndex + 1, hand, pendingCardIndex,
+          handSize - pendingCardIndex - 1);
+      handSize--;
+      pendingCardIndex = -1;
+      lastRoundTripNanos = System.nanoTime() - placedAt;
+    }
+  }
+
+  /**
+   * Returns this client's color in the current or last game.
+   *
+   * @return {@link Protocol#RED} or {@link Protocol#BLUE}, or -1 before the first game
+   */
+  public int getColor() {
+    return color;
+  }
+
+  /**
+   * Returns the server's id of the current or last game.
+   *
+   * @return the game id
+   */
+  public int getGameId() {
+    return gameId;
+  }
+
+  /**
+   * Returns the number of rows of the board.
+   *
+   * @return the row count
+   */
+  public int getRows() {
+    return rows;
+  }
+
+  /**
+   * Returns the number of columns of the board.
+   *
+   * @return the column count
+   */
+  public int getColumns() {
+    return columns;
+  }
+
+  /**
+   * Returns who owns a cell.
+   *
+   * @param row    the row of the cell
+   * @param column the column of the cell
+   * @return the color of the owner, {@link #EMPTY} or {@link #HOLE}
+   */
+  public int getOwner(int row, int column) {
+    return owners[row * columns + column];
+  }
+
+  /**
+   * Returns the number of cards left in this client's hand.
+   *
+   * @return the hand size
+   */
+  public int getHandSize() {
+    return handSize;
+  }
+
+  /**
+   * Returns a card of this client's hand.
+   *
+   * @param index the index of the card in the hand
+   * @return the packed sides of the card
+   * @throws IndexOutOfBoundsException if there is no such card
+   */
+  public short getHandCard(int index) {
+    if (index < 0 || index >= handSize) {
+      throw new IndexOutOfBoundsException("No card at index " + index + ".");
+    }
+    return hand[index];
+  }
+
+  /**
+   * Returns the color of the player in turn.
+   *
+   * @return {@link Protocol#RED} or {@link Protocol#BLUE}, or -1 before the first turn
+   */
+  public int getTurn() {
+    return turn;
+  }
+
+  /**
+   * Checks whether the last game has ended, or no game was ever started.
+   *
+   * @return {@code true} if the client is not in a game
+   */
+  public boolean isGameOver() {
+    return gameOver;
+  }
+
+  /**
+   * Returns the winner of the last game.
+   *
+   * @return the winning color, {@link Protocol#DRAW}, or -1 if the game had no result
+   */
+  public int getWinner() {
+    return winner;
+  }
+
+  /**
+   * Returns the red score at the end of the last game.
+   *
+   * @return the number of cards red owned
+   */
+  public int getRedScore() {
+    return redScore;
+  }
+
+  /**
+   * Returns the blue score at the end of the last game.
+   *
+   * @return the number of cards blue owned
+   */
+  public int getBlueScore() {
+    return blueScore;
+  }
+
+  /**
+   * Returns the error code of the last error message read.
+   *
+   * @return one of the error codes of {@link Protocol}, or 0 if there was none
+   */
+  public int getLastError() {
+    return lastError;
+  }
+
+  /**
+   * Returns the number of cards flipped by the last placement read.
+   *
+   * @return the flip count
+   */
+  public int getLastFlips() {
+    return lastFlips;
+  }
+
+  /**
+   * Returns the time between sending this client's last accepted placement and reading the
+   * board change it caused.
+   *
+   * @return the round trip in nanoseconds
+   */
+  public long getLastRoundTripNanos() {
+    return lastRoundTripNanos;
+  }
+
+  @Override
+  public void close() throws IOException {
+    socket.close();
+  }
+}
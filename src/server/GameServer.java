@@ -0,0 +1,553 @@
+package server;
+
+import card.CellTypeContents;
+import card.ICard;
+import controller.ModelObserver;
+import gameconfig.ConfigGame;
+import gameconfig.GameSetup;
+import model.BoardTopology;
+import model.IModel;
+import model.ModelVarientImpl;
+import player.IPlayer;
+import player.PlayerColor;
+import player.PlayerImpl;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hosts games for remote players over TCP, speaking the {@link Protocol}. Clients join, are
+ * paired two at a time into a new game made from one shared {@link GameSetup}, then send
+ * placements and receive the resulting board changes.
+ *
+ * <p>Every game is an ordinary {@link IModel}: a placement is checked and made with
+ * {@link IModel#placeCard}, the cards it flips are those the model reports through
+ * {@link IModel#getFlippedPositions} just before, and turn changes and the end of the game
+ * come from the model's {@link ModelObserver} notifications. Clients therefore see exactly the
+ * rules a local game would play.</p>
+ *
+ * <p>One thread owns every connection and every game. It waits on a selector, reads whole
+ * frames as they arrive, applies them, and queues the replies, so a single server holds many
+ * games without a thread per player; a placement takes microseconds, far less than a network
+ * round trip.</p>
+ */
+public class GameServer implements AutoCloseable {
+
+  private static final int READ_BUFFER_BYTES = 256;
+  private static final int WRITE_BUFFER_BYTES = 512;
+
+  private final GameSetup setup;
+  private final Selector selector;
+  private final ServerSocketChannel serverChannel;
+  private final Thread loop;
+  private final AtomicInteger activeGames = new AtomicInteger();
+  private volatile boolean running;
+  private volatile boolean closed;
+
+  private Connection waiting;
+  private int nextGameId;
+
+  /**
+   * Constructs a {@code GameServer} listening on a port of every local address. The server
+   * accepts connections once {@link #start()} is called.
+   *
+   * @param setup the board and cards every game is played with
+   * @param port  the port to listen on, or 0 for any free port
+   * @throws IOException              if the port cannot be bound
+   * @throws IllegalArgumentException if the setup is null, or its board, its number of
+   *                                  playable cells or either hand is too large for the
+   *                                  protocol
+   */
+  public GameServer(GameSetup setup, int port) throws IOException {
+    this(setup, new InetSocketAddress(port));
+  }
+
+  /**
+   * Constructs a {@code GameServer} listening on a given address. The server accepts
+   * connections once {@link #start()} is called.
+   *
+   * @param setup   the board and cards every game is played with
+   * @param address the address to listen on
+   * @throws IOException              if the address cannot be bound
+   * @throws IllegalArgumentException if the setup is null, or its board, its number of
+   *                                  playable cells or either hand is too large for the
+   *                                  protocol
+   */
+  public GameServer(GameSetup setup, InetSocketAddress address) throws IOException {
+    if (setup == null || address == null) {
+      throw new IllegalArgumentException("Setup and address cannot be null.");
+    }
+    if (setup.getRows() > 0xFF || setup.getColumns() > 0xFF) {
+      throw new IllegalArgumentException("The board is too large to be served.");
+    }
+    // Scores and flip counts are single bytes, and neither can exceed the playable cells.
+    int playableCells = 0;
+    for (int row = 0; row < setup.getRows(); row++) {
+      for (int col = 0; col < setup.getColumns(); col++) {
+        if (setup.getCell(row, col) != CellTypeContents.HOLE) {
+          playableCells++;
+        }
+      }
+    }
+    if (playableCells > 0xFF) {
+      throw new IllegalArgumentException("The board has too many cells to be served.");
+    }
+    // The deck need not split evenly, so each hand is counted on its own.
+    int redCards = 0;
+    List<ICard> deck = setup.newDeck();
+    for (ICard card : deck) {
+      if (card.getPlayerColor() == PlayerColor.RED) {
+        redCards++;
+      }
+    }
+    if (redCards > 0xFF || deck.size() - redCards > 0xFF) {
+      throw new IllegalArgumentException("A hand is too large to be served.");
+    }
+    this.setup = setup;
+    this.selector = Selector.open();
+    this.serverChannel = ServerSocketChannel.open();
+    try {
+      serverChannel.bind(address);
+      serverChannel.configureBlocking(false);
+      serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+    } catch (IOException e) {
+      serverChannel.close();
+      selector.close();
+      throw e;
+    }
+    this.loop = new Thread(this::run, "game-server");
+    loop.setDaemon(true);
+  }
+
+  /**
+   * Starts accepting connections on the server's thread. A server can be started only once.
+   *
+   * @throws IllegalStateException if the server was already started or has been closed
+   */
+  public synchronized void start() {
+    if (closed) {
+      throw new IllegalStateException("The server is closed.");
+    }
+    if (loop.getState() != Thread.State.NEW) {
+      throw new IllegalStateException("The server is already started.");
+    }
+    running = true;
+    loop.start();
+  }
+
+  /**
+   * Blocks until the server's thread has stopped, which happens once the server is closed or
+   * its selector fails. Returns at once if the server was never started.
+   *
+   * @throws InterruptedException if the calling thread is interrupted while waiting
+   */
+  public void awaitTermination() throws InterruptedException {
+    loop.join();
+  }
+
+  /**
+   * Returns the port the server listens on, useful when it was constructed with port 0.
+   *
+   * @return the local port
+   */
+  public int getPort() {
+    return serverChannel.socket().getLocalPort();
+  }
+
+  /**
+   * Returns the number of games being played.
+   *
+   * @return the number of games that have started and not ended
+   */
+  public int getActiveGameCount() {
+    return activeGames.get();
+  }
+
+  /**
+   * Stops the server and closes every connection. Games in progress are abandoned.
+   */
+  @Override
+  public void close() {
+    closed = true;
+    running = false;
+    selector.wakeup();
+    if (loop.isAlive() && Thread.currentThread() != loop) {
+      try {
+        loop.join();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    if (!loop.isAlive()) {
+      closeAll();
+    }
+  }
+
+  private void run() {
+    try {
+      while (running) {
+        selector.select();
+        Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+        while (keys.hasNext()) {
+          SelectionKey key = keys.next();
+          keys.remove();
+          if (!key.isValid()) {
+            continue;
+          }
+          if (key.isAcceptable()) {
+            accept();
+            continue;
+          }
+          Connection connection = (Connection) key.attachment();
+          try {
+            if (key.isReadable()) {
+              read(connection);
+            }
+            if (key.isValid() && key.isWritable()) {
+              flush(connection);
+            }
+          } catch (IOException e) {
+            disconnect(connection);
+          }
+        }
+      }
+    } catch (IOException | ClosedSelectorException e) {
+      // The server is unusable; fall through and release everything.
+    } finally {
+      running = false;
+      closeAll();
+    }
+  }
+
+  private void accept() throws IOException {
+    SocketChannel channel = serverChannel.accept();
+    if (channel == null) {
+      return;
+    }
+    channel.configureBlocking(false);
+    channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+    Connection connection = new Connection(channel);
+    connection.key = channel.register(selector, SelectionKey.OP_READ, connection);
+  }
+
+  private void read(Connection connection) throws IOException {
+    ByteBuffer in = connection.in;
+    if (connection.channel.read(in) < 0) {
+      disconnect(connection);
+      return;
+    }
+    in.flip();
+    while (in.remaining() >= 2) {
+      int length = in.getShort(in.position()) & 0xFFFF;
+      if (length == 0 || length > in.capacity() - 2) {
+        sendError(connection, Protocol.BAD_MESSAGE);
+        disconnect(connection);
+        return;
+      }
+      if (in.remaining() < 2 + length) {
+        break;
+      }
+      int end = in.position() + 2 + length;
+      in.position(in.position() + 2);
+      byte type = in.get();
+      handle(connection, type, in, length - 1);
+      if (!connection.channel.isOpen()) {
+        return;
+      }
+      in.position(end);
+    }
+    in.compact();
+  }
+
+  private void handle(Connection connection, byte type, ByteBuffer payload, int length)
+      throws IOException {
+    if (type == Protocol.JOIN && connection.game == null && waiting != connection) {
+      if (waiting == null) {
+        waiting = connection;
+      } else {
+        Connection red = waiting;
+        waiting = null;
+        new Game(red, connection).begin();
+      }
+    } else if (type == Protocol.PLACE && connection.game != null && length >= 3) {
+      int row = payload.get() & 0xFF;
+      int column = payload.get() & 0xFF;
+      int cardIndex = payload.get() & 0xFF;
+      connection.game.place(connection, row, column, cardIndex);
+    } else {
+      sendError(connection, Protocol.BAD_MESSAGE);
+    }
+  }
+
+  private void disconnect(Connection connection) {
+    if (waiting == connection) {
+      waiting = null;
+    }
+    if (connection.game != null) {
+      Game game = connection.game;
+      game.end();
+      Connection opponent = game.red == connection ? game.blue : game.red;
+      sendError(opponent, Protocol.OPPONENT_LEFT);
+    }
+    connection.key.cancel();
+    try {
+      connection.channel.close();
+    } catch (IOException e) {
+      // Already gone.
+    }
+  }
+
+  private void closeAll() {
+    try {
+      for (SelectionKey key : selector.keys()) {
+        key.channel().close();
+      }
+    } catch (IOException | ClosedSelectorException e) {
+      // Closing anyway.
+    }
+    try {
+      serverChannel.close();
+      selector.close();
+    } catch (IOException e) {
+      // Closing anyway.
+    }
+    activeGames.set(0);
+  }
+
+  /**
+   * Starts a frame on a connection's write buffer, leaving the buffer positioned for the
+   * payload. The frame is sent by the next {@link #flush}.
+   */
+  private static ByteBuffer frame(Connection connection, byte type, int payloadLength) {
+    int needed = 3 + payloadLength;
+    if (connection.out.remaining() < needed) {
+      ByteBuffer larger = ByteBuffer.allocate(
+          Math.max(connection.out.capacity() * 2, connection.out.position() + needed));
+      connection.out.flip();
+      larger.put(connection.out);
+      connection.out = larger;
+    }
+    return connection.out.putShort((short) (1 + payloadLength)).put(type);
+  }
+
+  /**
+   * Writes as much of a connection's pending output as the socket takes, and asks the
+   * selector for a write readiness event only while output remains.
+   */
+  private void flush(Connection connection) throws IOException {
+    ByteBuffer out = connection.out;
+    out.flip();
+    connection.channel.write(out);
+    out.compact();
+    int interest = out.position() > 0
+        ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ;
+    if (connection.key.interestOps() != interest) {
+      connection.key.interestOps(interest);
+    }
+  }
+
+  private void send(Connection connection) {
+    if (!connection.channel.isOpen()) {
+      return;
+    }
+    try {
+      flush(connection);
+    } catch (IOException e) {
+      disconnect(connection);
+    }
+  }
+
+  private void sendError(Connection connection, int code) {
+    if (!connection.channel.isOpen()) {
+      return;
+    }
+    frame(connection, Protocol.ERROR, 1).put((byte) code);
+    send(connection);
+  }
+
+  private static int colorCode(PlayerColor color) {
+    return color == PlayerColor.RED ? Protocol.RED : Protocol.BLUE;
+  }
+
+  /**
+   * One client's socket and its buffers.
+   */
+  private static final class Connection {
+    private final SocketChannel channel;
+    private final ByteBuffer in = ByteBuffer.allocate(READ_BUFFER_BYTES);
+    private ByteBuffer out = ByteBuffer.allocate(WRITE_BUFFER_BYTES);
+    private SelectionKey key;
+    private Game game;
+    private PlayerColor color;
+
+    private Connection(SocketChannel channel) {
+      this.channel = channel;
+    }
+  }
+
+  /**
+   * A game between two connections. The model's notifications are recorded during a
+   * placement and sent after the board change they follow.
+   */
+  private final class Game implements ModelObserver {
+    private final int id;
+    private final Connection red;
+    private final Connection blue;
+    private final IPlayer redPlayer;
+    private final IPlayer bluePlayer;
+    private final IModel model;
+    private boolean turnChanged;
+    private boolean over;
+    private PlayerColor winner;
+
+    private Game(Connection red, Connection blue) {
+      this.id = ++nextGameId;
+      this.red = red;
+      this.blue = blue;
+      this.redPlayer = new PlayerImpl(PlayerColor.RED, new ArrayList<>());
+      this.bluePlayer = new PlayerImpl(PlayerColor.BLUE, new ArrayList<>());
+      List<IPlayer> players = List.of(redPlayer, bluePlayer);
+      this.model = new ModelVarientImpl(setup.newBoard(), setup.newDeck(),
+          new ArrayList<>(players));
+    }
+
+    private void begin() {
+      model.addObserver(this);
+      model.startGame();
+      red.game = this;
+      red.color = PlayerColor.RED;
+      blue.game = this;
+      blue.color = PlayerColor.BLUE;
+      activeGames.incrementAndGet();
+      for (Connection connection : new Connection[]{red, blue}) {
+        writeStart(connection);
+        frame(connection, Protocol.TURN, 1).put((byte) Protocol.RED);
+        send(connection);
+      }
+    }
+
+    private void writeStart(Connection connection) {
+      BoardTopology topology = model.getTopology();
+      int cells = topology.getCellCount();
+      List<ICard> hand = (connection == red ? redPlayer : bluePlayer).getHandView();
+      int holeBytes = (cells + 7) / 8;
+      ByteBuffer out = frame(connection, Protocol.START, 8 + holeBytes + 2 * hand.size());
+      out.put((byte) colorCode(connection.color))
+          .putInt(id)
+          .put((byte) topology.getRows())
+          .put((byte) topology.getColumns());
+      for (int first = 0; first < cells; first += 8) {
+        int bits = 0;
+        for (int cell = first; cell < Math.min(first + 8, cells); cell++) {
+          if (topology.isHole(cell)) {
+            bits |= 0x80 >>> (cell - first);
+          }
+        }
+        out.put((byte) bits);
+      }
+      out.put((byte) hand.size());
+      for (ICard card : hand) {
+        out.putShort(Protocol.packSides(card));
+      }
+    }
+
+    private void place(Connection connection, int row, int column, int cardIndex) {
+      IPlayer player = connection == red ? redPlayer : bluePlayer;
+      if (model.getCurrentPlayerColor() != connection.color) {
+        sendError(connection, Protocol.NOT_YOUR_TURN);
+        return;
+      }
+      List<ICard> hand = player.getHandView();
+      if (cardIndex >= hand.size() || !model.isValidPosition(row, column)
+          || !model.isCellEmpty(row, column)) {
+        sendError(connection, Protocol.INVALID_MOVE);
+        return;
+      }
+      ICard card = hand.get(cardIndex);
+      List<int[]> flipped = model.getFlippedPositions(row, column, card);
+      turnChanged = false;
+      try {
+        model.placeCard(row, column, cardIndex, player);
+      } catch (IllegalArgumentException | IllegalStateException e) {
+        sendError(connection, Protocol.INVALID_MOVE);
+        return;
+      }
+
+      short sides = Protocol.packSides(card);
+      for (Connection to : new Connection[]{red, blue}) {
+        ByteBuffer out = frame(to, Protocol.DELTA, 6 + 2 * flipped.size())
+            .put((byte) colorCode(connection.color))
+            .put((byte) row)
+            .put((byte) column)
+            .putShort(sides)
+            .put((byte) flipped.size());
+        for (int[] position : flipped) {
+          out.put((byte) position[0]).put((byte) position[1]);
+        }
+        if (over) {
+          frame(to, Protocol.GAME_OVER, 3)
+              .put((byte) (winner == null ? Protocol.DRAW : colorCode(winner)))
+              .put((byte) model.getPlayerScore(PlayerColor.RED))
+              .put((byte) model.getPlayerScore(PlayerColor.BLUE));
+        } else if (turnChanged) {
+          frame(to, Protocol.TURN, 1).put((byte) colorCode(model.getCurrentPlayerColor()));
+        }
+      }
+      if (over) {
+        end();
+      }
+      send(red);
+      send(blue);
+    }
+
+    private void end() {
+      if (red.game == this) {
+        red.game = null;
+        blue.game = null;
+        activeGames.decrementAndGet();
+      }
+    }
+
+    @Override
+    public void onTurnChanged(PlayerColor currentPlayer) {
+      turnChanged = true;
+    }
+
+    @Override
+    public void onGameOver(PlayerColor winningPlayer) {
+      over = true;
+      winner = winningPlayer;
+    }
+  }
+
+  /**
+   * Runs a server until the process is stopped.
+   *
+   * @param args the port, then optionally the board and card database files
+   * @throws IOException          if the port cannot be bound
+   * @throws InterruptedException if the main thread is interrupted while serving
+   */
+  public static void main(String[] args) throws IOException, InterruptedException {
+    int port = args.length > 0 ? Integer.parseInt(args[0]) : 0;
+    String board = args.length > 2 ? args[1] : "board.config";
+    String cards = args.length > 2 ? args[2] : "card.database";
+    ConfigGame config = new ConfigGame(board, cards);
+    GameServer server = new GameServer(new GameSetup(config.getBoard(), config.getCardTable()),
+        port);
+    server.start();
+    System.out.println("Serving " + board + " on port " + server.getPort());
+    // The server's thread is a daemon, so the process lives only as long as this one waits.
+    server.awaitTermination();
+  }
+}
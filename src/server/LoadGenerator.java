@@ -0,0 +1,211 @@
+package server;
+
+import gameconfig.ConfigGame;
+import gameconfig.GameSetup;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Plays random games against a {@link GameServer} from many {@link GameClient}s at once and
+ * measures how fast the server answers. Each client runs on its own thread and keeps joining
+ * games until the run's time is up; every move it makes is a random empty cell and a random
+ * card of its hand.
+ *
+ * <p>The round trip of a move is the time from sending it to reading the board change it
+ * caused, which includes the server applying the rules and the loopback network.</p>
+ */
+public class LoadGenerator {
+
+  private final InetSocketAddress address;
+  private final int clients;
+  private final long durationNanos;
+  private final long seed;
+
+  private long games;
+  private long moves;
+  private long totalRoundTripNanos;
+  private long maxRoundTripNanos;
+
+  /**
+   * Constructs a {@code LoadGenerator}.
+   *
+   * @param address  the address of the server
+   * @param clients  the number of clients to connect, which should be even so all can play
+   * @param duration how long clients keep starting games
+   * @param unit     the unit of the duration
+   * @param seed     the seed of the clients' random moves
+   * @throws IllegalArgumentException if the address is null or the counts are not positive
+   */
+  public LoadGenerator(InetSocketAddress address, int clients, long duration, TimeUnit unit,
+                       long seed) {
+    if (address == null || unit == null) {
+      throw new IllegalArgumentException("Address and unit cannot be null.");
+    }
+    if (clients < 2 || duration <= 0) {
+      throw new IllegalArgumentException("Clients must be at least two and duration positive.");
+    }
+    this.address = address;
+    this.clients = clients;
+    this.durationNanos = unit.toNanos(duration);
+    this.seed = seed;
+  }
+
+  /**
+   * Connects the clients, plays until the duration has passed and every started game has
+   * ended, then disconnects. A client left waiting for an opponent at the end is closed.
+   *
+   * @throws IOException          if a client cannot connect
+   * @throws InterruptedException if the calling thread is interrupted while waiting
+   */
+  public void run() throws IOException, InterruptedException {
+    List<GameClient> connected = new ArrayList<>();
+    List<Thread> threads = new ArrayList<>();
+    long deadline = System.nanoTime() + durationNanos;
+    try {
+      for (int i = 0; i < clients; i++) {
+        GameClient client = new GameClient(address);
+        connected.add(client);
+        Random random = new Random(seed + i);
+        Thread thread = new Thread(() -> play(client, random, deadline), "load-client-" + i);
+        thread.setDaemon(true);
+        threads.add(thread);
+      }
+      threads.forEach(Thread::start);
+      // Every game ends shortly after the deadline; only a client still queued for an
+      // opponent that will never come can outlive the grace period.
+      long grace = TimeUnit.SECONDS.toMillis(5);
+      for (Thread thread : threads) {
+        long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+        thread.join(Math.max(remaining, 0) + grace);
+      }
+    } finally {
+      for (GameClient client : connected) {
+        client.close();
+      }
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+  }
+
+  private void play(GameClient client, Random random, long deadline) {
+    long clientGames = 0;
+    long clientMoves = 0;
+    long clientTotal = 0;
+    long clientMax = 0;
+    try {
+      while (System.nanoTime() < deadline) {
+        client.join();
+        boolean myTurn = client.awaitTurn();
+        while (myTurn) {
+          int handSize = client.getHandSize();
+          placeRandom(client, random);
+          myTurn = client.awaitTurn();
+          // The board change of an accepted move is read before the game goes on.
+          if (client.getHandSize() < handSize) {
+            long roundTrip = client.getLastRoundTripNanos();
+            clientMoves++;
+            clientTotal += roundTrip;
+            clientMax = Math.max(clientMax, roundTrip);
+          }
+        }
+        clientGames++;
+      }
+    } catch (IOException | IllegalStateException e) {
+      // Closed at the end of the run while waiting for an opponent.
+    } finally {
+      synchronized (this) {
+        games += clientGames;
+        moves += clientMoves;
+        totalRoundTripNanos += clientTotal;
+        maxRoundTripNanos = Math.max(maxRoundTripNanos, clientMax);
+      }
+    }
+  }
+
+  /**
+   * Returns the number of games clients finished, counting each game once per side.
+   *
+   * @return the games finished by all clients
+   */
+  public synchronized long getGames() {
+    return games;
+  }
+
+  /**
+   * Returns the number of moves the server accepted.
+   *
+   * @return the moves made by all clients
+   */
+  public synchronized long getMoves() {
+    return moves;
+  }
+
+  /**
+   * Returns the mean round trip of a move.
+   *
+   * @return the mean in nanoseconds, or 0 if no move was made
+   */
+  public synchronized long getMeanRoundTripNanos() {
+    return moves == 0 ? 0 : totalRoundTripNanos / moves;
+  }
+
+  /**
+   * Returns the longest round trip of a move.
+   *
+   * @return the maximum in nanoseconds
+   */
+  public synchronized long getMaxRoundTripNanos() {
+    return maxRoundTripNanos;
+  }
+
+  private void placeRandom(GameClient client, Random random) throws IOException {
+    int rows = client.getRows();
+    int columns = client.getColumns();
+    int start = random.nextInt(rows * columns);
+    for (int offset = 0; offset < rows * columns; offset++) {
+      int cell = (start + offset) % (rows * columns);
+      if (client.getOwner(cell / columns, cell % columns) == GameClient.EMPTY) {
+        client.place(cell / columns, cell % columns, random.nextInt(client.getHandSize()));
+        return;
+      }
+    }
+  }
+
+  /**
+   * Runs a load test against a server started in this process on a free loopback port.
+   *
+   * @param args the number of clients and the seconds to run, then optionally the board and
+   *             card database files
+   * @throws Exception if the server cannot start or a client cannot connect
+   */
+  public static void main(String[] args) throws Exception {
+    int clients = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+    int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+    String board = args.length > 3 ? args[2] : "board.config";
+    String cards = args.length > 3 ? args[3] : "card.database";
+    ConfigGame config = new ConfigGame(board, cards);
+    InetSocketAddress loopback = new InetSocketAddress(InetAddress.getLoopbackAddress(), 0);
+    try (GameServer server = new GameServer(
+        new GameSetup(config.getBoard(), config.getCardTable()), loopback)) {
+      server.start();
+      LoadGenerator generator = new LoadGenerator(
+          new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getPort()),
+          clients, seconds, TimeUnit.SECONDS, 1);
+      long start = System.nanoTime();
+      generator.run();
+      double elapsed = (System.nanoTime() - start) / 1e9;
+      System.out.printf("%d clients, %d games, %d moves in %.1f s: %.0f moves/s,"
+              + " round trip mean %d us, max %d us%n", clients, generator.getGames() / 2,
+          generator.getMoves(), elapsed, generator.getMoves() / elapsed,
+          TimeUnit.NANOSECONDS.toMicros(generator.getMeanRoundTripNanos()),
+          TimeUnit.NANOSECONDS.toMicros(generator.getMaxRoundTripNanos()));
+    }
+  }
+}
@@ -0,0 +1,92 @@
+package server;
+
+import card.Direction;
+import card.ICard;
+
+/**
+ * The binary protocol spoken between a {@link GameServer} and its clients. Every message is a
+ * frame of an unsigned two byte length, a one byte type, then the payload; the length counts
+ * the type and the payload. Numbers are big-endian and rows, columns and counts are single
+ * unsigned bytes, which limits boards to 255 rows and columns. Scores and flip counts are
+ * single unsigned bytes as well, so a board may have at most 255 cells that are not holes.
+ *
+ * <p>Client to server:</p>
+ * <ul>
+ *   <li>{@link #JOIN}: no payload. Queues the client for the next game; two queued clients
+ *       start a game, the first as red.</li>
+ *   <li>{@link #PLACE}: row, column, index of the card in the hand.</li>
+ * </ul>
+ *
+ * <p>Server to client:</p>
+ * <ul>
+ *   <li>{@link #START}: the client's color, the game id ({@code int}), rows, columns, one bit
+ *       per cell in row-major order set for holes and padded to a whole byte, then the hand
+ *       size and each card of the hand as packed sides.</li>
+ *   <li>{@link #DELTA}: the color that placed, row, column, the packed sides of the card
+ *       placed, the number of cards flipped, then the row and column of each.</li>
+ *   <li>{@link #TURN}: the color of the player in turn.</li>
+ *   <li>{@link #GAME_OVER}: the winner ({@link #DRAW} on a draw), red score, blue score.</li>
+ *   <li>{@link #ERROR}: one of the error codes.</li>
+ * </ul>
+ *
+ * <p>Colors are {@link #RED} and {@link #BLUE}. Packed sides hold the four side values of a
+ * card as nibbles of a {@code short}, north in the highest nibble, as in the binary card
+ * database.</p>
+ */
+public final class Protocol {
+
+  public static final byte JOIN = 0x01;
+  public static final byte PLACE = 0x02;
+
+  public static final byte START = (byte) 0x81;
+  public static final byte DELTA = (byte) 0x82;
+  public static final byte TURN = (byte) 0x83;
+  public static final byte GAME_OVER = (byte) 0x84;
+  public static final byte ERROR = (byte) 0x85;
+
+  public static final int RED = 0;
+  public static final int BLUE = 1;
+  public static final int DRAW = 2;
+
+  /** A placement sent when it is not the sender's turn. */
+  public static final int NOT_YOUR_TURN = 1;
+  /** A placement on a cell or with a card that cannot be played. */
+  public static final int INVALID_MOVE = 2;
+  /** The opponent disconnected; the game is over without a result. */
+  public static final int OPPONENT_LEFT = 3;
+  /** A message the server does not understand, or one sent outside a game. */
+  public static final int BAD_MESSAGE = 4;
+
+  /** The largest frame either side sends, length prefix included. */
+  public static final int MAX_FRAME_BYTES = 2 + 0xFFFF;
+
+  private static final Direction[] DIRECTIONS = Direction.values();
+
+  private Protocol() {
+  }
+
+  /**
+   * Packs the side values of a card.
+   *
+   * @param card the card
+   * @return the values as nibbles, north in the highest
+   */
+  public static short packSides(ICard card) {
+    int packed = 0;
+    for (Direction direction : DIRECTIONS) {
+      packed = packed << 4 | card.getValue(direction);
+    }
+    return (short) packed;
+  }
+
+  /**
+   * Reads one side value out of packed sides.
+   *
+   * @param packed    the packed sides
+   * @param direction the ordinal of the side
+   * @return the value of that side
+   */
+  public static int side(short packed, int direction) {
+    return (packed >>> (12 - 4 * direction)) & 0xF;
+  }
+}
@@ -0,0 +1,77 @@
+package service;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * A game submitted to a {@link GameService}, used to wait for its result or stop it.
+ */
+public final class GameHandle {
+
+  private final long id;
+  private final CompletableFuture<GameResult> result;
+
+  GameHandle(long id, CompletableFuture<GameResult> result) {
+    this.id = id;
+    this.result = result;
+  }
+
+  /**
+   * Returns the number the service gave this game, unique within the service.
+   *
+   * @return the game id
+   */
+  public long getId() {
+    return id;
+  }
+
+  /**
+   * Waits for the game to end.
+   *
+   * @return the result of the game
+   * @throws InterruptedException  if the calling thread is interrupted while waiting
+   * @throws ExecutionException    if a player or the model failed; the cause is the failure
+   * @throws CancellationException if the game was cancelled or its service closed first
+   */
+  public GameResult await() throws InterruptedException, ExecutionException {
+    return result.get();
+  }
+
+  /**
+   * Waits at most a given time for the game to end.
+   *
+   * @param timeout the maximum time to wait
+   * @param unit    the unit of the timeout
+   * @return the result of the game
+   * @throws InterruptedException  if the calling thread is interrupted while waiting
+   * @throws ExecutionException    if a player or the model failed; the cause is the failure
+   * @throws TimeoutException      if the game did not end in time
+   * @throws CancellationException if the game was cancelled or its service closed first
+   */
+  public GameResult await(long timeout, TimeUnit unit)
+      throws InterruptedException, ExecutionException, TimeoutException {
+    return result.get(timeout, unit);
+  }
+
+  /**
+   * Stops the game before its next turn. A turn already being played is finished first, but
+   * its result is discarded.
+   *
+   * @return {@code true} if the game was stopped, {@code false} if it had already ended
+   */
+  public boolean cancel() {
+    return result.cancel(false);
+  }
+
+  /**
+   * Checks whether the game has ended, been cancelled or failed.
+   *
+   * @return {@code true} if no more turns will be played
+   */
+  public boolean isDone() {
+    return result.isDone();
+  }
+}
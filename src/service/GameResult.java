@@ -0,0 +1,71 @@
+package service;
+
+import player.PlayerColor;
+
+/**
+ * The outcome of a game played to the end by a {@link GameService}.
+ */
+public final class GameResult {
+
+  private final PlayerColor winner;
+  private final int redScore;
+  private final int blueScore;
+  private final int turns;
+
+  /**
+   * Constructs a {@code GameResult}.
+   *
+   * @param winner    the color of the winning player, or {@code null} on a draw
+   * @param redScore  the number of cards the red player owns at the end
+   * @param blueScore the number of cards the blue player owns at the end
+   * @param turns     the number of cards placed during the game
+   */
+  public GameResult(PlayerColor winner, int redScore, int blueScore, int turns) {
+    this.winner = winner;
+    this.redScore = redScore;
+    this.blueScore = blueScore;
+    this.turns = turns;
+  }
+
+  /**
+   * Returns the winner of the game.
+   *
+   * @return the color of the winning player, or {@code null} on a draw
+   */
+  public PlayerColor getWinner() {
+    return winner;
+  }
+
+  /**
+   * Returns the red player's final score.
+   *
+   * @return the number of cards the red player owns on the board
+   */
+  public int getRedScore() {
+    return redScore;
+  }
+
+  /**
+   * Returns the blue player's final score.
+   *
+   * @return the number of cards the blue player owns on the board
+   */
+  public int getBlueScore() {
+    return blueScore;
+  }
+
+  /**
+   * Returns the length of the game.
+   *
+   * @return the number of cards placed
+   */
+  public int getTurns() {
+    return turns;
+  }
+
+  @Override
+  public String toString() {
+    return (winner == null ? "Draw" : winner + " wins") + " " + redScore + "-" + blueScore
+        + " in " + turns + " turns";
+  }
+}
@@ -0,0 +1,184 @@
+package service;
+
+import model.IModel;
+import player.IPlayer;
+import player.PlayerColor;
+import strategies.Placement;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Plays many independent AI-vs-AI games at once in one JVM. Every turn of every game is a
+ * separate task on a work-stealing pool: a turn asks the player in turn for a move, places it,
+ * and schedules the game's next turn. Games never wait on each other, so thousands of them
+ * share a pool with one thread per core, and throughput grows with the number of cores.
+ *
+ * <p>Turns of one game run one after another, each on whichever pool thread is free, so a
+ * game's model and players need no locking. They must not be shared with another game or
+ * touched by other threads while the game runs; this includes strategies that keep state
+ * between moves, such as the endgame solver's table.
+ */
+public class GameService implements AutoCloseable {
+
+  private final ForkJoinPool pool;
+  private final AtomicLong nextId = new AtomicLong();
+  private final AtomicInteger activeGames = new AtomicInteger();
+  private final Set<CompletableFuture<GameResult>> unfinished = ConcurrentHashMap.newKeySet();
+
+  /**
+   * Constructs a {@code GameService} with one thread per available processor.
+   */
+  public GameService() {
+    this(Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Constructs a {@code GameService}.
+   *
+   * @param parallelism the number of games that can play a turn at the same time
+   * @throws IllegalArgumentException if the parallelism is not positive
+   */
+  public GameService(int parallelism) {
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("Parallelism must be positive.");
+    }
+    // Async mode runs queued turns first-in first-out, so games take turns fairly.
+    this.pool = new ForkJoinPool(parallelism, ForkJoinPool.defaultForkJoinWorkerThreadFactory,
+        null, true);
+  }
+
+  /**
+   * Starts playing a game. The model is started if it has not been already.
+   *
+   * @param model the game, set up with the two players
+   * @param red   the red player, which must be able to choose its own moves
+   * @param blue  the blue player, which must be able to choose its own moves
+   * @return the handle of the game
+   * @throws IllegalArgumentException   if an argument is null or a player has the wrong color
+   * @throws RejectedExecutionException if the service has been closed
+   */
+  public GameHandle submit(IModel model, IPlayer red, IPlayer blue) {
+    if (model == null || red == null || blue == null) {
+      throw new IllegalArgumentException("Model and players cannot be null.");
+    }
+    if (red.getPlayerColor() != PlayerColor.RED || blue.getPlayerColor() != PlayerColor.BLUE) {
+      throw new IllegalArgumentException("Players must be red and blue, in that order.");
+    }
+    CompletableFuture<GameResult> result = new CompletableFuture<>();
+    activeGames.incrementAndGet();
+    unfinished.add(result);
+    result.whenComplete((ignored, failure) -> {
+      activeGames.decrementAndGet();
+      unfinished.remove(result);
+    });
+    try {
+      pool.execute(new Turn(model, red, blue, result));
+    } catch (RejectedExecutionException e) {
+      result.completeExceptionally(e);
+      throw e;
+    }
+    return new GameHandle(nextId.incrementAndGet(), result);
+  }
+
+  /**
+   * Returns the number of games submitted that have not ended, been cancelled or failed.
+   *
+   * @return the number of running games
+   */
+  public int getActiveGameCount() {
+    return activeGames.get();
+  }
+
+  /**
+   * Stops accepting games and cancels the games still running, so that waiting on their
+   * handles ends with a {@link java.util.concurrent.CancellationException}. A turn already
+   * being played is finished first, but its result is discarded.
+   */
+  @Override
+  public void close() {
+    pool.shutdownNow();
+    // Turns still queued were dropped by the pool, so nothing else would complete their games.
+    for (CompletableFuture<GameResult> result : unfinished) {
+      result.cancel(false);
+    }
+  }
+
+  /**
+   * Waits for the pool threads to stop after {@link #close()}.
+   *
+   * @param timeout the maximum time to wait
+   * @param unit    the unit of the timeout
+   * @return {@code true} if every thread stopped in time
+   * @throws InterruptedException if the calling thread is interrupted while waiting
+   */
+  public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+    return pool.awaitTermination(timeout, unit);
+  }
+
+  /**
+   * One turn of a game, which reschedules itself until the game is over.
+   */
+  private final class Turn implements Runnable {
+    private final IModel model;
+    private final IPlayer red;
+    private final IPlayer blue;
+    private final CompletableFuture<GameResult> result;
+    private int turns;
+
+    private Turn(IModel model, IPlayer red, IPlayer blue,
+                 CompletableFuture<GameResult> result) {
+      this.model = model;
+      this.red = red;
+      this.blue = blue;
+      this.result = result;
+    }
+
+    @Override
+    public void run() {
+      if (result.isDone()) {
+        return;
+      }
+      try {
+        if (turns == 0 && !isStarted()) {
+          model.startGame();
+        }
+        if (!model.checkGameOver()) {
+          IPlayer player = model.getCurrentPlayerColor() == PlayerColor.RED ? red : blue;
+          Placement placement = player.chooseMove(model);
+          if (placement == null) {
+            throw new IllegalStateException("The " + player.getPlayerColor()
+                + " player did not choose a move.");
+          }
+          model.placeCard(placement.row, placement.column, placement.cardIndex, player);
+          turns++;
+        }
+        if (model.checkGameOver()) {
+          int redScore = model.getPlayerScore(PlayerColor.RED);
+          int blueScore = model.getPlayerScore(PlayerColor.BLUE);
+          PlayerColor winner = redScore > blueScore ? PlayerColor.RED
+              : blueScore > redScore ? PlayerColor.BLUE : null;
+          result.complete(new GameResult(winner, redScore, blueScore, turns));
+        } else {
+          pool.execute(this);
+        }
+      } catch (RuntimeException e) {
+        result.completeExceptionally(e);
+      }
+    }
+
+    private boolean isStarted() {
+      try {
+        return model.checkGameStarted();
+      } catch (IllegalStateException notStarted) {
+        return false;
+      }
+    }
+  }
+}
@@ -0,0 +1,92 @@
+package strategies;
+
+import model.IModel;
+import player.IPlayer;
+
+/**
+ * A strategy assembled from heuristics. Each turn the placements are listed once in a
+ * {@link MoveEnumeration}; those the filter rejects are dropped and the rest are ranked
+ * lexicographically by a chain of scorers. A later scorer in the chain only breaks ties left by
+ * the ones before it, and is only evaluated for placements that are actually tied, so cheap
+ * tie-breakers cost almost nothing. Ties left by the whole chain go to the uppermost-leftmost
+ * cell and then the first card. If the filter rejects every placement, the first card is
+ * placed on the uppermost-leftmost empty cell.
+ */
+public class ComposedStrategy implements IStrategy {
+
+  private final MoveFilter filter;
+  private final MoveScorer[] chain;
+
+  /**
+   * Constructs a {@code ComposedStrategy}.
+   *
+   * @param filter the condition placements must meet to be considered
+   * @param chain  the scorers that rank placements, most important first
+   * @throws IllegalArgumentException if the filter or any scorer is null
+   */
+  public ComposedStrategy(MoveFilter filter, MoveScorer... chain) {
+    if (filter == null) {
+      throw new IllegalArgumentException("Filter cannot be null.");
+    }
+    for (MoveScorer scorer : chain) {
+      if (scorer == null) {
+        throw new IllegalArgumentException("Scorers cannot be null.");
+      }
+    }
+    this.filter = filter;
+    this.chain = chain.clone();
+  }
+
+  /**
+   * Chooses the best ranked placement that the filter accepts.
+   *
+   * @param model  the game model containing the current board state and other game information
+   * @param player the player making the move, with access to their current hand of cards
+   * @return the selected {@link Placement}, or {@code null} if no cell is empty
+   */
+  @Override
+  public Placement chooseMove(IModel model, IPlayer player) {
+    MoveEnumeration moves = new MoveEnumeration(model, player);
+    int best = choose(moves);
+    return best < 0 ? moves.fallback() : moves.toPlacement(best);
+  }
+
+  /**
+   * Returns the number of the best ranked placement the filter accepts.
+   *
+   * @param moves the placements of the current turn
+   * @return the placement number, or -1 if the filter accepts none
+   */
+  public int choose(MoveEnumeration moves) {
+    // Scores of the current best, filled in only as far down the chain as ties required.
+    int[] bestScores = new int[chain.length];
+    int bestKnown = 0;
+    int best = -1;
+    for (int move = 0; move < moves.size(); move++) {
+      if (!filter.accept(moves, move)) {
+        continue;
+      }
+      if (best < 0) {
+        best = move;
+        bestKnown = 0;
+        continue;
+      }
+      for (int level = 0; level < chain.length; level++) {
+        if (level == bestKnown) {
+          bestScores[level] = chain[level].score(moves, best);
+          bestKnown++;
+        }
+        int score = chain[level].score(moves, move);
+        if (score > bestScores[level]) {
+          best = move;
+          bestScores[level] = score;
+          bestKnown = level + 1;
+          break;
+        } else if (score < bestScores[level]) {
+          break;
+        }
+      }
+    }
+    return best;
+  }
+}
@@ -0,0 +1,49 @@
+package strategies;
+
+import model.IModel;
+import player.IPlayer;
+import search.EndgameSolver;
+import search.SearchPosition;
+
+/**
+ * A strategy that plays perfectly once few enough cells are empty, and defers to another
+ * strategy before that. The endgame is solved exactly by an {@link EndgameSolver}, with the
+ * model's comparison strategy and flip criteria.
+ */
+public class EndgameStrategy implements IStrategy {
+
+  private final IStrategy openingStrategy;
+  private final EndgameSolver solver;
+
+  /**
+   * Constructs an {@code EndgameStrategy}.
+   *
+   * @param openingStrategy the strategy used while more cells are empty than the threshold
+   * @param maxEmptyCells   the number of empty cells at or below which the game is solved
+   * @throws IllegalArgumentException if the strategy is null or the threshold is negative
+   */
+  public EndgameStrategy(IStrategy openingStrategy, int maxEmptyCells) {
+    if (openingStrategy == null) {
+      throw new IllegalArgumentException("Strategy cannot be null.");
+    }
+    this.openingStrategy = openingStrategy;
+    this.solver = new EndgameSolver(maxEmptyCells);
+  }
+
+  /**
+   * Chooses the optimal placement if the endgame can be solved, and otherwise the placement of
+   * the opening strategy.
+   *
+   * @param model  the game model containing the current board state and other game information
+   * @param player the player making the move, with access to their current hand of cards
+   * @return the selected {@link Placement}
+   */
+  @Override
+  public Placement chooseMove(IModel model, IPlayer player) {
+    SearchPosition position = SearchPosition.fromModel(model);
+    if (solver.canSolve(position) && !position.isTerminal()) {
+      return solver.solve(position);
+    }
+    return openingStrategy.chooseMove(model, player);
+  }
+}
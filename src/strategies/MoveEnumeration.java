@@ -0,0 +1,218 @@
+package strategies;
+
+import card.CellTypeContents;
+import card.ICard;
+import model.BoardTopology;
+import model.IModel;
+import player.IPlayer;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Every placement a player can make on one turn, listed once and shared by all the heuristics
+ * that rate them. Placements are numbered from 0 in the order of their cells, uppermost row
+ * first and leftmost column first, then in the order of the hand, so picking the first of
+ * several equally rated placements breaks the tie toward the upper-left cell and the first
+ * card.
+ *
+ * <p>The board layout and the hand are read from the model once, when the enumeration is
+ * created. Flip counts, the most expensive thing heuristics ask about, are computed for every
+ * placement in one batch on first request and then remembered.
+ */
+public class MoveEnumeration {
+
+  private final IModel model;
+  private final CellTypeContents[][] availability;
+  private final BoardTopology topology;
+  private final List<ICard> hand;
+  private final int[] moveCells;
+  private final int count;
+  private int[] flips;
+
+  /**
+   * Lists every placement of a player.
+   *
+   * @param model  the game model
+   * @param player the player in turn
+   */
+  public MoveEnumeration(IModel model, IPlayer player) {
+    this.model = model;
+    this.availability = model.getBoardAvailability();
+    this.topology = model.getTopology();
+    this.hand = player.getHandView();
+
+    // The model keeps its empty cells; they are put back in board order, which breaks ties.
+    int[] cells = new int[model.getEmptyCellCount()];
+    for (int i = 0; i < cells.length; i++) {
+      cells[i] = model.emptyCell(i);
+    }
+    Arrays.sort(cells);
+    this.count = cells.length * hand.size();
+    this.moveCells = cells;
+  }
+
+  /**
+   * Returns the number of placements.
+   *
+   * @return the number of empty cells times the number of cards in hand
+   */
+  public int size() {
+    return count;
+  }
+
+  /**
+   * Returns the row of a placement.
+   *
+   * @param move the placement number
+   * @return the row of its cell
+   */
+  public int row(int move) {
+    return topology.rowOf(cell(move));
+  }
+
+  /**
+   * Returns the column of a placement.
+   *
+   * @param move the placement number
+   * @return the column of its cell
+   */
+  public int column(int move) {
+    return topology.columnOf(cell(move));
+  }
+
+  /**
+   * Returns the cell of a placement, numbered as in the board's {@link BoardTopology}.
+   *
+   * @param move the placement number
+   * @return the number of its cell
+   */
+  public int cell(int move) {
+    return moveCells[move / hand.size()];
+  }
+
+  /**
+   * Returns the hand index of the card of a placement.
+   *
+   * @param move the placement number
+   * @return the index of its card in the hand
+   */
+  public int cardIndex(int move) {
+    return move % hand.size();
+  }
+
+  /**
+   * Returns the card of a placement.
+   *
+   * @param move the placement number
+   * @return its card
+   */
+  public ICard card(int move) {
+    return hand.get(cardIndex(move));
+  }
+
+  /**
+   * Returns the number of cards a placement flips, as computed by the model. The first request
+   * computes the counts of all placements in a single batch. Only placements on the model's
+   * frontier are sent to it; a placement on any other cell has no card next to it to flip.
+   *
+   * @param move the placement number
+   * @return the flip count of the placement
+   */
+  public int flips(int move) {
+    if (flips == null) {
+      flips = new int[count];
+      int[] frontier = new int[moveCells.length];
+      int[] slots = new int[moveCells.length];
+      int frontierCount = 0;
+      for (int i = 0; i < moveCells.length; i++) {
+        if (model.isFrontierCell(moveCells[i])) {
+          frontier[frontierCount] = moveCells[i];
+          slots[frontierCount++] = i;
+        }
+      }
+      if (frontierCount == moveCells.length) {
+        model.calculateFlips(moveCells, hand, flips);
+      } else if (frontierCount > 0) {
+        int cards = hand.size();
+        int[] frontierFlips = new int[frontierCount * cards];
+        model.calculateFlips(Arrays.copyOf(frontier, frontierCount), hand, frontierFlips);
+        for (int i = 0; i < frontierCount; i++) {
+          System.arraycopy(frontierFlips, i * cards, flips, slots[i] * cards, cards);
+        }
+      }
+    }
+    return flips[move];
+  }
+
+  /**
+   * Returns the number of rows of the board.
+   *
+   * @return the board height
+   */
+  public int getRows() {
+    return availability.length;
+  }
+
+  /**
+   * Returns the number of columns of the board.
+   *
+   * @return the board width
+   */
+  public int getColumns() {
+    return availability[0].length;
+  }
+
+  /**
+   * Returns the type of a cell as it was when the placements were listed.
+   *
+   * @param row the row of the cell
+   * @param col the column of the cell
+   * @return the cell type
+   */
+  public CellTypeContents getCell(int row, int col) {
+    return availability[row][col];
+  }
+
+  /**
+   * Returns the type of a cell as it was when the placements were listed.
+   *
+   * @param cell the number of the cell
+   * @return the cell type
+   */
+  public CellTypeContents getCell(int cell) {
+    return availability[topology.rowOf(cell)][topology.columnOf(cell)];
+  }
+
+  /**
+   * Returns the shape of the board the placements were listed on.
+   *
+   * @return the board topology
+   */
+  public BoardTopology getTopology() {
+    return topology;
+  }
+
+  /**
+   * Returns a placement as a {@link Placement}.
+   *
+   * @param move the placement number
+   * @return the placement
+   */
+  public Placement toPlacement(int move) {
+    return new Placement(row(move), column(move), cardIndex(move));
+  }
+
+  /**
+   * Returns the placement every strategy falls back to when it has no preference: the first
+   * card in hand on the upper-leftmost empty cell.
+   *
+   * @return the fallback placement, or {@code null} if no cell is empty
+   */
+  public Placement fallback() {
+    if (moveCells.length == 0) {
+      return null;
+    }
+    return new Placement(topology.rowOf(moveCells[0]), topology.columnOf(moveCells[0]), 0);
+  }
+}
@@ -0,0 +1,16 @@
+package strategies;
+
+/**
+ * A condition a placement of a {@link MoveEnumeration} must meet to be considered at all.
+ */
+public interface MoveFilter {
+
+  /**
+   * Checks whether a placement should be considered.
+   *
+   * @param moves the placements of the current turn
+   * @param move  the number of the placement to check
+   * @return {@code true} if the placement is a candidate
+   */
+  boolean accept(MoveEnumeration moves, int move);
+}
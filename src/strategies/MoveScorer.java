@@ -0,0 +1,16 @@
+package strategies;
+
+/**
+ * A heuristic that rates one placement of a {@link MoveEnumeration}. Higher scores are better.
+ */
+public interface MoveScorer {
+
+  /**
+   * Rates a placement.
+   *
+   * @param moves the placements of the current turn
+   * @param move  the number of the placement to rate
+   * @return the score of the placement, higher being better
+   */
+  int score(MoveEnumeration moves, int move);
+}
@@ -0,0 +1,126 @@
+package strategies;
+
+import card.CellTypeContents;
+import card.Direction;
+import model.BoardTopology;
+
+/**
+ * The standard heuristics and the ways of combining them. Combined heuristics rate the
+ * placements of a single {@link MoveEnumeration}, so adding a heuristic never adds another scan
+ * of the board.
+ */
+public final class MoveScorers {
+
+  private static final Direction[] DIRECTIONS = Direction.values();
+
+  private MoveScorers() {
+  }
+
+  /**
+   * Rates a placement by the number of opponent cards it flips.
+   *
+   * @return the flip count scorer
+   */
+  public static MoveScorer flips() {
+    return MoveEnumeration::flips;
+  }
+
+  /**
+   * Rates a placement by how hard its card is to flip back. Every side of the card that faces
+   * an empty cell adds {@code 10 - value} to its vulnerability, and the score is the negated
+   * vulnerability.
+   *
+   * @return the safety scorer
+   */
+  public static MoveScorer safety() {
+    return (moves, move) -> {
+      BoardTopology topology = moves.getTopology();
+      int cell = moves.cell(move);
+      int exposed = topology.exposedDirections(cell);
+      int vulnerability = 0;
+      for (int direction = 0; direction < 4; direction++) {
+        if ((exposed & 1 << direction) != 0
+            && moves.getCell(topology.neighbor(cell, direction)) == CellTypeContents.EMPTY) {
+          vulnerability += 10 - moves.card(move).getValue(DIRECTIONS[direction]);
+        }
+      }
+      return -vulnerability;
+    };
+  }
+
+  /**
+   * Prefers cards nearer the front of the hand, regardless of cell.
+   *
+   * @return the scorer that rates a placement by its negated hand index
+   */
+  public static MoveScorer firstCard() {
+    return (moves, move) -> -moves.cardIndex(move);
+  }
+
+  /**
+   * Combines heuristics into a weighted sum of their scores.
+   *
+   * @param weights the weight of each scorer
+   * @param scorers the scorers to combine
+   * @return the weighted sum scorer
+   * @throws IllegalArgumentException if there is not one weight per scorer
+   */
+  public static MoveScorer weightedSum(int[] weights, MoveScorer... scorers) {
+    if (weights.length != scorers.length) {
+      throw new IllegalArgumentException("Each scorer needs exactly one weight.");
+    }
+    int[] weightsCopy = weights.clone();
+    MoveScorer[] scorersCopy = scorers.clone();
+    return (moves, move) -> {
+      int total = 0;
+      for (int i = 0; i < scorersCopy.length; i++) {
+        total += weightsCopy[i] * scorersCopy[i].score(moves, move);
+      }
+      return total;
+    };
+  }
+
+  /**
+   * Accepts every placement.
+   *
+   * @return the filter that accepts everything
+   */
+  public static MoveFilter anyMove() {
+    return (moves, move) -> true;
+  }
+
+  /**
+   * Accepts placements in the four corners of the board. Boards with a single row or column
+   * are treated as having no corners.
+   *
+   * @return the corner filter
+   */
+  public static MoveFilter corners() {
+    return (moves, move) -> {
+      int lastRow = moves.getRows() - 1;
+      int lastCol = moves.getColumns() - 1;
+      int row = moves.row(move);
+      int col = moves.column(move);
+      return lastRow > 0 && lastCol > 0
+          && (row == 0 || row == lastRow) && (col == 0 || col == lastCol);
+    };
+  }
+
+  /**
+   * Accepts placements that every one of several filters accepts.
+   *
+   * @param filters the filters to combine
+   * @return the combined filter
+   */
+  public static MoveFilter allOf(MoveFilter... filters) {
+    MoveFilter[] filtersCopy = filters.clone();
+    return (moves, move) -> {
+      for (MoveFilter filter : filtersCopy) {
+        if (!filter.accept(moves, move)) {
+          return false;
+        }
+      }
+      return true;
+    };
+  }
+}
@@ -0,0 +1,51 @@
+package strategies;
+
+import model.IModel;
+import player.IPlayer;
+import search.OpeningBook;
+import search.SearchPosition;
+
+/**
+ * A strategy that plays the placement stored in an opening book whenever the current position
+ * is in the book, and otherwise defers to another strategy. Early positions, with an empty
+ * board and full hands, are the most expensive to search, so a book generated offline by
+ * {@link search.OpeningBookGenerator} saves that work in live play.
+ */
+public class OpeningBookStrategy implements IStrategy {
+
+  private final OpeningBook book;
+  private final IStrategy delegate;
+
+  /**
+   * Constructs an {@code OpeningBookStrategy}.
+   *
+   * @param book     the opening book
+   * @param delegate the strategy used for positions that are not in the book
+   * @throws IllegalArgumentException if either argument is null
+   */
+  public OpeningBookStrategy(OpeningBook book, IStrategy delegate) {
+    if (book == null || delegate == null) {
+      throw new IllegalArgumentException("Book and strategy cannot be null.");
+    }
+    this.book = book;
+    this.delegate = delegate;
+  }
+
+  /**
+   * Chooses the book placement for the current position, or the delegate's placement if the
+   * position is not in the book.
+   *
+   * @param model  the game model containing the current board state and other game information
+   * @param player the player making the move, with access to their current hand of cards
+   * @return the selected {@link Placement}
+   */
+  @Override
+  public Placement chooseMove(IModel model, IPlayer player) {
+    Placement placement = book.lookup(SearchPosition.fromModel(model));
+    if (placement != null && placement.cardIndex < player.getHandView().size()
+        && model.isCellEmpty(placement.row, placement.column)) {
+      return placement;
+    }
+    return delegate.chooseMove(model, player);
+  }
+}
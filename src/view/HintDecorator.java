@@ -7,6 +7,7 @@ import javax.swing.JLabel;
 import card.CellTypeContents;
 import card.ICard;
 import controller.Features;
+import model.BoardTopology;
 import model.ReadOnlyIModel;
 import player.PlayerColor;
 
@@ -84,8 +85,9 @@ public class HintDecorator implements IViewFrameGUI {
    * and the game board state.
    */
   private void generateHints() {
-    int rows = model.getBoard().length;
-    int cols = model.getBoard()[0].length;
+    BoardTopology topology = model.getTopology();
+    int rows = topology.getRows();
+    int cols = topology.getColumns();
 
     // Get the index of the currently highlighted card
     int highlightedCardIndex = delegate.getHighlightedCardIndex(playerColor);
@@ -97,17 +99,27 @@ public class HintDecorator implements IViewFrameGUI {
     }
 
     // Retrieve the player's hand
-    List<ICard> hand = playerColor == PlayerColor.RED
-            ? model.getRedPlayer().getHand()
-            : model.getBluePlayer().getHand();
+    List<ICard> hand = model.getHandView(playerColor);
 
     // Get the highlighted card from the hand
     ICard highlightedCard = hand.get(highlightedCardIndex);
 
-    // Iterate over all cells and calculate flip counts for the highlighted card
+    // Calculate flip counts for the highlighted card in one batch. Only frontier cells have a
+    // card next to them to flip; every other empty cell shows zero.
+    int[] cells = new int[model.getFrontierCellCount()];
+    for (int i = 0; i < cells.length; i++) {
+      cells[i] = model.frontierCell(i);
+    }
+    int[] frontierFlips = new int[cells.length];
+    model.calculateFlips(cells, List.of(highlightedCard), frontierFlips);
+    int[] flips = new int[topology.getCellCount()];
+    for (int i = 0; i < cells.length; i++) {
+      flips[cells[i]] = frontierFlips[i];
+    }
+
     for (int row = 0; row < rows; row++) {
       for (int col = 0; col < cols; col++) {
-        int totalFlips = model.calculateFlips(row, col, highlightedCard);
+        int totalFlips = flips[topology.cell(row, col)];
 
         Component cell = delegate.getBoardComponent(row, col);
         if (cell instanceof ViewBoardPanelGUIImpl.CellPanel) {
@@ -126,8 +138,8 @@ public class HintDecorator implements IViewFrameGUI {
    * Clears all hints from the game board by resetting the flip counts in all cells.
    */
   private void clearHints() {
-    int rows = model.getBoard().length;
-    int cols = model.getBoard()[0].length;
+    int rows = model.getTopology().getRows();
+    int cols = model.getTopology().getColumns();
 
     for (int row = 0; row < rows; row++) {
       for (int col = 0; col < cols; col++) {
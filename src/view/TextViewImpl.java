@@ -92,11 +92,11 @@ public class TextViewImpl implements ITextView {
   private void appendHand(StringBuilder sb) {
     sb.append("Hand:\n");
     if (currentPlayer.getPlayerColor() == PlayerColor.RED) {
-      for (ICard card : model.getRedPlayer().getHand()) {
+      for (ICard card : model.getHandView(PlayerColor.RED)) {
         sb.append(card.toString()).append("\n");
       }
     } else {
-      for (ICard card : model.getBluePlayer().getHand()) {
+      for (ICard card : model.getHandView(PlayerColor.BLUE)) {
         sb.append(card.toString()).append("\n");
       }
     }
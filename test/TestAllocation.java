@@ -0,0 +1,237 @@
+import card.CellTypeContents;
+import card.ICard;
+import flipcriteria.PlusRule;
+import flipcriteria.SameRule;
+import gameconfig.ConfigGame;
+import model.BoardTopology;
+import model.IModel;
+import model.ModelVarientImpl;
+import model.RuleEngine;
+import org.junit.Assume;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import player.AIPlayerImpl;
+import player.IPlayer;
+import player.PlayerColor;
+import strategies.CornerStrategy;
+import strategies.FlipTheMostStrategy;
+import strategies.IStrategy;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Allocation regression tests. Each test measures the bytes the current thread allocates per
+ * operation on a standard position of the default board, after a warm-up long enough for the
+ * JIT to compile the operation, and fails if it exceeds the budget for that operation. The
+ * budgets leave room for JVM differences, but not for a copy of the board, a hand or a card's
+ * side map per call.
+ */
+public class TestAllocation {
+
+  private static final int WARMUP = 20_000;
+  private static final int ITERATIONS = 20_000;
+  /** The budget of an operation that should not allocate, allowing for a rare stray object. */
+  private static final int ALLOCATION_FREE = 8;
+
+  private static com.sun.management.ThreadMXBean threads;
+
+  @BeforeClass
+  public static void checkSupported() {
+    Assume.assumeTrue(ManagementFactory.getThreadMXBean()
+        instanceof com.sun.management.ThreadMXBean);
+    threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    Assume.assumeTrue(threads.isThreadAllocatedMemorySupported());
+    threads.setThreadAllocatedMemoryEnabled(true);
+  }
+
+  /**
+   * Runs an operation until it is compiled, then returns the bytes it allocates per run.
+   */
+  private static double bytesPerOperation(Runnable operation) {
+    for (int i = 0; i < WARMUP; i++) {
+      operation.run();
+    }
+    long before = threads.getCurrentThreadAllocatedBytes();
+    for (int i = 0; i < ITERATIONS; i++) {
+      operation.run();
+    }
+    return (double) (threads.getCurrentThreadAllocatedBytes() - before) / ITERATIONS;
+  }
+
+  private static void assertBudget(String operation, double bytes, int budget) {
+    assertTrue(String.format("%s allocates %.1f bytes per call, over its budget of %d",
+        operation, bytes, budget), bytes <= budget);
+  }
+
+  /**
+   * Creates a game on the default board with the given number of cards already placed, each
+   * player putting its first card on the first empty cell.
+   */
+  private static IModel position(int placements, IPlayer red, IPlayer blue) {
+    ConfigGame config = new ConfigGame("board.config", "card.database");
+    IModel model = new ModelVarientImpl(config.getBoard(), config.getDeck(),
+        new ArrayList<>(List.of(red, blue)));
+    model.startGame();
+    for (int i = 0; i < placements; i++) {
+      int[] cell = firstEmptyCell(model);
+      model.placeCard(cell[0], cell[1], 0, i % 2 == 0 ? red : blue);
+    }
+    return model;
+  }
+
+  private static IModel position(int placements) {
+    return position(placements, new AIPlayerImpl(new FlipTheMostStrategy(), PlayerColor.RED,
+            new ArrayList<>()),
+        new AIPlayerImpl(new CornerStrategy(), PlayerColor.BLUE, new ArrayList<>()));
+  }
+
+  private static int[] firstEmptyCell(IModel model) {
+    CellTypeContents[][] board = model.getBoardAvailability();
+    for (int row = 0; row < board.length; row++) {
+      for (int col = 0; col < board[row].length; col++) {
+        if (board[row][col] == CellTypeContents.EMPTY) {
+          return new int[]{row, col};
+        }
+      }
+    }
+    throw new IllegalStateException("The board is full.");
+  }
+
+  @Test
+  public void testPlaceCard() {
+    // Every placement needs a fresh game, so games are made ahead and only placing is counted.
+    // The first rounds warm the placement up and only the last is checked.
+    int games = 2_000;
+    double bytes = 0;
+    for (int round = 0; round < 3; round++) {
+      List<IModel> models = new ArrayList<>();
+      List<IPlayer> players = new ArrayList<>();
+      for (int i = 0; i < games; i++) {
+        IPlayer red = new AIPlayerImpl(new FlipTheMostStrategy(), PlayerColor.RED,
+            new ArrayList<>());
+        models.add(position(0, red,
+            new AIPlayerImpl(new CornerStrategy(), PlayerColor.BLUE, new ArrayList<>())));
+        players.add(red);
+      }
+      int[] cell = firstEmptyCell(models.get(0));
+      long before = threads.getCurrentThreadAllocatedBytes();
+      for (int i = 0; i < games; i++) {
+        models.get(i).placeCard(cell[0], cell[1], 0, players.get(i));
+      }
+      bytes = (double) (threads.getCurrentThreadAllocatedBytes() - before) / games;
+    }
+    assertBudget("placeCard", bytes, 1024);
+  }
+
+  @Test
+  public void testCalculateFlips() {
+    IModel model = position(6);
+    int[] cell = firstEmptyCell(model);
+    ICard card = model.getRedPlayer().getHand().get(0);
+    double single = bytesPerOperation(() -> model.calculateFlips(cell[0], cell[1], card));
+    assertBudget("calculateFlips", single, ALLOCATION_FREE);
+
+    BoardTopology topology = model.getTopology();
+    int[] cells = new int[topology.getPlayableCellCount()];
+    for (int i = 0; i < cells.length; i++) {
+      cells[i] = topology.playableCell(i);
+    }
+    List<ICard> hand = model.getRedPlayer().getHand();
+    int[] flips = new int[cells.length * hand.size()];
+    double batch = bytesPerOperation(() -> model.calculateFlips(cells, hand, flips));
+    assertBudget("batch calculateFlips", batch, ALLOCATION_FREE);
+  }
+
+  @Test
+  public void testGetCardAt() {
+    // A copy of the card, with a new side map, is returned each time.
+    IModel model = position(6);
+    double bytes = bytesPerOperation(() -> model.getCardAt(0, 0));
+    assertBudget("getCardAt", bytes, 2048);
+  }
+
+  @Test
+  public void testOccupancyQueries() {
+    IModel model = position(6);
+    int[] empty = firstEmptyCell(model);
+    assertTrue(model.isCellEmpty(empty[0], empty[1]));
+    assertNull(model.getOwnerAt(empty[0], empty[1]));
+    assertNull(model.findCardAt(-1, 0));
+    assertFalse(model.isCellEmpty(0, model.getTopology().getColumns()));
+    assertEquals(model.getCardAt(0, 0).getPlayerColor(), model.getOwnerAt(0, 0));
+    assertEquals(model.getCardAt(0, 0), model.findCardAt(0, 0));
+
+    int rows = model.getTopology().getRows();
+    int cols = model.getTopology().getColumns();
+    assertBudget("occupancy queries", bytesPerOperation(() -> {
+      for (int row = 0; row < rows; row++) {
+        for (int col = 0; col < cols; col++) {
+          if (!model.isCellEmpty(row, col) && model.getOwnerAt(row, col) == null) {
+            model.findCardAt(row, col);
+          }
+        }
+      }
+    }), ALLOCATION_FREE);
+  }
+
+  @Test
+  public void testHandView() {
+    IPlayer red = new AIPlayerImpl(new FlipTheMostStrategy(), PlayerColor.RED, new ArrayList<>());
+    IModel model = position(6, red,
+        new AIPlayerImpl(new CornerStrategy(), PlayerColor.BLUE, new ArrayList<>()));
+    List<ICard> hand = model.getHandView(PlayerColor.RED);
+    int size = hand.size();
+    assertBudget("getHandView", bytesPerOperation(
+        () -> model.getHandView(PlayerColor.RED).get(0)), ALLOCATION_FREE);
+    assertThrows(UnsupportedOperationException.class, () -> hand.remove(0));
+
+    int[] cell = firstEmptyCell(model);
+    model.placeCard(cell[0], cell[1], 0, red);
+    assertEquals(size - 1, hand.size());
+  }
+
+  @Test
+  public void testChooseMove() {
+    Map<IStrategy, Integer> budgets = new LinkedHashMap<>();
+    budgets.put(new FlipTheMostStrategy(), 1024);
+    budgets.put(new CornerStrategy(), 6144);
+    for (Map.Entry<IStrategy, Integer> budget : budgets.entrySet()) {
+      IPlayer red = new AIPlayerImpl(budget.getKey(), PlayerColor.RED, new ArrayList<>());
+      IPlayer blue = new AIPlayerImpl(new CornerStrategy(), PlayerColor.BLUE, new ArrayList<>());
+      IModel model = position(6, red, blue);
+      assertBudget(budget.getKey().getClass().getSimpleName() + ".chooseMove",
+          bytesPerOperation(() -> red.chooseMove(model)), budget.getValue());
+    }
+  }
+
+  @Test
+  public void testRuleApplication() {
+    CellTypeContents e = CellTypeContents.EMPTY;
+    BoardTopology topology = BoardTopology.of(new CellTypeContents[][]{
+        {e, e, e}, {e, e, e}, {e, e, e}});
+    int[] owner = {-1, 1, -1, 1, -1, 1, -1, 1, -1};
+    int[] sides = new int[9 * 4];
+    for (int i = 0; i < sides.length; i++) {
+      sides[i] = 1 + i % 9;
+    }
+    int[] placed = {2, 6, 8, 4};
+    int[] flipped = new int[9];
+    for (RuleEngine engine : List.of(
+        RuleEngine.forRules(topology, null, null),
+        RuleEngine.forRules(topology, null, new SameRule()),
+        RuleEngine.forRules(topology, null, new PlusRule()))) {
+      double bytes = bytesPerOperation(() -> engine.resolve(owner, sides, 4, 0, placed, flipped));
+      assertBudget("RuleEngine.resolve", bytes, ALLOCATION_FREE);
+    }
+  }
+}
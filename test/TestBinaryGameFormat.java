@@ -0,0 +1,141 @@
+import card.CellTypeContents;
+import card.ICard;
+import gameconfig.BinaryGameFormat;
+import gameconfig.ConfigConverter;
+import gameconfig.ConfigGame;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Test class to test that the binary and text configuration formats round-trip.
+ */
+public class TestBinaryGameFormat {
+
+  private final BinaryGameFormat binary = new BinaryGameFormat();
+  private final ConfigConverter converter = new ConfigConverter();
+
+  private File tempFile() throws IOException {
+    File file = File.createTempFile("format", ".bin");
+    file.deleteOnExit();
+    return file;
+  }
+
+  private void assertSameDeck(ArrayList<ICard> expected, ArrayList<ICard> actual) {
+    assertEquals(expected, actual);
+    for (int i = 0; i < expected.size(); i++) {
+      assertEquals(expected.get(i).getPlayerColor(), actual.get(i).getPlayerColor());
+    }
+  }
+
+  @Test
+  public void testBoardsRoundTripThroughBinary() throws IOException {
+    for (String name : new String[]{"board.config", "simpleBoard.config", "chessBoard.config",
+        "PlusBoard.config", "1x1Board.config"}) {
+      CellTypeContents[][] original = new ConfigGame(name, "card.database").getBoard();
+      File binaryFile = tempFile();
+      binary.writeBoard(original, binaryFile);
+      assertTrue(binary.isBinary(binaryFile));
+      assertArrayEquals(original, new ConfigGame(binaryFile, binaryFile).getBoard());
+
+      File textFile = tempFile();
+      converter.writeBoardText(converter.readBoard(binaryFile), textFile);
+      assertFalse(binary.isBinary(textFile));
+      assertArrayEquals(original, new ConfigGame(textFile, textFile).getBoard());
+    }
+  }
+
+  @Test
+  public void testCardDatabasesRoundTripThroughBinary() throws IOException {
+    for (String name : new String[]{"card.database", "simpleCard.database",
+        "dupCard.database"}) {
+      ConfigGame config = new ConfigGame("board.config", name);
+      File binaryFile = tempFile();
+      binary.writeCards(config.getCardTable(), binaryFile);
+      assertSameDeck(config.getDeck(), new ConfigGame(binaryFile, binaryFile).getDeck());
+
+      File textFile = tempFile();
+      converter.writeCardsText(converter.readCards(binaryFile), textFile);
+      assertSameDeck(config.getDeck(), new ConfigGame(textFile, textFile).getDeck());
+    }
+  }
+
+  @Test
+  public void testTextDatabaseStartingLikeAMagicIsText() throws IOException {
+    File file = tempFile();
+    Files.write(file.toPath(), "3TRCard 1 2 3 4\n3TRBoard 5 6 7 A\n".getBytes(
+        StandardCharsets.UTF_8));
+    assertFalse(binary.isBinary(file));
+    ArrayList<ICard> deck = new ConfigGame(file, file).getDeck();
+    assertEquals(2, deck.size());
+    assertEquals("3TRCard", deck.get(0).getName());
+    assertEquals("3TRCard", new ConfigGame(file, file).getCardTable().getName(0));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testReadingTextFileAsBinaryBoardFails() {
+    binary.readBoard(new File("docs" + File.separator + "board.config"));
+  }
+
+  /**
+   * Writes a binary card file with the given name end offsets, one card per offset, followed by
+   * the given number of name bytes.
+   */
+  private File cardFile(int nameBytes, int... nameEnds) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(10 + nameEnds.length * 6 + nameBytes);
+    buffer.putInt(BinaryGameFormat.CARDS_MAGIC).putShort(BinaryGameFormat.VERSION)
+        .putInt(nameEnds.length);
+    for (int end : nameEnds) {
+      buffer.putInt(end).putShort((short) 0x1111);
+    }
+    for (int i = 0; i < nameBytes; i++) {
+      buffer.put((byte) 'A');
+    }
+    File file = tempFile();
+    Files.write(file.toPath(), buffer.array());
+    return file;
+  }
+
+  private void assertInvalidCards(File file) {
+    try {
+      binary.readCards(file);
+      fail("Read invalid name offsets.");
+    } catch (IllegalArgumentException e) {
+      assertTrue(e.getMessage().startsWith("Invalid binary card database file"));
+    }
+  }
+
+  @Test
+  public void testCardNameOffsetsAreChecked() throws IOException {
+    assertEquals("AA", binary.readCards(cardFile(3, 1, 3)).getName(1));
+    // The first name cannot end before 0, where it starts.
+    assertInvalidCards(cardFile(3, -1, 3));
+    // A name cannot end before the one ahead of it.
+    assertInvalidCards(cardFile(3, 2, 1, 3));
+    // An offset past the names is caught even when a later offset comes back in range.
+    assertInvalidCards(cardFile(3, 50, 3));
+    assertInvalidCards(cardFile(3, 1, 4));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testBoardWhoseCellCountOverflowsFails() throws IOException {
+    // 65536 * 65536 is 0 as an int, which once made the empty mask look large enough.
+    ByteBuffer buffer = ByteBuffer.allocate(14);
+    buffer.putInt(BinaryGameFormat.BOARD_MAGIC).putShort(BinaryGameFormat.VERSION)
+        .putInt(65536).putInt(65536);
+    File file = tempFile();
+    Files.write(file.toPath(), buffer.array());
+    binary.readBoard(file);
+  }
+}
@@ -0,0 +1,82 @@
+import card.CellTypeContents;
+import model.BoardSymmetry;
+import model.BoardTopology;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test class for the BoardTopology class.
+ */
+public class TestBoardTopology {
+
+  private static final CellTypeContents E = CellTypeContents.EMPTY;
+  private static final CellTypeContents H = CellTypeContents.HOLE;
+
+  @Test
+  public void testNeighborsStopAtEdgesAndHoles() {
+    BoardTopology topology = BoardTopology.of(new CellTypeContents[][]{
+        {E, E, E},
+        {E, H, E}});
+    // Cell 1 is the top middle: no north, the hole to the south.
+    assertEquals(BoardTopology.NONE, topology.neighbor(1, 0));
+    assertEquals(2, topology.neighbor(1, 1));
+    assertEquals(BoardTopology.NONE, topology.neighbor(1, 2));
+    assertEquals(0, topology.neighbor(1, 3));
+    assertEquals(0b1010, topology.exposedDirections(1));
+    assertEquals(0, topology.exposedDirections(4));
+    assertTrue(topology.isHole(4));
+    assertFalse(topology.isHole(5));
+  }
+
+  @Test
+  public void testPlayableCellsSkipHolesInRowMajorOrder() {
+    BoardTopology topology = BoardTopology.of(new CellTypeContents[][]{
+        {H, E},
+        {E, H}});
+    assertEquals(2, topology.getPlayableCellCount());
+    assertEquals(1, topology.playableCell(0));
+    assertEquals(2, topology.playableCell(1));
+    assertEquals(1, topology.rowOf(2));
+    assertEquals(0, topology.columnOf(2));
+  }
+
+  @Test
+  public void testSymmetriesMapHolesOntoHoles() {
+    BoardSymmetry square = BoardTopology.of(new CellTypeContents[][]{
+        {E, E, E},
+        {E, E, E},
+        {E, E, E}}).getSymmetry();
+    assertEquals(8, square.size());
+    assertEquals(5, square.cell(0, 5));
+
+    // Only the mirror between the left and right columns keeps the holes in place.
+    BoardSymmetry mirrored = BoardTopology.of(new CellTypeContents[][]{
+        {E, E, E},
+        {H, E, H}}).getSymmetry();
+    assertEquals(2, mirrored.size());
+    assertEquals(2, mirrored.cell(1, 0));
+    assertEquals(3, mirrored.direction(1, 1));
+    assertEquals(0, mirrored.direction(1, 0));
+    assertEquals(1, mirrored.inverse(1));
+
+    // Only the reflection in the main diagonal keeps the corner hole in place.
+    BoardSymmetry diagonal = BoardTopology.of(new CellTypeContents[][]{
+        {H, E, E},
+        {E, E, E},
+        {E, E, E}}).getSymmetry();
+    assertEquals(2, diagonal.size());
+    assertEquals(3, diagonal.cell(1, 1));
+    assertEquals(3, diagonal.direction(1, 0));
+  }
+
+  @Test
+  public void testSameLayoutSharesOneTopology() {
+    CellTypeContents[][] layout = {{E, E}, {H, E}};
+    CellTypeContents[][] filled = {{CellTypeContents.CARD, E}, {H, CellTypeContents.CARD}};
+    assertSame(BoardTopology.of(layout), BoardTopology.of(filled));
+  }
+}
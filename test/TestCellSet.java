@@ -0,0 +1,101 @@
+import gameconfig.ConfigGame;
+import model.BoardTopology;
+import model.CellSet;
+import model.IModel;
+import model.ModelVarientImpl;
+import org.junit.Test;
+import player.IPlayer;
+import player.PlayerColor;
+import player.PlayerImpl;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test class for the CellSet class and the empty and frontier cells the model keeps with it.
+ */
+public class TestCellSet {
+
+  @Test
+  public void testAddRemoveAndContains() {
+    CellSet set = new CellSet(6);
+    assertTrue(set.add(4));
+    assertTrue(set.add(1));
+    assertTrue(set.add(5));
+    assertFalse(set.add(1));
+    assertEquals(3, set.size());
+
+    // Removing a cell moves the last member into its place.
+    assertTrue(set.remove(4));
+    assertFalse(set.remove(4));
+    assertEquals(2, set.size());
+    assertEquals(5, set.get(0));
+    assertEquals(1, set.get(1));
+    assertTrue(set.contains(5));
+    assertFalse(set.contains(4));
+    assertFalse(set.contains(6));
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void testGetPastSize() {
+    CellSet set = new CellSet(3);
+    set.add(0);
+    set.get(1);
+  }
+
+  @Test
+  public void testModelKeepsEmptyAndFrontierCellsAsCardsArePlaced() {
+    ConfigGame config = new ConfigGame("board.config", "card.database");
+    IPlayer red = new PlayerImpl(PlayerColor.RED, new ArrayList<>());
+    IPlayer blue = new PlayerImpl(PlayerColor.BLUE, new ArrayList<>());
+    IModel model = new ModelVarientImpl(config.getBoard(), config.getDeck(),
+        new ArrayList<>(List.of(red, blue)));
+    model.startGame();
+    BoardTopology topology = model.getTopology();
+    assertEquals(topology.getPlayableCellCount(), model.getEmptyCellCount());
+
+    boolean redTurn = true;
+    while (!model.checkGameOver()) {
+      Set<Integer> expected = new HashSet<>();
+      for (int i = 0; i < topology.getPlayableCellCount(); i++) {
+        int cell = topology.playableCell(i);
+        if (model.isCellEmpty(topology.rowOf(cell), topology.columnOf(cell))) {
+          expected.add(cell);
+        }
+      }
+      Set<Integer> actual = new HashSet<>();
+      for (int i = 0; i < model.getEmptyCellCount(); i++) {
+        actual.add(model.emptyCell(i));
+      }
+      assertEquals(expected, actual);
+
+      Set<Integer> expectedFrontier = new HashSet<>();
+      for (int cell : expected) {
+        for (int direction = 0; direction < 4; direction++) {
+          int adjacent = topology.neighbor(cell, direction);
+          if (adjacent != BoardTopology.NONE && !expected.contains(adjacent)) {
+            expectedFrontier.add(cell);
+          }
+        }
+      }
+      Set<Integer> frontier = new HashSet<>();
+      for (int i = 0; i < model.getFrontierCellCount(); i++) {
+        frontier.add(model.frontierCell(i));
+        assertTrue(model.isFrontierCell(model.frontierCell(i)));
+      }
+      assertEquals(expectedFrontier, frontier);
+
+      // Placing on a cell from the middle of the list moves the last one into its place.
+      int cell = model.emptyCell(model.getEmptyCellCount() / 2);
+      model.placeCard(topology.rowOf(cell), topology.columnOf(cell), 0, redTurn ? red : blue);
+      redTurn = !redTurn;
+    }
+    assertEquals(0, model.getEmptyCellCount());
+  }
+}
@@ -0,0 +1,165 @@
+import card.CardTable;
+import card.CellTypeContents;
+import card.ICard;
+import gameconfig.ConfigCache;
+import gameconfig.GameSetup;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test class for the ConfigCache and GameSetup classes.
+ */
+public class TestConfigCache {
+
+  private static final String BOARD = "2 3\nCCX\nCCC\n";
+  private static final String CARDS = "Alpha 1 2 3 4\nBravo 5 6 7 8\nCobra 9 A 1 2\n"
+      + "Delta 3 4 5 6\nEagle 7 8 9 A\nFalco 1 3 5 7\n";
+
+  private File tempFile(String contents) throws IOException {
+    File file = File.createTempFile("cache", ".config");
+    file.deleteOnExit();
+    write(file, contents);
+    return file;
+  }
+
+  private void write(File file, String contents) throws IOException {
+    Files.write(file.toPath(), contents.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Rewrites a file with contents of the same length and gives it back its modification time,
+   * so that only invalidation, not a status check, can reveal the change.
+   */
+  private void rewriteUnnoticed(File file, String contents) throws IOException {
+    long modified = file.lastModified();
+    write(file, contents);
+    assertTrue(file.setLastModified(modified));
+  }
+
+  @Test
+  public void testSetupsShareParsedFilesAndHandOutFreshBoards() throws IOException {
+    File board = tempFile(BOARD);
+    File cards = tempFile(CARDS);
+    try (ConfigCache cache = new ConfigCache(4)) {
+      GameSetup first = cache.get(board, cards);
+      GameSetup second = cache.get(board, cards);
+      assertSame(first.getCardTable(), second.getCardTable());
+
+      CellTypeContents[][] played = first.newBoard();
+      played[0][0] = CellTypeContents.CARD;
+      assertEquals(CellTypeContents.EMPTY, second.newBoard()[0][0]);
+      assertEquals(CellTypeContents.EMPTY, first.getCell(0, 0));
+      assertEquals(CellTypeContents.HOLE, first.getCell(0, 2));
+
+      List<ICard> deck = first.newDeck();
+      deck.remove(0);
+      List<ICard> other = second.newDeck();
+      assertNotSame(deck, other);
+      assertEquals(6, other.size());
+      assertSame(other.get(1), deck.get(0));
+    }
+  }
+
+  @Test
+  public void testChangedFilesAreParsedAgain() throws IOException {
+    File board = tempFile(BOARD);
+    File cards = tempFile(CARDS);
+    try (ConfigCache cache = new ConfigCache(4)) {
+      CardTable original = cache.get(board, cards).getCardTable();
+
+      // A different size is noticed.
+      write(cards, CARDS + "Gecko 2 4 6 8\n");
+      CardTable longer = cache.get(board, cards).getCardTable();
+      assertNotSame(original, longer);
+      assertEquals(7, longer.size());
+
+      // So is the same size with a new modification time.
+      long modified = cards.lastModified();
+      write(cards, CARDS.replace("Alpha", "Omega") + "Gecko 2 4 6 8\n");
+      assertTrue(cards.setLastModified(modified + 2000));
+      CardTable renamed = cache.get(board, cards).getCardTable();
+      assertNotSame(longer, renamed);
+      assertEquals("Omega", renamed.toCard(0).getName());
+
+      write(board, "2 3\nCCC\nCCC\n");
+      assertEquals(CellTypeContents.EMPTY, cache.get(board, cards).getCell(0, 2));
+    }
+  }
+
+  @Test
+  public void testInvalidateAndClearDropEntries() throws IOException {
+    File board = tempFile(BOARD);
+    File cards = tempFile(CARDS);
+    try (ConfigCache cache = new ConfigCache(4)) {
+      CardTable original = cache.get(board, cards).getCardTable();
+      rewriteUnnoticed(board, "2 3\nCCC\nCCX\n");
+      assertEquals(CellTypeContents.HOLE, cache.get(board, cards).getCell(0, 2));
+      assertSame(original, cache.get(board, cards).getCardTable());
+
+      cache.invalidate(board);
+      GameSetup reparsed = cache.get(board, cards);
+      assertEquals(CellTypeContents.EMPTY, reparsed.getCell(0, 2));
+      assertEquals(CellTypeContents.HOLE, reparsed.getCell(1, 2));
+      assertSame(original, reparsed.getCardTable());
+
+      cache.clear();
+      assertNotSame(original, cache.get(board, cards).getCardTable());
+    }
+  }
+
+  @Test
+  public void testLeastRecentlyUsedEntryIsEvicted() throws IOException {
+    File board = tempFile(BOARD);
+    File first = tempFile(CARDS);
+    File second = tempFile(CARDS);
+    File third = tempFile(CARDS);
+    try (ConfigCache cache = new ConfigCache(2)) {
+      CardTable firstTable = cache.get(board, first).getCardTable();
+      CardTable secondTable = cache.get(board, second).getCardTable();
+      // Using the first database again makes the second the least recently used.
+      assertSame(firstTable, cache.get(board, first).getCardTable());
+      cache.get(board, third);
+
+      assertSame(firstTable, cache.get(board, first).getCardTable());
+      assertNotSame(secondTable, cache.get(board, second).getCardTable());
+    }
+  }
+
+  @Test
+  public void testWatcherDropsChangedFiles() throws Exception {
+    File board = tempFile(BOARD);
+    File cards = tempFile(CARDS);
+    try (ConfigCache cache = new ConfigCache(4, true)) {
+      CardTable original = cache.get(board, cards).getCardTable();
+      // Watching replaces the status check, so an unnoticed change stays cached until the
+      // watcher reports it.
+      rewriteUnnoticed(cards, CARDS.replace("Alpha", "Omega"));
+
+      long deadline = System.nanoTime() + 10_000_000_000L;
+      CardTable current = cache.get(board, cards).getCardTable();
+      while (current == original && System.nanoTime() < deadline) {
+        Thread.sleep(10);
+        current = cache.get(board, cards).getCardTable();
+      }
+      assertNotSame(original, current);
+      assertEquals("Omega", current.toCard(0).getName());
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testMissingFileFails() throws IOException {
+    try (ConfigCache cache = new ConfigCache(1)) {
+      cache.get(new File("missing.config"), tempFile(CARDS));
+    }
+  }
+}
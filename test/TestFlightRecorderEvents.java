@@ -0,0 +1,137 @@
+import card.CellTypeContents;
+import controller.HeadlessController;
+import flipcriteria.SameRule;
+import gameconfig.ConfigGame;
+import metrics.ComboEvent;
+import metrics.DecisionEvent;
+import metrics.MoveEvent;
+import metrics.RuleEvent;
+import model.IModel;
+import model.ModelImpl;
+import model.ModelVarientImpl;
+import org.junit.Test;
+import player.AIPlayerImpl;
+import player.IPlayer;
+import player.PlayerColor;
+import player.PlayerImpl;
+import strategies.CornerStrategy;
+import strategies.FlipTheMostStrategy;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test class for the Java Flight Recorder events emitted by the game.
+ */
+public class TestFlightRecorderEvents {
+
+  private List<RecordedEvent> record(Runnable game) throws Exception {
+    File file = File.createTempFile("threetrios", ".jfr");
+    try (Recording recording = new Recording()) {
+      for (Class<? extends jdk.jfr.Event> type : List.of(MoveEvent.class, ComboEvent.class,
+          RuleEvent.class, DecisionEvent.class)) {
+        recording.enable(type).withoutThreshold();
+      }
+      recording.start();
+      game.run();
+      recording.stop();
+      recording.dump(file.toPath());
+      return RecordingFile.readAllEvents(file.toPath());
+    } finally {
+      file.delete();
+    }
+  }
+
+  private static List<RecordedEvent> named(List<RecordedEvent> events, String name) {
+    List<RecordedEvent> matching = new ArrayList<>();
+    events.stream().filter(event -> event.getEventType().getName().equals(name))
+        .forEach(matching::add);
+    return matching;
+  }
+
+  @Test
+  public void testGameEmitsMoveComboRuleAndDecisionEvents() throws Exception {
+    ConfigGame config = new ConfigGame("board.config", "card.database");
+    IPlayer red = new AIPlayerImpl(new FlipTheMostStrategy(), PlayerColor.RED, new ArrayList<>());
+    IPlayer blue = new AIPlayerImpl(new CornerStrategy(), PlayerColor.BLUE, new ArrayList<>());
+    IModel model = new ModelVarientImpl(config.getBoard(), config.getDeck(),
+        new ArrayList<>(List.of(red, blue)));
+    model.setFlipCriteria(new SameRule());
+    List<RecordedEvent> events = record(() -> {
+      HeadlessController redController = new HeadlessController(model, red);
+      HeadlessController blueController = new HeadlessController(model, blue);
+      redController.playGame();
+      blueController.playGame();
+    });
+
+    List<RecordedEvent> moves = named(events, "threetrios.Move");
+    assertEquals(15, moves.size());
+    int rows = model.getTopology().getRows();
+    for (RecordedEvent move : moves) {
+      assertEquals(rows, move.getInt("boardRows"));
+      assertTrue(move.getInt("comboDepth") <= move.getInt("flips"));
+    }
+
+    List<RecordedEvent> decisions = named(events, "threetrios.Decision");
+    assertEquals(8, decisions.stream()
+        .filter(event -> event.getString("strategy").equals("FlipTheMostStrategy")).count());
+    assertFalse(named(events, "threetrios.Rule").isEmpty());
+    for (RecordedEvent combo : named(events, "threetrios.Combo")) {
+      assertTrue(combo.getInt("flips") >= combo.getInt("initialFlips"));
+      assertTrue(combo.getInt("initialFlips") > 0);
+    }
+  }
+
+  @Test
+  public void testLegacyModelEmitsMoveEvents() throws Exception {
+    ConfigGame config = new ConfigGame("board.config", "card.database");
+    IPlayer red = new PlayerImpl(PlayerColor.RED, new ArrayList<>());
+    IPlayer blue = new PlayerImpl(PlayerColor.BLUE, new ArrayList<>());
+    IModel model = new ModelImpl(config.getBoard(), config.getDeck(),
+        new ArrayList<>(List.of(red, blue)));
+    model.startGame();
+    Consumer<IPlayer> placeFirst = player -> {
+      for (int row = 0; row < model.getBoard().length; row++) {
+        for (int col = 0; col < model.getBoard()[0].length; col++) {
+          if (model.getBoardAvailability()[row][col] == CellTypeContents.EMPTY) {
+            model.placeCard(row, col, 0, player);
+            return;
+          }
+        }
+      }
+    };
+    List<RecordedEvent> events = record(() -> {
+      placeFirst.accept(red);
+      placeFirst.accept(blue);
+    });
+
+    List<RecordedEvent> moves = named(events, "threetrios.Move");
+    assertEquals(2, moves.size());
+    assertEquals("RED", moves.get(0).getString("player"));
+    assertEquals("BLUE", moves.get(1).getString("player"));
+  }
+
+  @Test
+  public void testEventsReportRecordingOnlyWhileEnabled() throws Exception {
+    assertFalse(MoveEvent.isRecording());
+    assertFalse(DecisionEvent.isRecording());
+    boolean[] during = new boolean[2];
+    record(() -> {
+      during[0] = MoveEvent.isRecording();
+      during[1] = DecisionEvent.isRecording();
+    });
+    assertTrue(during[0]);
+    assertTrue(during[1]);
+    assertFalse(MoveEvent.isRecording());
+  }
+}
@@ -0,0 +1,240 @@
+import card.CardImpl;
+import card.CellTypeContents;
+import card.DirectionValue;
+import card.ICard;
+import cardcomparison.NormalComparisonStrategy;
+import flipcriteria.ICriteria;
+import flipcriteria.PlusRule;
+import flipcriteria.SameRule;
+import gameconfig.ConfigGame;
+import model.IModel;
+import model.ModelImpl;
+import model.ModelVarientImpl;
+import org.junit.Test;
+import player.IPlayer;
+import player.PlayerColor;
+import player.PlayerImpl;
+import search.SearchPosition;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Test class for the SameRule and PlusRule flip criteria.
+ */
+public class TestFlipCriteria {
+
+  /**
+   * The Same rule as originally written: opponent's cards whose facing value equals the placed
+   * card's are flipped when there are at least two of them.
+   */
+  private static int referenceSame(int[] placed, int[] facing) {
+    List<Integer> matching = new ArrayList<>();
+    for (int direction = 0; direction < 4; direction++) {
+      if (facing[direction] != 0 && placed[direction] == facing[direction]) {
+        matching.add(direction);
+      }
+    }
+    int flipped = 0;
+    if (matching.size() >= 2) {
+      for (int direction : matching) {
+        flipped |= 1 << direction;
+      }
+    }
+    return flipped;
+  }
+
+  /**
+   * The Plus rule as originally written: opponent's cards are grouped by the sum of the facing
+   * values, and every group of at least two is flipped.
+   */
+  private static int referencePlus(int[] placed, int[] facing) {
+    Map<Integer, List<Integer>> sums = new HashMap<>();
+    for (int direction = 0; direction < 4; direction++) {
+      if (facing[direction] != 0) {
+        sums.computeIfAbsent(placed[direction] + facing[direction], sum -> new ArrayList<>())
+            .add(direction);
+      }
+    }
+    int flipped = 0;
+    for (List<Integer> group : sums.values()) {
+      if (group.size() >= 2) {
+        for (int direction : group) {
+          flipped |= 1 << direction;
+        }
+      }
+    }
+    return flipped;
+  }
+
+  @Test
+  public void testRulesMatchReferenceOnRandomNeighborhoods() {
+    Random random = new Random(35);
+    ICriteria same = new SameRule();
+    ICriteria plus = new PlusRule();
+    int[] placed = new int[4];
+    int[] facing = new int[4];
+    for (int trial = 0; trial < 100000; trial++) {
+      for (int direction = 0; direction < 4; direction++) {
+        // Small ranges so that matches and equal sums are common.
+        placed[direction] = 1 + random.nextInt(4);
+        facing[direction] = random.nextInt(3) == 0 ? 0 : 1 + random.nextInt(4);
+      }
+      assertEquals(referenceSame(placed, facing), same.flipDirections(placed, facing));
+      assertEquals(referencePlus(placed, facing), plus.flipDirections(placed, facing));
+    }
+  }
+
+  @Test
+  public void testSameFlipsOnlyWithTwoMatches() {
+    ICriteria same = new SameRule();
+    assertEquals(0, same.flipDirections(new int[]{5, 5, 5, 5}, new int[]{5, 0, 4, 0}));
+    assertEquals(0b0101, same.flipDirections(new int[]{5, 5, 5, 5}, new int[]{5, 0, 5, 0}));
+  }
+
+  @Test
+  public void testPlusFlipsEveryPairWithEqualSums() {
+    ICriteria plus = new PlusRule();
+    assertEquals(0b1111, plus.flipDirections(new int[]{1, 2, 3, 4}, new int[]{4, 3, 2, 1}));
+    assertEquals(0b0011, plus.flipDirections(new int[]{1, 2, 3, 4}, new int[]{4, 3, 1, 2}));
+    assertEquals(0, plus.flipDirections(new int[]{1, 2, 3, 4}, new int[]{1, 0, 0, 0}));
+  }
+
+  @Test
+  public void testCardsFlippedBySameStartCombos() {
+    CellTypeContents card = CellTypeContents.CARD;
+    CellTypeContents empty = CellTypeContents.EMPTY;
+    CellTypeContents[][] availability = {{card, card, empty}, {empty, empty, card}};
+    ICard[][] board = new ICard[2][3];
+    // C is only reachable through A, which Same flips together with B.
+    board[0][0] = new CardImpl(PlayerColor.BLUE, "C", DirectionValue.ONE, DirectionValue.ONE,
+        DirectionValue.ONE, DirectionValue.ONE);
+    board[0][1] = new CardImpl(PlayerColor.BLUE, "A", DirectionValue.ONE, DirectionValue.ONE,
+        DirectionValue.FIVE, DirectionValue.NINE);
+    board[1][2] = new CardImpl(PlayerColor.BLUE, "B", DirectionValue.ONE, DirectionValue.ONE,
+        DirectionValue.ONE, DirectionValue.FIVE);
+    List<ICard> redHand = List.of(new CardImpl(PlayerColor.RED, "P", DirectionValue.FIVE,
+        DirectionValue.FIVE, DirectionValue.FIVE, DirectionValue.FIVE));
+
+    SearchPosition position = new SearchPosition(availability, board, redHand, List.of(),
+        PlayerColor.RED, new NormalComparisonStrategy(), new SameRule());
+    assertEquals(3, position.place(4, 0));
+    assertEquals(SearchPosition.RED, position.getOwner(0));
+
+    SearchPosition withoutRule = new SearchPosition(availability, board, redHand, List.of(),
+        PlayerColor.RED, new NormalComparisonStrategy(), null);
+    assertEquals(0, withoutRule.place(4, 0));
+  }
+
+  @Test
+  public void testModelAppliesRulesQuietlyNextToEmptyCells() {
+    PrintStream originalOut = System.out;
+    ByteArrayOutputStream captured = new ByteArrayOutputStream();
+    try {
+      System.setOut(new PrintStream(captured));
+      for (ICriteria rule : new ICriteria[]{new SameRule(), new PlusRule()}) {
+        playRandomGame(rule, new Random(7));
+      }
+    } finally {
+      System.setOut(originalOut);
+    }
+    assertEquals("", captured.toString());
+  }
+
+  @Test
+  public void testFlipQueriesOffTheBoardOrOnCardsFlipNothing() {
+    ConfigGame config = new ConfigGame("board.config", "card.database");
+    for (boolean legacy : new boolean[]{false, true}) {
+      IPlayer red = new PlayerImpl(PlayerColor.RED, new ArrayList<>());
+      IPlayer blue = new PlayerImpl(PlayerColor.BLUE, new ArrayList<>());
+      ArrayList<IPlayer> players = new ArrayList<>(List.of(red, blue));
+      IModel model = legacy ? new ModelImpl(config.getBoard(), config.getDeck(), players)
+          : new ModelVarientImpl(config.getBoard(), config.getDeck(), players);
+      model.startGame();
+      // Blue's probe would beat red's card at (0, 0) from the cell below it, which blue holds.
+      model.placeCard(0, 0, 0, red);
+      model.placeCard(1, 0, 0, blue);
+      ICard card = new CardImpl(PlayerColor.BLUE, "Probe", DirectionValue.A, DirectionValue.A,
+          DirectionValue.A, DirectionValue.A);
+      int cols = model.getTopology().getColumns();
+
+      // One column past the end of row 0 would alias cell (1, 0).
+      assertEquals(0, model.calculateFlips(0, cols, card));
+      assertEquals(0, model.calculateFlips(-1, 0, card));
+      assertEquals(0, model.calculateFlips(1, 0, card));
+      assertEquals(0, model.getFlippedPositions(0, 0, card).size());
+
+      int cellCount = model.getTopology().getCellCount();
+      int open = model.getTopology().cell(2, 0);
+      int[] cells = {0, -1, cellCount, model.getTopology().cell(1, 0), open};
+      int[] flips = new int[cells.length];
+      model.calculateFlips(cells, List.of(card), flips);
+      assertEquals(0, flips[0] + flips[1] + flips[2] + flips[3]);
+      assertEquals(model.calculateFlips(2, 0, card), flips[4]);
+    }
+  }
+
+  private void assertBatchMatchesSingleCalls(IModel model, List<Integer> empty,
+                                             List<ICard> hand) {
+    int[] cells = empty.stream().mapToInt(Integer::intValue).toArray();
+    int[] flips = new int[cells.length * hand.size()];
+    model.calculateFlips(cells, hand, flips);
+    for (int i = 0; i < cells.length; i++) {
+      for (int k = 0; k < hand.size(); k++) {
+        assertEquals(model.calculateFlips(model.getTopology().rowOf(cells[i]),
+            model.getTopology().columnOf(cells[i]), hand.get(k)), flips[i * hand.size() + k]);
+      }
+    }
+  }
+
+  /**
+   * Plays a whole game with a rule, checking that the model predicts each placement's flips
+   * before making it, and that a search position applying the same rule agrees with the model
+   * on who owns every cell afterwards.
+   */
+  private void playRandomGame(ICriteria rule, Random random) {
+    IPlayer red = new PlayerImpl(PlayerColor.RED, new ArrayList<>());
+    IPlayer blue = new PlayerImpl(PlayerColor.BLUE, new ArrayList<>());
+    ConfigGame config = new ConfigGame("board.config", "card.database");
+    IModel model = new ModelVarientImpl(config.getBoard(), config.getDeck(),
+        new ArrayList<>(List.of(red, blue)));
+    model.setFlipCriteria(rule);
+    model.startGame();
+    List<Integer> empty = new ArrayList<>();
+    CellTypeContents[][] availability = model.getBoardAvailability();
+    for (int row = 0; row < availability.length; row++) {
+      for (int col = 0; col < availability[row].length; col++) {
+        if (availability[row][col] == CellTypeContents.EMPTY) {
+          empty.add(row * availability[row].length + col);
+        }
+      }
+    }
+    while (!empty.isEmpty()) {
+      SearchPosition position = SearchPosition.fromModel(model);
+      int cell = empty.remove(random.nextInt(empty.size()));
+      IPlayer player = model.getCurrentPlayerColor() == PlayerColor.RED ? red : blue;
+      int slot = random.nextInt(player.getHand().size());
+
+      int row = position.rowOf(cell);
+      int col = position.columnOf(cell);
+      ICard card = player.getHand().get(slot);
+      int predicted = model.calculateFlips(row, col, card);
+      assertEquals(predicted, model.getFlippedPositions(row, col, card).size());
+      assertBatchMatchesSingleCalls(model, empty, player.getHand());
+
+      assertEquals(predicted, position.place(cell, slot));
+      model.placeCard(row, col, slot, player);
+      SearchPosition expected = SearchPosition.fromModel(model);
+      for (int other = 0; other < availability.length * availability[0].length; other++) {
+        assertEquals(expected.getOwner(other), position.getOwner(other));
+      }
+    }
+  }
+}
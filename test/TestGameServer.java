@@ -0,0 +1,247 @@
+import card.CardTable;
+import card.CellTypeContents;
+import card.ICard;
+import gameconfig.ConfigGame;
+import gameconfig.GameSetup;
+import model.IModel;
+import model.ModelVarientImpl;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import player.IPlayer;
+import player.PlayerColor;
+import player.PlayerImpl;
+import server.GameClient;
+import server.GameServer;
+import server.LoadGenerator;
+import server.Protocol;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Test class for the GameServer class and its client.
+ */
+public class TestGameServer {
+
+  private GameSetup setup;
+  private GameServer server;
+  private InetSocketAddress address;
+  private final List<GameClient> clients = new ArrayList<>();
+
+  @Before
+  public void setup() throws IOException {
+    ConfigGame config = new ConfigGame("board.config", "card.database");
+    setup = new GameSetup(config.getBoard(), config.getCardTable());
+    server = new GameServer(setup,
+        new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+    server.start();
+    address = new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getPort());
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    for (GameClient client : clients) {
+      client.close();
+    }
+    server.close();
+  }
+
+  /**
+   * Connects two clients and starts a game between them.
+   *
+   * @return the red client, then the blue client
+   */
+  private GameClient[] startGame() throws Exception {
+    GameClient first = new GameClient(address);
+    GameClient second = new GameClient(address);
+    clients.add(first);
+    clients.add(second);
+    Thread join = new Thread(() -> {
+      try {
+        first.join();
+      } catch (IOException e) {
+        throw new IllegalStateException(e);
+      }
+    });
+    join.start();
+    second.join();
+    join.join();
+    return first.getColor() == Protocol.RED
+        ? new GameClient[]{first, second} : new GameClient[]{second, first};
+  }
+
+  private static int ownerCode(IModel model, int row, int column) {
+    if (model.isCellEmpty(row, column)) {
+      return GameClient.EMPTY;
+    }
+    ICard card = model.getCardAt(row, column);
+    return card.getPlayerColor() == PlayerColor.RED ? Protocol.RED : Protocol.BLUE;
+  }
+
+  @Test
+  public void testRemoteGameMatchesLocalModel() throws Exception {
+    GameClient[] byColor = startGame();
+    assertEquals(Protocol.RED, byColor[0].getColor());
+    assertEquals(Protocol.BLUE, byColor[1].getColor());
+    assertEquals(byColor[0].getGameId(), byColor[1].getGameId());
+
+    IPlayer red = new PlayerImpl(PlayerColor.RED, new ArrayList<>());
+    IPlayer blue = new PlayerImpl(PlayerColor.BLUE, new ArrayList<>());
+    IModel model = new ModelVarientImpl(setup.newBoard(), setup.newDeck(),
+        new ArrayList<>(List.of(red, blue)));
+    model.startGame();
+    assertEquals(red.getHand().size(), byColor[0].getHandSize());
+    assertEquals(Protocol.packSides(red.getHand().get(0)), byColor[0].getHandCard(0));
+
+    GameClient mover = byColor[0];
+    assertTrue(mover.awaitTurn());
+    int moves = 0;
+    while (true) {
+      IPlayer player = mover == byColor[0] ? red : blue;
+      int cell = 0;
+      while (mover.getOwner(cell / mover.getColumns(), cell % mover.getColumns())
+          != GameClient.EMPTY) {
+        cell++;
+      }
+      int row = cell / mover.getColumns();
+      int column = cell % mover.getColumns();
+      int cardIndex = player.getHand().size() - 1;
+      mover.place(row, column, cardIndex);
+      model.placeCard(row, column, cardIndex, player);
+      moves++;
+
+      GameClient next = mover == byColor[0] ? byColor[1] : byColor[0];
+      boolean nextTurn = next.awaitTurn();
+      for (int r = 0; r < next.getRows(); r++) {
+        for (int c = 0; c < next.getColumns(); c++) {
+          if (next.getOwner(r, c) != GameClient.HOLE) {
+            assertEquals(ownerCode(model, r, c), next.getOwner(r, c));
+          }
+        }
+      }
+      if (!nextTurn) {
+        break;
+      }
+      mover = next;
+    }
+
+    assertTrue(model.checkGameOver());
+    assertFalse(byColor[0].awaitTurn());
+    for (GameClient client : byColor) {
+      assertTrue(client.isGameOver());
+      assertEquals(model.getPlayerScore(PlayerColor.RED), client.getRedScore());
+      assertEquals(model.getPlayerScore(PlayerColor.BLUE), client.getBlueScore());
+    }
+    assertEquals(15, moves);
+  }
+
+  @Test
+  public void testRefusesMovesOutOfTurnAndOnFilledCells() throws Exception {
+    GameClient[] byColor = startGame();
+    GameClient red = byColor[0];
+    GameClient blue = byColor[1];
+    assertEquals(Protocol.TURN, blue.readMessage());
+
+    blue.place(0, 0, 0);
+    assertEquals(Protocol.ERROR, blue.readMessage());
+    assertEquals(Protocol.NOT_YOUR_TURN, blue.getLastError());
+
+    assertTrue(red.awaitTurn());
+    red.place(0, 0, 0);
+    assertTrue(blue.awaitTurn());
+    assertEquals(Protocol.RED, blue.getOwner(0, 0));
+    blue.place(0, 0, 0);
+    assertTrue(blue.awaitTurn());
+    assertEquals(Protocol.INVALID_MOVE, blue.getLastError());
+    assertEquals(Protocol.RED, blue.getOwner(0, 0));
+  }
+
+  @Test
+  public void testOpponentLeavingEndsGame() throws Exception {
+    GameClient[] byColor = startGame();
+    assertEquals(1, server.getActiveGameCount());
+    byColor[0].close();
+    assertFalse(byColor[1].awaitTurn());
+    assertEquals(Protocol.OPPONENT_LEFT, byColor[1].getLastError());
+    assertEquals(0, server.getActiveGameCount());
+  }
+
+  @Test
+  public void testLoadGeneratorPlaysGames() throws Exception {
+    LoadGenerator generator = new LoadGenerator(address, 4, 300, TimeUnit.MILLISECONDS, 7);
+    generator.run();
+    assertTrue(generator.getGames() > 0);
+    assertTrue(generator.getMoves() >= generator.getGames() / 2 * 15);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testStartAfterCloseFails() {
+    server.close();
+    server.start();
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testStartTwiceFails() {
+    server.start();
+  }
+
+  @Test
+  public void testUnevenDeckIsCheckedHandByHand() throws IOException {
+    // 511 cards deal 256 to red and 255 to blue, so red's hand does not fit in a byte.
+    int size = 511;
+    byte[] sides = new byte[size * 4];
+    Arrays.fill(sides, (byte) 1);
+    int[] offsets = new int[size + 1];
+    StringBuilder names = new StringBuilder();
+    for (int i = 0; i < size; i++) {
+      names.append("Card").append(i);
+      offsets[i + 1] = names.length();
+    }
+    CardTable table = new CardTable(size, sides,
+        names.toString().getBytes(StandardCharsets.UTF_8), offsets);
+    try (GameServer uneven = new GameServer(new GameSetup(setup.newBoard(), table),
+        new InetSocketAddress(InetAddress.getLoopbackAddress(), 0))) {
+      fail("A hand of " + (size + 1) / 2 + " cards was accepted on port " + uneven.getPort());
+    } catch (IllegalArgumentException e) {
+      assertEquals("A hand is too large to be served.", e.getMessage());
+    }
+  }
+
+  @Test
+  public void testBoardWithMoreCellsThanAByteIsRejected() throws IOException {
+    CellTypeContents[][] layout = new CellTypeContents[16][16];
+    for (CellTypeContents[] row : layout) {
+      Arrays.fill(row, CellTypeContents.EMPTY);
+    }
+    try (GameServer large = new GameServer(new GameSetup(layout, setup.getCardTable()),
+        new InetSocketAddress(InetAddress.getLoopbackAddress(), 0))) {
+      fail("A board of 256 cells was accepted on port " + large.getPort());
+    } catch (IllegalArgumentException e) {
+      assertEquals("The board has too many cells to be served.", e.getMessage());
+    }
+    // Holes do not count, so the same size with one hole is served.
+    layout[0][0] = CellTypeContents.HOLE;
+    new GameServer(new GameSetup(layout, setup.getCardTable()),
+        new InetSocketAddress(InetAddress.getLoopbackAddress(), 0)).close();
+  }
+
+  @Test(timeout = 5000)
+  public void testAwaitTerminationReturnsOnceClosed() throws Exception {
+    Thread closer = new Thread(() -> server.close());
+    closer.start();
+    server.awaitTermination();
+    closer.join();
+  }
+}
@@ -0,0 +1,169 @@
+import gameconfig.ConfigGame;
+import model.IModel;
+import model.ModelVarientImpl;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import player.AIPlayerImpl;
+import player.IPlayer;
+import player.PlayerColor;
+import player.PlayerImpl;
+import service.GameHandle;
+import service.GameResult;
+import service.GameService;
+import strategies.CornerStrategy;
+import strategies.FlipTheMostStrategy;
+import strategies.IStrategy;
+import strategies.Placement;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Test class for the GameService class.
+ */
+public class TestGameService {
+
+  private GameService service;
+
+  @Before
+  public void setup() {
+    service = new GameService(4);
+  }
+
+  @After
+  public void tearDown() {
+    service.close();
+  }
+
+  private IModel newModel(IPlayer red, IPlayer blue) {
+    ConfigGame config = new ConfigGame("board.config", "card.database");
+    return new ModelVarientImpl(config.getBoard(), config.getDeck(),
+        new ArrayList<>(List.of(red, blue)));
+  }
+
+  private IPlayer aiPlayer(IStrategy strategy, PlayerColor color) {
+    return new AIPlayerImpl(strategy, color, new ArrayList<>());
+  }
+
+  @Test
+  public void testConcurrentGamesMatchSequentialPlay() throws Exception {
+    IPlayer red = aiPlayer(new FlipTheMostStrategy(), PlayerColor.RED);
+    IPlayer blue = aiPlayer(new CornerStrategy(), PlayerColor.BLUE);
+    IModel model = newModel(red, blue);
+    model.startGame();
+    while (!model.checkGameOver()) {
+      IPlayer player = model.getCurrentPlayerColor() == PlayerColor.RED ? red : blue;
+      Placement placement = player.chooseMove(model);
+      model.placeCard(placement.row, placement.column, placement.cardIndex, player);
+    }
+
+    List<GameHandle> handles = new ArrayList<>();
+    for (int game = 0; game < 64; game++) {
+      IPlayer gameRed = aiPlayer(new FlipTheMostStrategy(), PlayerColor.RED);
+      IPlayer gameBlue = aiPlayer(new CornerStrategy(), PlayerColor.BLUE);
+      handles.add(service.submit(newModel(gameRed, gameBlue), gameRed, gameBlue));
+    }
+    for (GameHandle handle : handles) {
+      GameResult result = handle.await(30, TimeUnit.SECONDS);
+      assertEquals(15, result.getTurns());
+      assertEquals(model.getPlayerScore(PlayerColor.RED), result.getRedScore());
+      assertEquals(model.getPlayerScore(PlayerColor.BLUE), result.getBlueScore());
+    }
+  }
+
+  @Test
+  public void testCancelStopsGameBeforeNextTurn() throws Exception {
+    CountDownLatch thinking = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    IStrategy slow = (model, player) -> {
+      thinking.countDown();
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return new FlipTheMostStrategy().chooseMove(model, player);
+    };
+    IPlayer red = aiPlayer(slow, PlayerColor.RED);
+    IPlayer blue = aiPlayer(new FlipTheMostStrategy(), PlayerColor.BLUE);
+    IModel model = newModel(red, blue);
+    GameHandle handle = service.submit(model, red, blue);
+
+    assertTrue(thinking.await(10, TimeUnit.SECONDS));
+    assertTrue(handle.cancel());
+    release.countDown();
+    try {
+      handle.await();
+      fail("A cancelled game has no result.");
+    } catch (CancellationException expected) {
+      assertTrue(handle.isDone());
+    }
+  }
+
+  @Test(timeout = 10000)
+  public void testAwaitReturnsOnceServiceIsClosed() throws Exception {
+    CountDownLatch thinking = new CountDownLatch(1);
+    IStrategy stuck = (model, player) -> {
+      thinking.countDown();
+      try {
+        new CountDownLatch(1).await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return new FlipTheMostStrategy().chooseMove(model, player);
+    };
+    GameService single = new GameService(1);
+    IPlayer red = aiPlayer(stuck, PlayerColor.RED);
+    IPlayer blue = aiPlayer(new FlipTheMostStrategy(), PlayerColor.BLUE);
+    GameHandle running = single.submit(newModel(red, blue), red, blue);
+    assertTrue(thinking.await(5, TimeUnit.SECONDS));
+    // The only thread is busy, so this game's first turn is still queued when the pool stops.
+    IPlayer queuedRed = aiPlayer(new FlipTheMostStrategy(), PlayerColor.RED);
+    IPlayer queuedBlue = aiPlayer(new FlipTheMostStrategy(), PlayerColor.BLUE);
+    GameHandle queued = single.submit(newModel(queuedRed, queuedBlue), queuedRed, queuedBlue);
+
+    single.close();
+    try {
+      queued.await();
+      fail("A game abandoned by its service has no result.");
+    } catch (CancellationException expected) {
+      assertTrue(queued.isDone());
+    }
+    // The running game may still finish its turn, but waiting on it ends one way or another.
+    try {
+      running.await();
+    } catch (CancellationException | ExecutionException stopped) {
+      assertTrue(running.isDone());
+    }
+    assertEquals(0, single.getActiveGameCount());
+  }
+
+  @Test
+  public void testPlayerWithoutMovesFailsGame() throws Exception {
+    IPlayer red = new PlayerImpl(PlayerColor.RED, new ArrayList<>());
+    IPlayer blue = aiPlayer(new FlipTheMostStrategy(), PlayerColor.BLUE);
+    GameHandle handle = service.submit(newModel(red, blue), red, blue);
+    try {
+      handle.await(10, TimeUnit.SECONDS);
+      fail("A human player cannot be driven by the service.");
+    } catch (ExecutionException expected) {
+      assertTrue(expected.getCause() instanceof IllegalStateException);
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testPlayersMustBeRedThenBlue() {
+    IPlayer red = aiPlayer(new FlipTheMostStrategy(), PlayerColor.RED);
+    IPlayer blue = aiPlayer(new FlipTheMostStrategy(), PlayerColor.BLUE);
+    service.submit(newModel(red, blue), blue, red);
+  }
+}
@@ -0,0 +1,65 @@
+import benchmark.ControllerLoadTest;
+import benchmark.LatencyHistogram;
+import benchmark.LoadTestResult;
+import gameconfig.ConfigGame;
+import gameconfig.GameSetup;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test class for the LatencyHistogram class and the controller load test.
+ */
+public class TestLatencyHistogram {
+
+  @Test
+  public void testSmallValuesAreExact() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (int value = 1; value <= 100; value++) {
+      histogram.record(value);
+    }
+    assertEquals(50, histogram.getPercentile(50));
+    assertEquals(99, histogram.getPercentile(99));
+    assertEquals(100, histogram.getPercentile(100));
+    assertEquals(50, histogram.getMean());
+    assertEquals(100, histogram.getMax());
+  }
+
+  @Test
+  public void testPercentilesWithinBucketPrecision() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    LatencyHistogram half = new LatencyHistogram();
+    long[] values = new long[100_000];
+    Random random = new Random(3);
+    for (int i = 0; i < values.length; i++) {
+      values[i] = (long) Math.exp(random.nextDouble() * 25);
+      (i % 2 == 0 ? histogram : half).record(values[i]);
+    }
+    histogram.add(half);
+    Arrays.sort(values);
+    for (double percentile : new double[]{50, 90, 99, 99.9}) {
+      long exact = values[(int) Math.ceil(percentile / 100 * values.length) - 1];
+      long reported = histogram.getPercentile(percentile);
+      assertTrue(reported >= exact);
+      assertTrue(reported <= exact + exact / 60 + 1);
+    }
+    assertEquals(values.length, histogram.getCount());
+    assertEquals(values[values.length - 1], histogram.getMax());
+  }
+
+  @Test
+  public void testLoadTestPlaysEveryMoveThroughController() throws Exception {
+    ConfigGame config = new ConfigGame("board.config", "card.database");
+    GameSetup setup = new GameSetup(config.getBoard(), config.getCardTable());
+    LoadTestResult result = new ControllerLoadTest(setup, 2, 20, 5).run();
+    assertEquals(20 * 15, result.getMoves());
+    assertEquals(0, result.getErrors());
+    assertEquals(LoadTestResult.csvHeader().split(",").length,
+        result.toCsvRow().split(",").length);
+    assertTrue(result.toJson().startsWith("{\"controller\": "));
+  }
+}
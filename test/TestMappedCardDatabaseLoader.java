@@ -0,0 +1,118 @@
+import card.CardTable;
+import card.ICard;
+import gameconfig.ConfigGame;
+import gameconfig.MappedCardDatabaseLoader;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * Test class for the MappedCardDatabaseLoader class, checked against the line reader behind
+ * {@link ConfigGame#getDeck()}.
+ */
+public class TestMappedCardDatabaseLoader {
+
+  private final MappedCardDatabaseLoader loader = new MappedCardDatabaseLoader();
+
+  private File cardFile(String contents) throws IOException {
+    File file = File.createTempFile("cards", ".database");
+    file.deleteOnExit();
+    Files.write(file.toPath(), contents.getBytes(StandardCharsets.UTF_8));
+    return file;
+  }
+
+  /**
+   * Loads a database both ways and checks that the two decks are the same, colors included.
+   */
+  private CardTable assertLoadersAgree(String contents) throws IOException {
+    File file = cardFile(contents);
+    CardTable table = loader.load(file);
+    ArrayList<ICard> deck = new ConfigGame(file, file).getDeck();
+    ArrayList<ICard> loaded = table.toDeck();
+    assertEquals(deck, loaded);
+    for (int i = 0; i < deck.size(); i++) {
+      assertEquals(deck.get(i).getPlayerColor(), loaded.get(i).getPlayerColor());
+    }
+    return table;
+  }
+
+  private void assertLoadersReject(String contents) throws IOException {
+    File file = cardFile(contents);
+    try {
+      loader.load(file);
+      fail("The mapped loader accepted: " + contents);
+    } catch (IllegalArgumentException expected) {
+      // Rejected, as it should be.
+    }
+    try {
+      new ConfigGame(file, file).getDeck();
+      fail("The line reader accepted: " + contents);
+    } catch (IllegalArgumentException expected) {
+      // Rejected, as it should be.
+    }
+  }
+
+  @Test
+  public void testCrlfLineEndings() throws IOException {
+    CardTable table = assertLoadersAgree("Alpha 1 2 3 4\r\nBravo 5 6 7 A\r\n");
+    assertEquals(2, table.size());
+    assertEquals("Bravo", table.getName(1));
+  }
+
+  @Test
+  public void testNoFinalNewline() throws IOException {
+    CardTable table = assertLoadersAgree("Alpha 1 2 3 4\nBravo 5 6 7 A");
+    assertEquals(2, table.size());
+    assertEquals(10, table.getValue(1, 3));
+  }
+
+  @Test
+  public void testTabsAndTrailingBlanks() throws IOException {
+    assertEquals(2, assertLoadersAgree("Alpha\t1 2\t3 4  \nBravo 5 6 7 A\t\n").size());
+  }
+
+  @Test
+  public void testBlankTrailingLineIsRejected() throws IOException {
+    assertLoadersReject("Alpha 1 2 3 4\nBravo 5 6 7 A\n\n");
+  }
+
+  @Test
+  public void testInvalidSideValueIsRejected() throws IOException {
+    assertLoadersReject("Alpha 1 2 3 4\nBravo 5 0 7 A\n");
+    assertLoadersReject("Alpha 1 2 3 10\n");
+    assertLoadersReject("Alpha 1 2 3 a\n");
+  }
+
+  @Test
+  public void testExtraOrMissingTokensAreRejected() throws IOException {
+    assertLoadersReject("Alpha 1 2 3 4 5\n");
+    assertLoadersReject("Alpha 1 2 3\n");
+    assertLoadersReject(" Alpha 1 2 3 4\n");
+  }
+
+  @Test
+  public void testEmptyFileIsRejected() throws IOException {
+    assertLoadersReject("");
+  }
+
+  @Test
+  public void testLargeDatabaseGrowsArrays() throws IOException {
+    StringBuilder contents = new StringBuilder();
+    for (int card = 0; card < 200; card++) {
+      // Long names outgrow the name buffer along with the card arrays.
+      contents.append("Card").append(card).append("WithAVeryLongNameIndeed ")
+          .append(card % 9 + 1).append(' ').append((card + 3) % 9 + 1).append(' ')
+          .append((card + 5) % 9 + 1).append(" A\n");
+    }
+    CardTable table = assertLoadersAgree(contents.toString());
+    assertEquals(200, table.size());
+    assertEquals("Card199WithAVeryLongNameIndeed", table.getName(199));
+  }
+}
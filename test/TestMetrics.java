@@ -0,0 +1,142 @@
+import card.CellTypeContents;
+import cardcomparison.NormalComparisonStrategy;
+import controller.HeadlessController;
+import gameconfig.ConfigGame;
+import metrics.CountingMetrics;
+import metrics.JmxExporter;
+import metrics.Metrics;
+import metrics.MetricsReporter;
+import model.BoardTopology;
+import model.IModel;
+import model.ModelVarientImpl;
+import model.RuleEngine;
+import org.junit.After;
+import org.junit.Test;
+import player.AIPlayerImpl;
+import player.IPlayer;
+import player.PlayerColor;
+import strategies.CornerStrategy;
+import strategies.FlipTheMostStrategy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.management.ObjectName;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test class for the metrics package and the measurements the game reports to it.
+ */
+public class TestMetrics {
+
+  @After
+  public void tearDown() {
+    Metrics.uninstall();
+  }
+
+  private IModel playGame() {
+    ConfigGame config = new ConfigGame("board.config", "card.database");
+    IPlayer red = new AIPlayerImpl(new FlipTheMostStrategy(), PlayerColor.RED, new ArrayList<>());
+    IPlayer blue = new AIPlayerImpl(new CornerStrategy(), PlayerColor.BLUE, new ArrayList<>());
+    IModel model = new ModelVarientImpl(config.getBoard(), config.getDeck(),
+        new ArrayList<>(List.of(red, blue)));
+    HeadlessController redController = new HeadlessController(model, red);
+    HeadlessController blueController = new HeadlessController(model, blue);
+    redController.playGame();
+    blueController.playGame();
+    return model;
+  }
+
+  @Test
+  public void testGameReportsPlacementsDecisionsAndDispatches() {
+    CountingMetrics metrics = new CountingMetrics();
+    Metrics.install(metrics);
+    IModel model = playGame();
+
+    assertTrue(model.checkGameOver());
+    assertEquals(15, metrics.getPlacements());
+    assertEquals(15, Arrays.stream(metrics.getFlipDistribution()).sum());
+    assertEquals(15, Arrays.stream(metrics.getComboDepthDistribution()).sum());
+    assertTrue(metrics.getFlipQueries() > 0);
+    assertEquals(Long.valueOf(8), metrics.getDecisionCounts().get("FlipTheMostStrategy"));
+    // Blue is asked again as each nested turn change unwinds, even once it has no move left.
+    assertTrue(metrics.getDecisionCounts().get("CornerStrategy") >= 7);
+    // One turn change per placement, then the end of the game each time it is checked for.
+    assertTrue(metrics.getObserverDispatches() >= 16);
+  }
+
+  @Test
+  public void testDispatchesLeaveOutNestedTurns() {
+    CountingMetrics metrics = new CountingMetrics();
+    Metrics.install(metrics);
+    long start = System.nanoTime();
+    playGame();
+    long elapsed = System.nanoTime() - start;
+
+    // Each machine player places its card from inside the previous turn's notification. Were
+    // nested turns counted, the first dispatch alone would last nearly the whole game and the
+    // total would be many times the game's length.
+    assertTrue(metrics.getObserverDispatches() >= 16);
+    assertTrue(metrics.getObserverDispatchNanos() + " of " + elapsed,
+        metrics.getObserverDispatchNanos() <= elapsed);
+  }
+
+  @Test
+  public void testNothingRecordedWhenUninstalled() {
+    CountingMetrics metrics = new CountingMetrics();
+    Metrics.install(metrics);
+    Metrics.uninstall();
+    playGame();
+    assertEquals(0, metrics.getPlacements());
+    assertFalse(Metrics.current().isEnabled());
+  }
+
+  @Test
+  public void testComboDepthCountsCascadeLevels() {
+    CellTypeContents e = CellTypeContents.EMPTY;
+    BoardTopology topology = BoardTopology.of(new CellTypeContents[][]{{e, e, e, e}});
+    RuleEngine engine = RuleEngine.forRules(topology, new NormalComparisonStrategy(), null);
+    int[] owner = {-1, 1, 1, 1};
+    int[] sides = new int[16];
+    for (int cell = 1; cell < 4; cell++) {
+      sides[cell * 4 + 1] = 9;
+      sides[cell * 4 + 3] = 1;
+    }
+    int[] flipped = new int[4];
+    assertEquals(3, engine.resolve(owner, sides, 0, 0, new int[]{1, 9, 1, 1}, flipped));
+    assertEquals(2, engine.getLastComboDepth());
+    assertEquals(0, engine.resolve(owner, sides, 0, 0, new int[]{1, 1, 1, 1}, flipped));
+    assertEquals(0, engine.getLastComboDepth());
+  }
+
+  @Test
+  public void testExportersReadTotals() throws Exception {
+    CountingMetrics metrics = new CountingMetrics();
+    Metrics.install(metrics);
+    playGame();
+
+    try (JmxExporter exporter = new JmxExporter(metrics)) {
+      assertEquals(15L, ManagementFactory.getPlatformMBeanServer()
+          .getAttribute(exporter.getName(), "Placements"));
+    }
+    assertFalse(ManagementFactory.getPlatformMBeanServer()
+        .isRegistered(new ObjectName(JmxExporter.DEFAULT_NAME)));
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (MetricsReporter reporter = new MetricsReporter(metrics, 1, TimeUnit.HOURS,
+        new PrintStream(bytes, true, StandardCharsets.UTF_8))) {
+      reporter.report();
+    }
+    String report = bytes.toString(StandardCharsets.UTF_8);
+    assertTrue(report, report.contains("placements 15"));
+    assertTrue(report, report.contains("FlipTheMostStrategy 8 decisions"));
+  }
+}
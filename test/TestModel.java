@@ -301,7 +301,23 @@ public class TestModel {
     }
   }
 
-
+  @Test
+  public void testDuplicateCardErrorNamesEveryDuplicate() {
+    ArrayList<ICard> deck = new ConfigGame("simpleBoard.config", "dupCard.database").getDeck();
+    deck.add(new CardImpl(PlayerColor.BLUE, "WindBird",
+        DirectionValue.ONE, DirectionValue.ONE, DirectionValue.ONE, DirectionValue.ONE));
+    deck.add(new CardImpl(PlayerColor.RED, "CorruptKing",
+        DirectionValue.SEVEN, DirectionValue.THREE, DirectionValue.NINE, DirectionValue.A));
+    IModel dupCardModel = new ModelVarientImpl(new ConfigGame("simpleBoard.config",
+        "dupCard.database").getBoard(), deck, players);
+    try {
+      dupCardModel.startGame();
+      fail("There are duplicate cards in the deck");
+    } catch (IllegalArgumentException e) {
+      // The identical CorruptKing is not a conflict, the two differing names are.
+      assertEquals("Cannot have duplicate cards: SkyWhale, WindBird", e.getMessage());
+    }
+  }
 
   @Test
   public void testPlacingCardInEmptySpot() {
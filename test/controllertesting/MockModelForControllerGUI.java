@@ -8,6 +8,7 @@ import cardcomparison.CardComparisonStrategy;
 import controller.ModelObserver;
 
 import flipcriteria.ICriteria;
+import model.BoardTopology;
 import model.IModel;
 import player.IPlayer;
 import player.PlayerColor;
@@ -87,6 +88,22 @@ public class MockModelForControllerGUI implements IModel {
     return 0; // Return 0 flips as default for testing
   }
 
+  @Override
+  public List<int[]> getFlippedPositions(int row, int col, ICard card) {
+    return new ArrayList<>(); // No flips in this mock
+  }
+
+  @Override
+  public void calculateFlips(int[] cells, List<ICard> cards, int[] flips) {
+    BoardTopology topology = getTopology();
+    for (int i = 0; i < cells.length; i++) {
+      for (int k = 0; k < cards.size(); k++) {
+        flips[i * cards.size() + k] = calculateFlips(topology.rowOf(cells[i]),
+            topology.columnOf(cells[i]), cards.get(k));
+      }
+    }
+  }
+
   @Override
   public boolean checkGameStarted() {
     return false; // Default to false for testing
@@ -117,6 +134,41 @@ public class MockModelForControllerGUI implements IModel {
     return false;
   }
 
+  @Override
+  public ICard findCardAt(int row, int col) {
+    return null;
+  }
+
+  @Override
+  public PlayerColor getOwnerAt(int row, int col) {
+    return null;
+  }
+
+  @Override
+  public int getEmptyCellCount() {
+    return 0;
+  }
+
+  @Override
+  public int emptyCell(int index) {
+    throw new IndexOutOfBoundsException("No empty cells in the mock.");
+  }
+
+  @Override
+  public int getFrontierCellCount() {
+    return 0;
+  }
+
+  @Override
+  public int frontierCell(int index) {
+    throw new IndexOutOfBoundsException("No frontier cells in the mock.");
+  }
+
+  @Override
+  public boolean isFrontierCell(int cell) {
+    return false;
+  }
+
   @Override
   public void setVariantRule(CardComparisonStrategy variantRule) {
     // not needed
@@ -132,6 +184,21 @@ public class MockModelForControllerGUI implements IModel {
     // not needed
   }
 
+  @Override
+  public CardComparisonStrategy getCardComparisonStrategy() {
+    return null;
+  }
+
+  @Override
+  public ICriteria getFlipCriteria() {
+    return null;
+  }
+
+  @Override
+  public BoardTopology getTopology() {
+    return BoardTopology.of(boardAvailability);
+  }
+
   @Override
   public IPlayer getPlayerToPlace() {
     return null; // Return null for the player
@@ -151,4 +218,9 @@ public class MockModelForControllerGUI implements IModel {
   public IPlayer getBluePlayer() {
     return null; // Return null for the blue player
   }
+
+  @Override
+  public List<ICard> getHandView(PlayerColor playerColor) {
+    return null;
+  }
 }
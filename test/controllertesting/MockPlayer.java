@@ -1,6 +1,7 @@
 package controllertesting;
 
 import java.util.ArrayList;
+import java.util.List;
 
 import card.ICard;
 import player.IPlayer;
@@ -33,6 +34,11 @@ public class MockPlayer implements IPlayer {
     return null;
   }
 
+  @Override
+  public List<ICard> getHandView() {
+    return null;
+  }
+
   @Override
   public void addToHand(ICard card) {
     // Implementation not needed in the mock
@@ -0,0 +1,203 @@
+package controllertesting;
+
+import controller.AsyncObserverDecorator;
+import controller.BackPressurePolicy;
+import controller.ModelObserver;
+import org.junit.Test;
+import player.PlayerColor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test class for the AsyncObserverDecorator class.
+ */
+public class TestAsyncObserverDecorator {
+
+  /**
+   * An observer that records every event and can be held back until released.
+   */
+  private static class GatedObserver implements ModelObserver {
+    private final List<String> events = Collections.synchronizedList(new ArrayList<>());
+    private final CountDownLatch gate = new CountDownLatch(1);
+    private final CountDownLatch received = new CountDownLatch(1);
+    private final CountDownLatch over = new CountDownLatch(1);
+
+    @Override
+    public void onTurnChanged(PlayerColor currentPlayer) {
+      received.countDown();
+      awaitGate();
+      events.add("turn " + currentPlayer);
+    }
+
+    @Override
+    public void onGameOver(PlayerColor winningPlayer) {
+      received.countDown();
+      awaitGate();
+      events.add("over " + winningPlayer);
+      over.countDown();
+    }
+
+    private void awaitGate() {
+      try {
+        gate.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  @Test
+  public void testNotifyingDoesNotWaitForSlowObserver() throws InterruptedException {
+    GatedObserver slow = new GatedObserver();
+    AsyncObserverDecorator async = new AsyncObserverDecorator(slow, 8,
+        BackPressurePolicy.BLOCK);
+
+    async.onTurnChanged(PlayerColor.BLUE);
+    async.onTurnChanged(PlayerColor.RED);
+    assertTrue(slow.events.isEmpty());
+
+    slow.gate.countDown();
+    assertTrue(async.awaitIdle(1, TimeUnit.SECONDS));
+    assertEquals(List.of("turn BLUE", "turn RED"), slow.events);
+    async.close();
+  }
+
+  @Test
+  public void testCoalesceDeliversOnlyLatestPendingTurn() throws InterruptedException {
+    GatedObserver slow = new GatedObserver();
+    AsyncObserverDecorator async = new AsyncObserverDecorator(slow, 1,
+        BackPressurePolicy.COALESCE);
+
+    // The first event is picked up by the dispatch thread and held at the gate.
+    async.onTurnChanged(PlayerColor.BLUE);
+    assertTrue(slow.received.await(1, TimeUnit.SECONDS));
+    async.onTurnChanged(PlayerColor.RED);
+    async.onTurnChanged(PlayerColor.BLUE);
+    async.onTurnChanged(PlayerColor.RED);
+
+    slow.gate.countDown();
+    assertTrue(async.awaitIdle(1, TimeUnit.SECONDS));
+    assertEquals(List.of("turn BLUE", "turn RED"), slow.events);
+    async.close();
+  }
+
+  @Test
+  public void testDropDiscardsTurnsButKeepsGameOver() throws InterruptedException {
+    GatedObserver slow = new GatedObserver();
+    AsyncObserverDecorator async = new AsyncObserverDecorator(slow, 1,
+        BackPressurePolicy.DROP);
+
+    async.onTurnChanged(PlayerColor.BLUE);
+    assertTrue(slow.received.await(1, TimeUnit.SECONDS));
+    async.onTurnChanged(PlayerColor.RED);
+    async.onTurnChanged(PlayerColor.BLUE);
+    assertEquals(1, async.getDroppedEventCount());
+
+    slow.gate.countDown();
+    async.onGameOver(PlayerColor.RED);
+    assertTrue(async.awaitIdle(1, TimeUnit.SECONDS));
+    assertEquals(List.of("turn BLUE", "turn RED", "over RED"), slow.events);
+    async.close();
+  }
+
+  @Test(timeout = 5000)
+  public void testBlockingDelegateReenteringOnFullQueueDoesNotDeadlock()
+      throws InterruptedException {
+    List<PlayerColor> events = Collections.synchronizedList(new ArrayList<>());
+    CountDownLatch delivered = new CountDownLatch(4);
+    AsyncObserverDecorator[] async = new AsyncObserverDecorator[1];
+    // Like a controller driving a machine player, the first delivery causes more events on the
+    // dispatch thread, more than the queue holds.
+    async[0] = new AsyncObserverDecorator(new ModelObserver() {
+      @Override
+      public void onTurnChanged(PlayerColor currentPlayer) {
+        events.add(currentPlayer);
+        if (events.size() == 1) {
+          async[0].onTurnChanged(PlayerColor.BLUE);
+          async[0].onTurnChanged(PlayerColor.RED);
+          async[0].onTurnChanged(PlayerColor.BLUE);
+        }
+        delivered.countDown();
+      }
+
+      @Override
+      public void onGameOver(PlayerColor winningPlayer) {
+        // Not used.
+      }
+    }, 1, BackPressurePolicy.BLOCK);
+
+    async[0].onTurnChanged(PlayerColor.RED);
+    assertTrue(delivered.await(1, TimeUnit.SECONDS));
+    assertEquals(List.of(PlayerColor.RED, PlayerColor.BLUE, PlayerColor.RED, PlayerColor.BLUE),
+        events);
+    async[0].close();
+  }
+
+  @Test
+  public void testCoalesceMergesTurnsEvenWithRoomInTheQueue() throws InterruptedException {
+    GatedObserver slow = new GatedObserver();
+    AsyncObserverDecorator async = new AsyncObserverDecorator(slow, 8,
+        BackPressurePolicy.COALESCE);
+
+    async.onTurnChanged(PlayerColor.BLUE);
+    assertTrue(slow.received.await(1, TimeUnit.SECONDS));
+    async.onTurnChanged(PlayerColor.RED);
+    async.onTurnChanged(PlayerColor.BLUE);
+
+    slow.gate.countDown();
+    assertTrue(async.awaitIdle(1, TimeUnit.SECONDS));
+    assertEquals(List.of("turn BLUE", "turn BLUE"), slow.events);
+    async.close();
+  }
+
+  @Test(timeout = 5000)
+  public void testGameOverWaitingOnCloseIsDeliveredOrRefused() throws InterruptedException {
+    GatedObserver slow = new GatedObserver();
+    AsyncObserverDecorator async = new AsyncObserverDecorator(slow, 1,
+        BackPressurePolicy.BLOCK);
+    async.onTurnChanged(PlayerColor.BLUE);
+    assertTrue(slow.received.await(1, TimeUnit.SECONDS));
+    async.onTurnChanged(PlayerColor.RED);
+
+    AtomicReference<IllegalStateException> refused = new AtomicReference<>();
+    Thread notifier = new Thread(() -> {
+      try {
+        async.onGameOver(PlayerColor.RED);
+      } catch (IllegalStateException e) {
+        refused.set(e);
+      }
+    });
+    notifier.start();
+    // The queue is full, so the notifier waits for room until the observer closes.
+    while (notifier.getState() != Thread.State.WAITING) {
+      Thread.onSpinWait();
+    }
+    async.close();
+    slow.gate.countDown();
+    notifier.join();
+
+    // The event is never left on a queue that nobody drains.
+    assertTrue(refused.get() != null || slow.over.await(1, TimeUnit.SECONDS));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testNotifyingClosedObserverFails() {
+    AsyncObserverDecorator async = new AsyncObserverDecorator(new GatedObserver(), 1,
+        BackPressurePolicy.BLOCK);
+    async.close();
+    async.onGameOver(PlayerColor.RED);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorWithNullDelegate() {
+    new AsyncObserverDecorator(null, 4, BackPressurePolicy.BLOCK);
+  }
+}
@@ -0,0 +1,120 @@
+package controllertesting;
+
+import controller.HeadlessController;
+import gameconfig.ConfigGame;
+import model.IModel;
+import model.ModelVarientImpl;
+import org.junit.Test;
+import player.AIPlayerImpl;
+import player.IPlayer;
+import player.PlayerColor;
+import player.PlayerImpl;
+import strategies.CornerStrategy;
+import strategies.FlipTheMostStrategy;
+import strategies.Placement;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test class for the HeadlessController class.
+ */
+public class TestHeadlessController {
+
+  private IModel newModel(IPlayer red, IPlayer blue) {
+    ConfigGame config = new ConfigGame("board.config", "card.database");
+    return new ModelVarientImpl(config.getBoard(), config.getDeck(),
+        new ArrayList<>(List.of(red, blue)));
+  }
+
+  @Test
+  public void testMachinePlayersPlayWholeGame() {
+    IPlayer red = new AIPlayerImpl(new FlipTheMostStrategy(), PlayerColor.RED, new ArrayList<>());
+    IPlayer blue = new AIPlayerImpl(new CornerStrategy(), PlayerColor.BLUE, new ArrayList<>());
+    IModel expected = newModel(red, blue);
+    expected.startGame();
+    while (!expected.checkGameOver()) {
+      IPlayer player = expected.getCurrentPlayerColor() == PlayerColor.RED ? red : blue;
+      Placement placement = player.chooseMove(expected);
+      expected.placeCard(placement.row, placement.column, placement.cardIndex, player);
+    }
+
+    red = new AIPlayerImpl(new FlipTheMostStrategy(), PlayerColor.RED, new ArrayList<>());
+    blue = new AIPlayerImpl(new CornerStrategy(), PlayerColor.BLUE, new ArrayList<>());
+    IModel model = newModel(red, blue);
+    HeadlessController redController = new HeadlessController(model, red);
+    HeadlessController blueController = new HeadlessController(model, blue);
+    redController.playGame();
+    blueController.playGame();
+
+    assertTrue(model.checkGameOver());
+    int redScore = model.getPlayerScore(PlayerColor.RED);
+    assertEquals(expected.getPlayerScore(PlayerColor.RED), redScore);
+    assertEquals(expected.getPlayerScore(PlayerColor.BLUE),
+        model.getPlayerScore(PlayerColor.BLUE));
+    String redOutcome = redScore > 7 ? "You win!" : "You lose.";
+    assertEquals(redOutcome, redController.getGameOverMessage());
+    assertEquals(0, redController.getErrorCount() + blueController.getErrorCount());
+  }
+
+  @Test
+  public void testScriptedPlayerClicks() {
+    IPlayer red = new PlayerImpl(PlayerColor.RED, new ArrayList<>());
+    IPlayer blue = new PlayerImpl(PlayerColor.BLUE, new ArrayList<>());
+    IModel model = newModel(red, blue);
+    HeadlessController redController = new HeadlessController(model, red);
+    HeadlessController blueController = new HeadlessController(model, blue);
+    redController.playGame();
+    blueController.playGame();
+    assertTrue(redController.isMyTurn());
+    assertFalse(blueController.isMyTurn());
+
+    redController.handleCellClick(0, 0);
+    assertEquals("Please select a card first.", redController.getLastError());
+    blueController.handleCardClick(0, PlayerColor.BLUE);
+    assertEquals("It's not your turn or invalid card selection.",
+        blueController.getLastError());
+
+    redController.handleCardClick(0, PlayerColor.RED);
+    redController.handleCellClick(0, 0);
+    assertEquals(PlayerColor.RED, model.getCardAt(0, 0).getPlayerColor());
+    assertFalse(redController.isMyTurn());
+    assertTrue(blueController.isMyTurn());
+
+    blueController.handleCardClick(0, PlayerColor.BLUE);
+    blueController.handleCellClick(0, 0);
+    assertEquals(2, blueController.getErrorCount());
+    assertTrue(blueController.isMyTurn());
+    assertNull(redController.getGameOverMessage());
+  }
+
+  @Test
+  public void testLoadsNoWindowClasses() throws Exception {
+    String java = System.getProperty("java.home") + File.separator + "bin" + File.separator
+        + "java";
+    Process process = new ProcessBuilder(java, "-verbose:class",
+        "-cp", System.getProperty("java.class.path"), "benchmark.ControllerLoadTest", "1", "20")
+        .redirectErrorStream(true).start();
+    List<String> windowClasses = new ArrayList<>();
+    try (BufferedReader output = new BufferedReader(
+        new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+      String line;
+      while ((line = output.readLine()) != null) {
+        if (line.contains(" java.awt.") || line.contains(" javax.swing.")) {
+          windowClasses.add(line);
+        }
+      }
+    }
+    assertEquals(0, process.waitFor());
+    assertEquals(List.of(), windowClasses);
+  }
+}
@@ -7,10 +7,14 @@ import card.ICard;
 import cardcomparison.CardComparisonStrategy;
 import controller.ModelObserver;
 import flipcriteria.ICriteria;
+import model.BoardTopology;
 import model.IModel;
 import player.IPlayer;
 import player.PlayerColor;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * A mock implementation of the {@link IModel} interface for testing purposes.
  * This mock provides specific behavior for {@code calculateFlips}, returning a high
@@ -130,6 +134,11 @@ public class MockModelLiesAboutCalcCardsFlipValue implements IModel {
     return null;
   }
 
+  @Override
+  public List<ICard> getHandView(PlayerColor playerColor) {
+    return null;
+  }
+
   /**
    * Returns the board setup with cards, as initially provided.
    *
@@ -210,6 +219,37 @@ public class MockModelLiesAboutCalcCardsFlipValue implements IModel {
     }
   }
 
+  /**
+   * Finds the cards that placing a card would flip. Always empty in this mock.
+   *
+   * @param row  the row of the board cell
+   * @param col  the column of the board cell
+   * @param card the card being placed
+   * @return an empty list
+   */
+  @Override
+  public List<int[]> getFlippedPositions(int row, int col, ICard card) {
+    return new ArrayList<>();
+  }
+
+  /**
+   * Calculates the flips of many placements by asking {@code calculateFlips} for each.
+   *
+   * @param cells the cells to place on
+   * @param cards the cards to place
+   * @param flips receives the flip counts
+   */
+  @Override
+  public void calculateFlips(int[] cells, List<ICard> cards, int[] flips) {
+    BoardTopology topology = getTopology();
+    for (int i = 0; i < cells.length; i++) {
+      for (int k = 0; k < cards.size(); k++) {
+        flips[i * cards.size() + k] = calculateFlips(topology.rowOf(cells[i]),
+            topology.columnOf(cells[i]), cards.get(k));
+      }
+    }
+  }
+
   /**
    * Mock implementation of {@code startGame} that does nothing.
    */
@@ -223,6 +263,55 @@ public class MockModelLiesAboutCalcCardsFlipValue implements IModel {
     return false;
   }
 
+  @Override
+  public ICard findCardAt(int row, int col) {
+    return null;
+  }
+
+  @Override
+  public PlayerColor getOwnerAt(int row, int col) {
+    return null;
+  }
+
+  @Override
+  public int getEmptyCellCount() {
+    return emptyCells().size();
+  }
+
+  @Override
+  public int emptyCell(int index) {
+    return emptyCells().get(index);
+  }
+
+  // Every empty cell is reported as frontier, so the flip counts this mock makes up are used.
+  @Override
+  public int getFrontierCellCount() {
+    return getEmptyCellCount();
+  }
+
+  @Override
+  public int frontierCell(int index) {
+    return emptyCell(index);
+  }
+
+  @Override
+  public boolean isFrontierCell(int cell) {
+    return emptyCells().contains(cell);
+  }
+
+  private List<Integer> emptyCells() {
+    BoardTopology topology = getTopology();
+    List<Integer> cells = new ArrayList<>();
+    for (int i = 0; i < topology.getPlayableCellCount(); i++) {
+      int cell = topology.playableCell(i);
+      if (boardAvailability[topology.rowOf(cell)][topology.columnOf(cell)]
+          == CellTypeContents.EMPTY) {
+        cells.add(cell);
+      }
+    }
+    return cells;
+  }
+
   @Override
   public void setVariantRule(CardComparisonStrategy variantRule) {
     // not needed
@@ -238,6 +327,21 @@ public class MockModelLiesAboutCalcCardsFlipValue implements IModel {
     // not needed
   }
 
+  @Override
+  public CardComparisonStrategy getCardComparisonStrategy() {
+    return null;
+  }
+
+  @Override
+  public ICriteria getFlipCriteria() {
+    return null;
+  }
+
+  @Override
+  public BoardTopology getTopology() {
+    return BoardTopology.of(boardAvailability);
+  }
+
   /**
    * Returns the color of the player who is currently taking a turn. Always returns null in this
    * mock.
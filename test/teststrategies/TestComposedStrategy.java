@@ -0,0 +1,96 @@
+package teststrategies;
+
+import gameconfig.ConfigGame;
+import model.IModel;
+import model.ModelVarientImpl;
+import org.junit.Before;
+import org.junit.Test;
+import player.IPlayer;
+import player.PlayerColor;
+import player.PlayerImpl;
+import strategies.ComposedStrategy;
+import strategies.MoveEnumeration;
+import strategies.MoveScorer;
+import strategies.MoveScorers;
+import strategies.Placement;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Test class for the ComposedStrategy, MoveEnumeration and MoveScorers classes.
+ */
+public class TestComposedStrategy {
+
+  private IModel model;
+  private IPlayer redPlayer;
+
+  @Before
+  public void setup() {
+    redPlayer = new PlayerImpl(PlayerColor.RED, new ArrayList<>());
+    IPlayer bluePlayer = new PlayerImpl(PlayerColor.BLUE, new ArrayList<>());
+    ConfigGame config = new ConfigGame("board.config", "card.database");
+    model = new ModelVarientImpl(config.getBoard(), config.getDeck(),
+        new ArrayList<>(List.of(redPlayer, bluePlayer)));
+    model.startGame();
+  }
+
+  @Test
+  public void testEnumerationListsCellsThenCards() {
+    MoveEnumeration moves = new MoveEnumeration(model, redPlayer);
+    int handSize = redPlayer.getHand().size();
+    assertEquals(15 * handSize, moves.size());
+    assertEquals(0, moves.row(0));
+    assertEquals(0, moves.column(0));
+    assertEquals(1, moves.cardIndex(1));
+    assertEquals(0, moves.row(handSize));
+    assertEquals(1, moves.column(handSize));
+    assertEquals(0, moves.cardIndex(handSize));
+  }
+
+  @Test
+  public void testTieBreakerOnlyScoresTiedPlacements() {
+    int[] calls = new int[1];
+    MoveScorer counted = (moves, move) -> {
+      calls[0]++;
+      return moves.cardIndex(move);
+    };
+    MoveScorer upperLeft = (moves, move) -> -(moves.row(move) * 10 + moves.column(move));
+
+    Placement placement = new ComposedStrategy(MoveScorers.anyMove(), upperLeft, counted)
+        .chooseMove(model, redPlayer);
+    int handSize = redPlayer.getHand().size();
+    assertEquals(0, placement.row);
+    assertEquals(0, placement.column);
+    assertEquals(handSize - 1, placement.cardIndex);
+    // Only the placements tied on the upper-left cell reach the tie-breaker.
+    assertEquals(handSize, calls[0]);
+  }
+
+  @Test
+  public void testWeightedSumCombinesScores() {
+    MoveScorer row = (moves, move) -> moves.row(move);
+    MoveScorer column = (moves, move) -> moves.column(move);
+    Placement placement = new ComposedStrategy(MoveScorers.anyMove(),
+        MoveScorers.weightedSum(new int[]{-10, 1}, row, column)).chooseMove(model, redPlayer);
+    assertEquals(0, placement.row);
+    assertEquals(6, placement.column);
+    assertEquals(0, placement.cardIndex);
+  }
+
+  @Test
+  public void testRejectingEveryPlacementFallsBackToUpperLeft() {
+    Placement placement = new ComposedStrategy((moves, move) -> false, MoveScorers.flips())
+        .chooseMove(model, redPlayer);
+    assertEquals(0, placement.row);
+    assertEquals(0, placement.column);
+    assertEquals(0, placement.cardIndex);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testWeightedSumNeedsOneWeightPerScorer() {
+    MoveScorers.weightedSum(new int[]{1}, MoveScorers.flips(), MoveScorers.safety());
+  }
+}
@@ -0,0 +1,265 @@
+package teststrategies;
+
+import card.CardImpl;
+import card.CellTypeContents;
+import card.DirectionValue;
+import card.ICard;
+import cardcomparison.CardComparisonStrategy;
+import cardcomparison.FallenAce;
+import cardcomparison.NormalComparisonStrategy;
+import cardcomparison.Reverse;
+import gameconfig.ConfigGame;
+import model.IModel;
+import model.ModelVarientImpl;
+import org.junit.Test;
+import player.IPlayer;
+import player.PlayerColor;
+import player.PlayerImpl;
+import search.EndgameSolver;
+import search.SearchPosition;
+import strategies.EndgameStrategy;
+import strategies.FlipTheMostStrategy;
+import strategies.Placement;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test class for the SearchPosition and EndgameSolver classes.
+ */
+public class TestEndgameSolver {
+
+  private IPlayer redPlayer;
+  private IPlayer bluePlayer;
+
+  private IModel newModel(CardComparisonStrategy comparison) {
+    redPlayer = new PlayerImpl(PlayerColor.RED, new ArrayList<>());
+    bluePlayer = new PlayerImpl(PlayerColor.BLUE, new ArrayList<>());
+    ConfigGame config = new ConfigGame("board.config", "card.database");
+    IModel model = new ModelVarientImpl(config.getBoard(), config.getDeck(),
+        new ArrayList<>(List.of(redPlayer, bluePlayer)));
+    model.setCardComparisonStrategy(comparison);
+    model.startGame();
+    return model;
+  }
+
+  private IPlayer playerInTurn(IModel model) {
+    return model.getCurrentPlayerColor() == PlayerColor.RED ? redPlayer : bluePlayer;
+  }
+
+  /**
+   * Plays random placements until the given number of cells is left empty.
+   */
+  private List<Integer> playRandomly(IModel model, Random random, int emptyCellsLeft) {
+    List<Integer> empty = emptyCells(model);
+    SearchPosition position = SearchPosition.fromModel(model);
+    while (empty.size() > emptyCellsLeft) {
+      int cell = empty.remove(random.nextInt(empty.size()));
+      IPlayer player = playerInTurn(model);
+      model.placeCard(position.rowOf(cell), position.columnOf(cell),
+          random.nextInt(player.getHand().size()), player);
+    }
+    return empty;
+  }
+
+  private List<Integer> emptyCells(IModel model) {
+    List<Integer> cells = new ArrayList<>();
+    CellTypeContents[][] availability = model.getBoardAvailability();
+    for (int row = 0; row < availability.length; row++) {
+      for (int col = 0; col < availability[row].length; col++) {
+        if (availability[row][col] == CellTypeContents.EMPTY) {
+          cells.add(row * availability[row].length + col);
+        }
+      }
+    }
+    return cells;
+  }
+
+  /**
+   * Searches every line of play without pruning.
+   */
+  private int bruteForce(SearchPosition position, List<Integer> cells) {
+    int player = position.getPlayerToMove();
+    if (position.isTerminal()) {
+      return position.getScore(player) - position.getScore(1 - player);
+    }
+    int best = Integer.MIN_VALUE;
+    for (int cell : cells) {
+      if (!position.isEmpty(cell)) {
+        continue;
+      }
+      for (int slot = 0; slot < position.getHandSize(player); slot++) {
+        if (position.isInHand(slot)) {
+          position.place(cell, slot);
+          best = Math.max(best, -bruteForce(position, cells));
+          position.undo();
+        }
+      }
+    }
+    return best;
+  }
+
+  @Test
+  public void testPlacementsMatchModelForEveryComparison() {
+    CardComparisonStrategy[] comparisons = {new NormalComparisonStrategy(), new Reverse(),
+        new FallenAce(new NormalComparisonStrategy()), new FallenAce(new Reverse())};
+    Random random = new Random(7);
+    for (CardComparisonStrategy comparison : comparisons) {
+      for (int game = 0; game < 20; game++) {
+        IModel model = newModel(comparison);
+        List<Integer> empty = playRandomly(model, random, 14);
+        while (!empty.isEmpty()) {
+          SearchPosition position = SearchPosition.fromModel(model);
+          long hashBefore = position.getHash();
+          int cell = empty.remove(random.nextInt(empty.size()));
+          IPlayer player = playerInTurn(model);
+          int slot = random.nextInt(player.getHand().size());
+
+          position.place(cell, slot);
+          model.placeCard(position.rowOf(cell), position.columnOf(cell), slot, player);
+          SearchPosition expected = SearchPosition.fromModel(model);
+          for (int other = 0; other < 5 * 7; other++) {
+            assertEquals(expected.getOwner(other), position.getOwner(other));
+          }
+          assertEquals(expected.getScore(SearchPosition.RED),
+              position.getScore(SearchPosition.RED));
+          assertEquals(expected.getPlayerToMove(), position.getPlayerToMove());
+
+          position.undo();
+          assertEquals(hashBefore, position.getHash());
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testSolverMatchesExhaustiveSearch() {
+    Random random = new Random(11);
+    for (int game = 0; game < 30; game++) {
+      IModel model = newModel(game % 2 == 0 ? new NormalComparisonStrategy() : new Reverse());
+      List<Integer> empty = playRandomly(model, random, 5);
+      SearchPosition position = SearchPosition.fromModel(model);
+      EndgameSolver solver = new EndgameSolver(5);
+
+      int expected = bruteForce(position, empty);
+      assertEquals(expected, solver.evaluate(position));
+
+      Placement best = solver.solve(position);
+      IPlayer player = playerInTurn(model);
+      model.placeCard(best.row, best.column, best.cardIndex, player);
+      SearchPosition after = SearchPosition.fromModel(model);
+      int afterValue = after.isTerminal()
+          ? after.getScore(after.getPlayerToMove()) - after.getScore(1 - after.getPlayerToMove())
+          : new EndgameSolver(5).evaluate(after);
+      assertEquals(expected, -afterValue);
+    }
+  }
+
+  /**
+   * Creates a game on an empty 3x3 board whose cards show the same value to the north and south
+   * and the same value to the east and west, so the mirrors and the half turn of the board are
+   * symmetries of the game.
+   */
+  private SearchPosition mirroredGame() {
+    CellTypeContents e = CellTypeContents.EMPTY;
+    CellTypeContents[][] availability = {{e, e, e}, {e, e, e}, {e, e, e}};
+    DirectionValue[] values = DirectionValue.values();
+    List<ICard> redHand = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      redHand.add(new CardImpl(PlayerColor.RED, "Red" + i, values[i], values[9 - i], values[i],
+          values[9 - i]));
+    }
+    List<ICard> blueHand = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      blueHand.add(new CardImpl(PlayerColor.BLUE, "Blue" + i, values[5 + i], values[i + 1],
+          values[5 + i], values[i + 1]));
+    }
+    return new SearchPosition(availability, new ICard[3][3], redHand, blueHand, PlayerColor.RED,
+        new NormalComparisonStrategy(), null);
+  }
+
+  @Test
+  public void testSymmetricImagesShareCanonicalHash() {
+    SearchPosition corner = mirroredGame();
+    SearchPosition opposite = mirroredGame();
+    assertEquals(4, corner.getSymmetryCount());
+    corner.place(0, 0);
+    opposite.place(8, 0);
+    assertNotEquals(corner.getHash(), opposite.getHash());
+    assertEquals(corner.getCanonicalHash(), opposite.getCanonicalHash());
+
+    // Blue playing beside the first card is played beside its image in the other position.
+    int move = opposite.fromCanonicalMove(corner.toCanonicalMove(1 << 16 | 2));
+    assertEquals(7 << 16 | 2, move);
+    corner.place(1, 2);
+    opposite.place(move >>> 16, move & 0xFFFF);
+    assertEquals(corner.getCanonicalHash(), opposite.getCanonicalHash());
+    assertEquals(corner.getScore(SearchPosition.RED), opposite.getScore(SearchPosition.RED));
+  }
+
+  @Test
+  public void testSolverMatchesExhaustiveSearchOnSymmetricGame() {
+    Random random = new Random(5);
+    // One solver for every game, so positions share table entries with their images.
+    EndgameSolver solver = new EndgameSolver(5);
+    for (int game = 0; game < 20; game++) {
+      SearchPosition position = mirroredGame();
+      List<Integer> empty = new ArrayList<>(List.of(0, 1, 2, 3, 4, 5, 6, 7, 8));
+      while (empty.size() > 5) {
+        int cell = empty.remove(random.nextInt(empty.size()));
+        int slot = random.nextInt(position.getHandSize(position.getPlayerToMove()));
+        while (!position.isInHand(slot)) {
+          slot = (slot + 1) % position.getHandSize(position.getPlayerToMove());
+        }
+        position.place(cell, slot);
+      }
+      assertEquals(bruteForce(position, empty), solver.evaluate(position));
+    }
+  }
+
+  @Test
+  public void testSolvedPlacementUsesHandIndexOfModel() {
+    Random random = new Random(13);
+    for (int game = 0; game < 10; game++) {
+      IModel model = newModel(new NormalComparisonStrategy());
+      List<Integer> empty = playRandomly(model, random, 7);
+      SearchPosition position = SearchPosition.fromModel(model);
+      // Each player plays its first card, so the position's slots run ahead of the hands.
+      for (int ply = 0; ply < 2; ply++) {
+        int cell = empty.remove(0);
+        model.placeCard(position.rowOf(cell), position.columnOf(cell), 0, playerInTurn(model));
+        position.place(cell, 0);
+      }
+      Placement expected = new EndgameSolver(5).solve(SearchPosition.fromModel(model));
+      Placement actual = new EndgameSolver(5).solve(position);
+      assertEquals(expected.row, actual.row);
+      assertEquals(expected.column, actual.column);
+      assertEquals(expected.cardIndex, actual.cardIndex);
+    }
+  }
+
+  @Test
+  public void testEndgameStrategyDefersUntilThreshold() {
+    IModel model = newModel(new NormalComparisonStrategy());
+    EndgameStrategy strategy = new EndgameStrategy(new FlipTheMostStrategy(), 8);
+    Placement opening = strategy.chooseMove(model, redPlayer);
+    Placement expected = new FlipTheMostStrategy().chooseMove(model, redPlayer);
+    assertEquals(expected.row, opening.row);
+    assertEquals(expected.column, opening.column);
+    assertEquals(expected.cardIndex, opening.cardIndex);
+
+    playRandomly(model, new Random(3), 8);
+    Placement endgame = strategy.chooseMove(model, playerInTurn(model));
+    assertTrue(SearchPosition.fromModel(model).isEmpty(endgame.row * 7 + endgame.column));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testSolverRejectsPositionsAboveThreshold() {
+    new EndgameSolver(3).solve(newModel(new NormalComparisonStrategy()));
+  }
+}
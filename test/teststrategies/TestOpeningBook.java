@@ -0,0 +1,161 @@
+package teststrategies;
+
+import card.CardImpl;
+import card.CellTypeContents;
+import card.Direction;
+import card.DirectionValue;
+import card.ICard;
+import cardcomparison.Reverse;
+import gameconfig.ConfigGame;
+import model.IModel;
+import model.ModelVarientImpl;
+import org.junit.Test;
+import player.IPlayer;
+import player.PlayerColor;
+import player.PlayerImpl;
+import search.OpeningBook;
+import search.OpeningBookGenerator;
+import search.SearchPosition;
+import strategies.FlipTheMostStrategy;
+import strategies.IStrategy;
+import strategies.OpeningBookStrategy;
+import strategies.Placement;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Test class for the OpeningBook, OpeningBookGenerator and OpeningBookStrategy classes.
+ */
+public class TestOpeningBook {
+
+  private IPlayer redPlayer;
+  private IPlayer bluePlayer;
+
+  private IModel newModel() {
+    return newModel("board.config", "card.database");
+  }
+
+  private IModel newModel(String board, String cards) {
+    ConfigGame config = new ConfigGame(board, cards);
+    return newModel(config.getBoard(), config.getDeck());
+  }
+
+  private IModel newModel(CellTypeContents[][] board, ArrayList<ICard> deck) {
+    redPlayer = new PlayerImpl(PlayerColor.RED, new ArrayList<>());
+    bluePlayer = new PlayerImpl(PlayerColor.BLUE, new ArrayList<>());
+    IModel model = new ModelVarientImpl(board, deck,
+        new ArrayList<>(List.of(redPlayer, bluePlayer)));
+    model.startGame();
+    return model;
+  }
+
+  private ICard dealTo(PlayerColor color, ICard card) {
+    Map<Direction, DirectionValue> values = card.getDirectionsAndValues();
+    return new CardImpl(color, card.getName(), values.get(Direction.NORTH),
+        values.get(Direction.EAST), values.get(Direction.SOUTH), values.get(Direction.WEST));
+  }
+
+  private void assertSamePlacement(Placement expected, Placement actual) {
+    assertEquals(expected.row, actual.row);
+    assertEquals(expected.column, actual.column);
+    assertEquals(expected.cardIndex, actual.cardIndex);
+  }
+
+  @Test
+  public void testBookRoundTripsThroughFile() throws IOException {
+    OpeningBook book = new OpeningBookGenerator(2, 4)
+        .generate(SearchPosition.fromModel(newModel()));
+    File file = File.createTempFile("opening", ".book");
+    file.deleteOnExit();
+    book.write(file);
+    OpeningBook read = OpeningBook.read(file);
+
+    assertEquals(book.size(), read.size());
+    assertEquals(book.getFingerprint(), read.getFingerprint());
+    IModel model = newModel();
+    Placement first = book.lookup(SearchPosition.fromModel(model));
+    assertSamePlacement(first, read.lookup(SearchPosition.fromModel(model)));
+
+    model.placeCard(first.row, first.column, first.cardIndex, redPlayer);
+    assertSamePlacement(book.lookup(SearchPosition.fromModel(model)),
+        read.lookup(SearchPosition.fromModel(model)));
+  }
+
+  @Test
+  public void testStrategyPlaysBookThenDefers() {
+    OpeningBook book = new OpeningBookGenerator(1, 4)
+        .generate(SearchPosition.fromModel(newModel()));
+    IStrategy strategy = new OpeningBookStrategy(book, new FlipTheMostStrategy());
+    IModel model = newModel();
+
+    Placement first = strategy.chooseMove(model, redPlayer);
+    assertSamePlacement(book.lookup(SearchPosition.fromModel(model)), first);
+    model.placeCard(first.row, first.column, first.cardIndex, redPlayer);
+
+    assertNull(book.lookup(SearchPosition.fromModel(model)));
+    assertSamePlacement(new FlipTheMostStrategy().chooseMove(model, bluePlayer),
+        strategy.chooseMove(model, bluePlayer));
+  }
+
+  @Test
+  public void testBookIgnoresOtherRules() {
+    OpeningBook book = new OpeningBookGenerator(1, 4)
+        .generate(SearchPosition.fromModel(newModel()));
+    IModel model = newModel();
+    assertNotNull(book.lookup(SearchPosition.fromModel(model)));
+    model.setCardComparisonStrategy(new Reverse());
+    assertNull(book.lookup(SearchPosition.fromModel(model)));
+  }
+
+  @Test
+  public void testBookPlaysTheCardItMeansPastTheFirstPlies() {
+    IModel start = newModel("simpleBoard.config", "simpleCard.database");
+    OpeningBook book = new OpeningBookGenerator(3, 4).generate(SearchPosition.fromModel(start));
+    IModel model = newModel("simpleBoard.config", "simpleCard.database");
+    IStrategy strategy = new OpeningBookStrategy(book, new FlipTheMostStrategy());
+
+    for (int ply = 0; ply < 3; ply++) {
+      IPlayer player = ply % 2 == 0 ? redPlayer : bluePlayer;
+      Placement placement = strategy.chooseMove(model, player);
+      // A book made for this position alone numbers the cards as the model's hand does.
+      Placement expected = new OpeningBookGenerator(1, 4)
+          .generate(SearchPosition.fromModel(model)).lookup(SearchPosition.fromModel(model));
+      assertSamePlacement(expected, placement);
+
+      String card = player.getHandView().get(placement.cardIndex).getName();
+      model.placeCard(placement.row, placement.column, placement.cardIndex, player);
+      assertEquals(card, model.findCardAt(placement.row, placement.column).getName());
+    }
+  }
+
+  @Test
+  public void testSwappingOneRedCardWithOneBlueCardChangesThePosition() {
+    ConfigGame config = new ConfigGame("board.config", "card.database");
+    ArrayList<ICard> deck = config.getDeck();
+    ArrayList<ICard> swapped = new ArrayList<>(deck);
+    swapped.set(0, dealTo(PlayerColor.BLUE, deck.get(0)));
+    swapped.set(1, dealTo(PlayerColor.RED, deck.get(1)));
+    SearchPosition dealt = SearchPosition.fromModel(newModel(config.getBoard(), deck));
+    SearchPosition other = SearchPosition.fromModel(newModel(config.getBoard(), swapped));
+
+    assertNotEquals(dealt.getHash(), other.getHash());
+    assertNotEquals(dealt.getCanonicalHash(), other.getCanonicalHash());
+    OpeningBook book = new OpeningBookGenerator(1, 4).generate(dealt);
+    assertNotNull(book.lookup(dealt));
+    assertNull(book.lookup(other));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testReadingOtherFileFails() {
+    OpeningBook.read(new File("docs" + File.separator + "board.config"));
+  }
+}